@@ -0,0 +1,191 @@
+package com.bankdemo.transaction.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Importe monetario en unidades mínimas (centavos) sobre un {@code long}. Sustituye a BigDecimal en el camino
+ * de las transferencias: comparar, negar o formatear un importe no crea objetos intermedios.
+ *
+ * <p>El servicio trabaja con una sola moneda de dos decimales ({@link #SCALE}), igual que las columnas
+ * {@code DECIMAL(19, 2)}. Un importe con más decimales se rechaza en lugar de redondearse.
+ * En JSON se escribe como número ({@code 1000.00}), el mismo formato que tenía con BigDecimal.</p>
+ *
+ * <p>Lo comparten el servicio servlet y la variante reactiva: ambos escriben la misma tabla y los mismos topics.</p>
+ */
+@JsonSerialize(using = Money.Serializer.class)
+@JsonDeserialize(using = Money.Deserializer.class)
+public final class Money implements Comparable<Money>, Serializable {
+
+    public static final int SCALE = 2;
+    private static final long FACTOR = 100L;
+
+    public static final Money ZERO = new Money(0L);
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0L ? ZERO : new Money(minorUnits);
+    }
+
+    public static Money of(BigDecimal amount) {
+        try {
+            return ofMinor(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Importe no válido: " + amount, e);
+        }
+    }
+
+    /**
+     * Interpreta un importe decimal sin exponente ({@code 1000}, {@code -12.5}, {@code 0.05}).
+     * Spring lo usa también para convertir parámetros de consulta.
+     */
+    public static Money valueOf(String text) {
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            negative = text.charAt(0) == '-';
+            i++;
+        }
+
+        long units = 0L;
+        int digits = 0;
+        int decimals = -1;
+        try {
+            for (; i < length; i++) {
+                char c = text.charAt(i);
+                if (c == '.' && decimals < 0) {
+                    decimals = 0;
+                } else if (c >= '0' && c <= '9') {
+                    if (decimals >= 0 && ++decimals > SCALE) {
+                        if (c != '0') {
+                            throw new IllegalArgumentException("Importe con más de " + SCALE + " decimales: " + text);
+                        }
+                        continue;
+                    }
+                    units = Math.addExact(Math.multiplyExact(units, 10L), c - '0');
+                    digits++;
+                } else {
+                    throw new IllegalArgumentException("Importe no válido: " + text);
+                }
+            }
+            if (digits == 0) {
+                throw new IllegalArgumentException("Importe no válido: " + text);
+            }
+            for (int d = Math.max(decimals, 0); d < SCALE; d++) {
+                units = Math.multiplyExact(units, 10L);
+            }
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Importe fuera de rango: " + text, e);
+        }
+        return ofMinor(negative ? -units : units);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public Money negate() {
+        return ofMinor(Math.negateExact(minorUnits));
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public boolean isLessThan(Money other) {
+        return minorUnits < other.minorUnits;
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0L;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && other.minorUnits == minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    // Formato decimal plano ("-1000.05"): es el que usan la URL de validación y el JSON
+    @Override
+    public String toString() {
+        long abs = Math.abs(minorUnits);
+        long fraction = abs % FACTOR;
+        StringBuilder sb = new StringBuilder(24);
+        if (minorUnits < 0) {
+            sb.append('-');
+        }
+        sb.append(abs / FACTOR).append('.');
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction).toString();
+    }
+
+    public static final class Serializer extends JsonSerializer<Money> {
+        @Override
+        public void serialize(Money value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeNumber(value.toString());
+        }
+    }
+
+    public static final class Deserializer extends JsonDeserializer<Money> {
+        @Override
+        public Money deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.VALUE_NUMBER_INT && p.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+                try {
+                    return ofMinor(Math.multiplyExact(p.getLongValue(), FACTOR));
+                } catch (ArithmeticException e) {
+                    throw InvalidFormatException.from(p, "Importe fuera de rango", p.getText(), Money.class);
+                }
+            }
+            if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT
+                    || token == JsonToken.VALUE_STRING) {
+                String text = p.getText();
+                try {
+                    return valueOf(text.trim());
+                } catch (IllegalArgumentException e) {
+                    throw InvalidFormatException.from(p, e.getMessage(), text, Money.class);
+                }
+            }
+            return (Money) ctxt.handleUnexpectedToken(Money.class, p);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.bankdemo.transaction.reactive.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Réplica de {@code SlowAccountServiceBenchmark} del servicio servlet con los mismos parámetros: servicio de
+ * cuentas a {@link #ACCOUNT_LATENCY_MS} ms por llamada, tres llamadas por transferencia y {@link #CLIENTS}
+ * clientes concurrentes. Aquí las peticiones en espera no ocupan hilos ni conexiones de base de datos, así que
+ * el pool R2DBC se queda en el de producción (20). Solo se ejecuta con el perfil {@code benchmark}:
+ * {@code mvn test -Pbenchmark -Dtest=SlowAccountServiceBenchmark}.
+ *
+ * <p>El simulador del servicio de cuentas y la medición son los mismos que en el módulo servlet; los eventos van
+ * al Kafka embebido con el productor real.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///benchdb;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.pool.max-size=20",
+        "logging.level.com.bankdemo=WARN"
+})
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1, topics = {"transaction-events", "transaction-results", "transaction-status"})
+@DirtiesContext
+public class SlowAccountServiceBenchmark {
+
+    private static final int REQUESTS = 5_120;
+    private static final int CLIENTS = 256;
+    private static final long ACCOUNT_LATENCY_MS = 50;
+
+    static {
+        // Simulador sin Nagle y sin cerrar conexiones inactivas por encima de 200, como en el módulo servlet
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "1000");
+    }
+
+    private static final ScheduledExecutorService responder = Executors.newScheduledThreadPool(1);
+    private static final HttpServer accountService = startAccountService();
+
+    @LocalServerPort
+    private int httpPort;
+
+    private HttpClient httpClient;
+
+    @DynamicPropertySource
+    static void accountServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("service.account.url", () -> "http://localhost:" + accountService.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopAccountService() {
+        accountService.stop(0);
+        responder.shutdownNow();
+    }
+
+    @BeforeEach
+    void setUp() {
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @Test
+    void createWithSlowAccountService() throws Exception {
+        String body = "{\"fromAccount\": 1001, \"toAccount\": 2001, \"monto\": 1000.00}";
+        HttpRequest post = HttpRequest.newBuilder(URI.create("http://localhost:" + httpPort + "/transactions"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        // Calentamiento antes de medir
+        run(REQUESTS / 4, post);
+
+        long[] latencies = new long[REQUESTS];
+        long elapsed = run(REQUESTS, post, latencies);
+
+        System.out.printf("%d peticiones, %d clientes concurrentes, servicio de cuentas a %d ms por llamada%n",
+                REQUESTS, CLIENTS, ACCOUNT_LATENCY_MS);
+        System.out.println(report("reactive POST /transactions", elapsed, latencies));
+    }
+
+    private long run(int requests, HttpRequest post) throws Exception {
+        return run(requests, post, new long[requests]);
+    }
+
+    private long run(int requests, HttpRequest post, long[] latencies) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            int perClient = requests / CLIENTS;
+            for (int client = 0; client < CLIENTS; client++) {
+                int offset = client * perClient;
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < perClient; i++) {
+                        long sent = System.nanoTime();
+                        send(post);
+                        latencies[offset + i] = System.nanoTime() - sent;
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - start;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private void send(HttpRequest request) {
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            assertEquals(201, response.statusCode(), response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Solo cuentan las peticiones hechas: REQUESTS no tiene por qué ser múltiplo de CLIENTS
+    private static String report(String name, long elapsedNanos, long[] latencies) {
+        int done = (latencies.length / CLIENTS) * CLIENTS;
+        long[] sorted = Arrays.copyOf(latencies, done);
+        Arrays.sort(sorted);
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return String.format("%-28s %8.0f ops/s  p50 %5d ms  p99 %5d ms  (%.2f s)", name, done / seconds,
+                TimeUnit.NANOSECONDS.toMillis(sorted[done / 2]),
+                TimeUnit.NANOSECONDS.toMillis(sorted[(int) (done * 0.99)]), seconds);
+    }
+
+    private static HttpServer startAccountService() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+            server.createContext("/auth/token", exchange -> reply(exchange, "{\"token\": \"benchmark\"}"));
+            server.createContext("/accounts", exchange -> reply(exchange,
+                    exchange.getRequestURI().getPath().endsWith("/validate")
+                            ? "true"
+                            : "{\"id\": 1001, \"nombre\": \"Benchmark\", \"saldo\": 1000000000.00}"));
+            server.setExecutor(Executors.newFixedThreadPool(2));
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // La respuesta sale del planificador cuando vence la latencia; el hilo del servidor queda libre
+    private static void reply(HttpExchange exchange, String json) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        responder.schedule(() -> {
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            try (exchange) {
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, bytes.length);
+                exchange.getResponseBody().write(bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, ACCOUNT_LATENCY_MS, TimeUnit.MILLISECONDS);
+    }
+}
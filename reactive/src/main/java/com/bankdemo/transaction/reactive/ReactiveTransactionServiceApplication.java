@@ -0,0 +1,12 @@
+package com.bankdemo.transaction.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveTransactionServiceApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveTransactionServiceApplication.class, args);
+    }
+}
@@ -0,0 +1,91 @@
+package com.bankdemo.transaction.reactive.client;
+
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.reactive.dto.AccountDTO;
+import com.bankdemo.transaction.reactive.dto.AuthRequestDTO;
+import com.bankdemo.transaction.reactive.dto.AuthResponseDTO;
+import com.bankdemo.transaction.reactive.exception.TransactionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Cliente del servicio de cuentas sobre {@link WebClient}: mientras esperan la respuesta, las llamadas no ocupan
+ * ningún hilo. Los errores 4xx llegan como {@link WebClientResponseException} para que el servicio distinga
+ * una cuenta inexistente; los fallos del servicio (5xx, timeouts, conexión) se convierten en
+ * {@link TransactionException}, como hace el fallback del cliente servlet.
+ */
+@Component
+@Slf4j
+public class AccountServiceClient {
+
+    private final WebClient webClient;
+    private final String username;
+    private final String password;
+    private final Duration timeout;
+    private final Mono<String> token;
+
+    public AccountServiceClient(
+            WebClient accountWebClient,
+            @Value("${admin.username:admin}") String username,
+            @Value("${admin.password:password}") String password,
+            @Value("${service.account.timeout-ms:5000}") long timeoutMillis,
+            @Value("${service.account.token-ttl-minutes:720}") long tokenTtlMinutes) {
+        this.webClient = accountWebClient;
+        this.username = username;
+        this.password = password;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        // Las peticiones concurrentes sin token comparten una única solicitud; un fallo no se guarda
+        this.token = Mono.defer(this::requestToken)
+                .cache(value -> Duration.ofMinutes(tokenTtlMinutes), error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    private Mono<String> requestToken() {
+        return webClient.post()
+                .uri("/auth/token")
+                .bodyValue(new AuthRequestDTO(username, password))
+                .retrieve()
+                .bodyToMono(AuthResponseDTO.class)
+                .map(AuthResponseDTO::getToken)
+                .timeout(timeout)
+                .onErrorMap(e -> new TransactionException("Error al obtener token JWT: " + e.getMessage()));
+    }
+
+    public Mono<AccountDTO> getAccount(Long id) {
+        return token.flatMap(jwt -> webClient.get()
+                        .uri("/accounts/{id}", id)
+                        .headers(headers -> headers.setBearerAuth(jwt))
+                        .retrieve()
+                        .bodyToMono(AccountDTO.class))
+                .timeout(timeout)
+                .onErrorMap(AccountServiceClient::isServiceFailure, e -> {
+                    log.error("Error al obtener cuenta {}: {}", id, e.getMessage());
+                    return new TransactionException("Error en servicio externo al verificar cuenta: " + e.getMessage());
+                });
+    }
+
+    public Mono<Boolean> validateAccount(Long id, Money amount) {
+        return token.flatMap(jwt -> webClient.get()
+                        .uri("/accounts/{id}/validate?amount={amount}", id, amount)
+                        .headers(headers -> headers.setBearerAuth(jwt))
+                        .retrieve()
+                        .bodyToMono(Boolean.class))
+                .timeout(timeout)
+                // Para casos de fallo, es más seguro denegar la transacción
+                .onErrorResume(e -> {
+                    log.warn("Error al validar la cuenta {}: {}", id, e.getMessage());
+                    return Mono.just(false);
+                })
+                .defaultIfEmpty(false);
+    }
+
+    private static boolean isServiceFailure(Throwable e) {
+        return !(e instanceof TransactionException)
+                && !(e instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError());
+    }
+}
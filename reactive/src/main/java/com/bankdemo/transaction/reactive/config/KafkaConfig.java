@@ -0,0 +1,41 @@
+package com.bankdemo.transaction.reactive.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Productor y consumidor de Reactor Kafka con las propiedades {@code spring.kafka.*} de siempre.
+ */
+@Configuration
+public class KafkaConfig {
+
+    @Bean(destroyMethod = "close")
+    public KafkaSender<String, String> kafkaSender(KafkaProperties properties) {
+        Map<String, Object> producer = properties.buildProducerProperties();
+        return KafkaSender.create(SenderOptions.<String, String>create(producer)
+                // Envíos en vuelo por productor: el resto espera sin bloquear hilos
+                .maxInFlight(1024));
+    }
+
+    @Bean
+    public ReceiverOptions<String, String> resultReceiverOptions(
+            KafkaProperties properties,
+            @Value("${spring.kafka.topic.transaction-results}") String resultsTopic,
+            @Value("${transaction.result-listener.commit-interval-ms:1000}") long commitIntervalMillis) {
+        Map<String, Object> consumer = properties.buildConsumerProperties();
+        consumer.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return ReceiverOptions.<String, String>create(consumer)
+                .commitInterval(Duration.ofMillis(commitIntervalMillis))
+                .subscription(List.of(resultsTopic));
+    }
+}
@@ -0,0 +1,43 @@
+package com.bankdemo.transaction.reactive.config;
+
+import com.bankdemo.transaction.model.Money;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Mapea {@link Money} a las columnas {@code DECIMAL(19, 2)} existentes, como el conversor JPA del servicio servlet.
+ */
+@Configuration
+public class R2dbcConfig {
+
+    @Bean
+    public R2dbcCustomConversions r2dbcCustomConversions(DatabaseClient databaseClient) {
+        return R2dbcCustomConversions.of(DialectResolver.getDialect(databaseClient.getConnectionFactory()),
+                List.of(new MoneyWritingConverter(), new MoneyReadingConverter()));
+    }
+
+    @WritingConverter
+    static class MoneyWritingConverter implements Converter<Money, BigDecimal> {
+        @Override
+        public BigDecimal convert(Money money) {
+            return money.toBigDecimal();
+        }
+    }
+
+    @ReadingConverter
+    static class MoneyReadingConverter implements Converter<BigDecimal, Money> {
+        @Override
+        public Money convert(BigDecimal amount) {
+            return Money.of(amount);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.bankdemo.transaction.reactive.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Cliente HTTP no bloqueante hacia el servicio de cuentas. Los tiempos son los del RestTemplate del servicio
+ * servlet; el pool de conexiones se dimensiona aparte porque aquí las llamadas en curso no ocupan hilos.
+ */
+@Configuration
+public class WebClientConfig {
+
+    @Bean
+    public WebClient accountWebClient(
+            WebClient.Builder builder,
+            @Value("${service.account.url}") String accountServiceUrl,
+            @Value("${service.account.max-connections:500}") int maxConnections,
+            @Value("${service.account.pending-acquire-max-count:5000}") int pendingAcquireMaxCount) {
+        ConnectionProvider connections = ConnectionProvider.builder("account-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .build();
+        HttpClient httpClient = HttpClient.create(connections)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5_000)
+                .responseTimeout(Duration.ofSeconds(5));
+        return builder
+                .baseUrl(accountServiceUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
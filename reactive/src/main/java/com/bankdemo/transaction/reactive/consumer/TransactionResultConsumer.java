@@ -0,0 +1,135 @@
+package com.bankdemo.transaction.reactive.consumer;
+
+import com.bankdemo.transaction.reactive.model.Transaction.TransactionStatus;
+import com.bankdemo.transaction.reactive.producer.TransactionEventProducer;
+import com.bankdemo.transaction.reactive.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Consume {@code transaction-results} con Reactor Kafka. Los mensajes de cada partición se procesan en orden,
+ * uno tras otro, y las particiones en paralelo; el offset se confirma después de procesar cada mensaje.
+ * Si el consumidor falla (p. ej. el broker no está disponible) se vuelve a suscribir con espera creciente.
+ *
+ * <p>Desactivado salvo con {@code transaction.result-listener.enabled}: el dueño de {@code transaction-results}
+ * es el servicio servlet, que además suma los acumulados diarios y libera sus retenciones al finalizar.</p>
+ */
+@Component
+@Slf4j
+public class TransactionResultConsumer implements SmartLifecycle {
+
+    private final ReceiverOptions<String, String> receiverOptions;
+    private final TransactionRepository transactionRepository;
+    private final TransactionEventProducer eventProducer;
+    private final TransactionalOperator transactionalOperator;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    private volatile Disposable subscription;
+
+    public TransactionResultConsumer(
+            ReceiverOptions<String, String> resultReceiverOptions,
+            TransactionRepository transactionRepository,
+            TransactionEventProducer eventProducer,
+            TransactionalOperator transactionalOperator,
+            ObjectMapper objectMapper,
+            @Value("${transaction.result-listener.enabled:false}") boolean enabled) {
+        this.receiverOptions = resultReceiverOptions;
+        this.transactionRepository = transactionRepository;
+        this.eventProducer = eventProducer;
+        this.transactionalOperator = transactionalOperator;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        subscription = KafkaReceiver.create(receiverOptions)
+                .receive()
+                .groupBy(record -> record.receiverOffset().topicPartition())
+                .flatMap(partition -> partition.concatMap(record -> processTransactionResult(record.value())
+                        .doFinally(signal -> record.receiverOffset().acknowledge())), Integer.MAX_VALUE)
+                .doOnError(e -> log.error("Error en el consumidor de resultados: {}", e.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+            subscription = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscription != null && !subscription.isDisposed();
+    }
+
+    /**
+     * Aplica un resultado. Nunca termina con error: uno que no se puede procesar se registra y se descarta,
+     * igual que en el listener del servicio servlet.
+     */
+    public Mono<Void> processTransactionResult(String message) {
+        return Mono.fromCallable(() -> objectMapper.readTree(message))
+                .flatMap(this::apply)
+                .onErrorResume(e -> {
+                    log.error("Error processing transaction result: {}", e.getMessage(), e);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> apply(JsonNode root) {
+        Long transactionId = root.path("id").asLong();
+        String status = root.path("status").asText();
+        String errorMessage = root.path("errorMessage").asText();
+
+        TransactionStatus target;
+        if ("COMPLETED".equals(status)) {
+            target = TransactionStatus.COMPLETED;
+        } else if ("FAILED".equals(status)) {
+            target = TransactionStatus.FAILED;
+        } else {
+            log.warn("Resultado con estado desconocido para la transacción {}: {}", transactionId, status);
+            return Mono.empty();
+        }
+
+        // Cambio de estado condicional en una sola sentencia: un resultado repetido o que llega cuando la
+        // transacción ya está finalizada no modifica nada
+        Mono<Integer> transition = target == TransactionStatus.FAILED
+                ? transactionRepository.transitionStatus(transactionId, target.predecessorNames(), target.name(), errorMessage)
+                : transactionRepository.transitionStatus(transactionId, target.predecessorNames(), target.name());
+
+        return transition
+                .flatMap(updated -> {
+                    if (updated == 0) {
+                        log.debug("Resultado ignorado (transacción inexistente o ya finalizada): {} -> {}",
+                                transactionId, status);
+                        return Mono.empty();
+                    }
+                    return transactionRepository.findById(transactionId);
+                })
+                .as(transactionalOperator::transactional)
+                .flatMap(transaction -> {
+                    log.info("Transaction status updated: {} -> {}", transactionId, status);
+                    return eventProducer.sendStatusChange(transaction);
+                });
+    }
+}
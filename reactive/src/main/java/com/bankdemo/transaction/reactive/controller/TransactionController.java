@@ -0,0 +1,49 @@
+package com.bankdemo.transaction.reactive.controller;
+
+import com.bankdemo.transaction.reactive.dto.TransactionRequestDTO;
+import com.bankdemo.transaction.reactive.dto.TransactionResponseDTO;
+import com.bankdemo.transaction.reactive.dto.TransactionStatusDTO;
+import com.bankdemo.transaction.reactive.dto.TransactionStatusRequestDTO;
+import com.bankdemo.transaction.reactive.service.TransactionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/transactions")
+@RequiredArgsConstructor
+public class TransactionController {
+
+    private final TransactionService transactionService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<TransactionResponseDTO> createTransaction(@Valid @RequestBody TransactionRequestDTO transactionRequest) {
+        return transactionService.createTransaction(transactionRequest);
+    }
+
+    // Estados de muchas transferencias en una sola petición; los ids inexistentes se omiten
+    @PostMapping("/status")
+    public Flux<TransactionStatusDTO> getTransactionStatuses(@Valid @RequestBody TransactionStatusRequestDTO request) {
+        return transactionService.getTransactionStatuses(request.getIds());
+    }
+
+    @GetMapping("/{id}")
+    public Mono<TransactionResponseDTO> getTransaction(@PathVariable Long id) {
+        return transactionService.getTransaction(id);
+    }
+
+    @GetMapping("/account/{accountId}")
+    public Flux<TransactionResponseDTO> getTransactionsByAccount(@PathVariable Long accountId) {
+        return transactionService.getTransactionsByAccount(accountId);
+    }
+}
@@ -0,0 +1,12 @@
+package com.bankdemo.transaction.reactive.dto;
+
+import com.bankdemo.transaction.model.Money;
+import lombok.Data;
+
+@Data
+public class AccountDTO {
+
+    private Long id;
+    private String nombre;
+    private Money saldo;
+}
@@ -0,0 +1,14 @@
+package com.bankdemo.transaction.reactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuthRequestDTO {
+
+    private String username;
+    private String password;
+}
@@ -1,9 +1,8 @@
-package com.bankdemo.transaction.dto;
+package com.bankdemo.transaction.reactive.dto;
 
+import com.bankdemo.transaction.model.Money;
+import jakarta.validation.constraints.NotNull;
 import lombok.Data;
-import javax.validation.constraints.NotNull;
-import javax.validation.constraints.Positive;
-import java.math.BigDecimal;
 
 @Data
 public class TransactionRequestDTO {
@@ -15,6 +14,5 @@ public class TransactionRequestDTO {
     private Long toAccount;
 
     @NotNull(message = "El monto no puede ser nulo")
-    @Positive(message = "El monto debe ser positivo")
-    private BigDecimal monto;
+    private Money monto;
 }
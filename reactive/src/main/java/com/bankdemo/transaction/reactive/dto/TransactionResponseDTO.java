@@ -0,0 +1,30 @@
+package com.bankdemo.transaction.reactive.dto;
+
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.reactive.model.Transaction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionResponseDTO {
+
+    private Long transactionId;
+    private String status;
+    private LocalDateTime fecha;
+    private Long fromAccount;
+    private Long toAccount;
+    private Money monto;
+    private String errorMessage;
+
+    public static TransactionResponseDTO from(Transaction transaction) {
+        return new TransactionResponseDTO(transaction.getId(),
+                transaction.getStatus() != null ? transaction.getStatus().toString() : null,
+                transaction.getFecha(), transaction.getFromAccount(), transaction.getToAccount(),
+                transaction.getMonto(), transaction.getErrorMessage());
+    }
+}
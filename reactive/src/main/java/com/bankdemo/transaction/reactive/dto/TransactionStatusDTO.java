@@ -0,0 +1,22 @@
+package com.bankdemo.transaction.reactive.dto;
+
+import com.bankdemo.transaction.reactive.model.Transaction;
+import com.bankdemo.transaction.reactive.model.Transaction.TransactionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Respuesta reducida de la consulta masiva de estados
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionStatusDTO {
+
+    private Long transactionId;
+    private TransactionStatus status;
+    private String errorMessage;
+
+    public static TransactionStatusDTO from(Transaction transaction) {
+        return new TransactionStatusDTO(transaction.getId(), transaction.getStatus(), transaction.getErrorMessage());
+    }
+}
@@ -0,0 +1,7 @@
+package com.bankdemo.transaction.reactive.exception;
+
+public class TransactionException extends RuntimeException {
+    public TransactionException(String message) {
+        super(message);
+    }
+}
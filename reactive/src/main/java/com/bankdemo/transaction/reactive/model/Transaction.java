@@ -0,0 +1,69 @@
+package com.bankdemo.transaction.reactive.model;
+
+import com.bankdemo.transaction.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * La misma fila de {@code transactions} que usa el servicio servlet; el esquema lo mantienen sus migraciones Flyway.
+ */
+@Table("transactions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Transaction {
+    @Id
+    private Long id;
+
+    @Column("from_account")
+    private Long fromAccount;
+
+    @Column("to_account")
+    private Long toAccount;
+
+    private Money monto;
+
+    private LocalDateTime fecha;
+
+    private TransactionStatus status;
+
+    @Column("error_message")
+    private String errorMessage;
+
+    // Los cambios de estado van por TransactionRepository.transitionStatus, que también la incrementa
+    @Version
+    private Long version;
+
+    public enum TransactionStatus {
+        PENDING, PROCESSING, COMPLETED, FAILED;
+
+        public boolean isFinal() {
+            return this == COMPLETED || this == FAILED;
+        }
+
+        /**
+         * Estados desde los que se puede pasar a este. Una transacción finalizada no cambia más, así que
+         * un resultado repetido o desordenado no encuentra la fila en un estado válido y no modifica nada.
+         */
+        public List<TransactionStatus> predecessors() {
+            return switch (this) {
+                case PENDING -> List.of();
+                case PROCESSING -> List.of(PENDING);
+                case COMPLETED, FAILED -> List.of(PENDING, PROCESSING);
+            };
+        }
+
+        // Para las sentencias nativas, que reciben el estado como texto
+        public List<String> predecessorNames() {
+            return predecessors().stream().map(Enum::name).toList();
+        }
+    }
+}
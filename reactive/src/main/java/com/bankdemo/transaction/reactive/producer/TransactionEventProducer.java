@@ -0,0 +1,65 @@
+package com.bankdemo.transaction.reactive.producer;
+
+import com.bankdemo.transaction.reactive.dto.TransactionResponseDTO;
+import com.bankdemo.transaction.reactive.model.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+
+/**
+ * Publica en los mismos topics y con el mismo formato que el servicio servlet. A diferencia de
+ * {@code KafkaTemplate.send}, el {@link Mono} termina cuando el broker confirma el envío: esperar no ocupa hilos.
+ */
+@Component
+@Slf4j
+public class TransactionEventProducer {
+
+    private final KafkaSender<String, String> sender;
+    private final ObjectMapper objectMapper;
+    private final String transactionTopic;
+    private final String statusTopic;
+
+    public TransactionEventProducer(
+            KafkaSender<String, String> sender,
+            ObjectMapper objectMapper,
+            @Value("${spring.kafka.topic.transaction-events}") String transactionTopic,
+            @Value("${spring.kafka.topic.transaction-status:transaction-status}") String statusTopic) {
+        this.sender = sender;
+        this.objectMapper = objectMapper;
+        this.transactionTopic = transactionTopic;
+        this.statusTopic = statusTopic;
+    }
+
+    public Mono<Void> sendTransactionEvent(Transaction transaction) {
+        String key = String.valueOf(transaction.getId());
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(transaction))
+                .onErrorMap(e -> new RuntimeException("Error al enviar evento de transacción", e))
+                .flatMap(event -> send(transactionTopic, key, event))
+                .doOnSuccess(ignored -> log.debug("Transaction event sent successfully: {}", key));
+    }
+
+    /**
+     * Publica el estado actual en el topic compactado de estados, con el id como clave y el cuerpo de
+     * {@code GET /transactions/{id}}. Un fallo se registra pero no interrumpe el cambio de estado.
+     */
+    public Mono<Void> sendStatusChange(Transaction transaction) {
+        String key = String.valueOf(transaction.getId());
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(TransactionResponseDTO.from(transaction)))
+                .flatMap(status -> send(statusTopic, key, status))
+                .onErrorResume(e -> {
+                    log.error("Error sending status change for transaction {}: {}", key, e.getMessage(), e);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> send(String topic, String key, String value) {
+        return sender.send(Mono.just(SenderRecord.create(new ProducerRecord<>(topic, key, value), key)))
+                .next()
+                .flatMap(result -> result.exception() != null ? Mono.<Void>error(result.exception()) : Mono.<Void>empty());
+    }
+}
@@ -0,0 +1,46 @@
+package com.bankdemo.transaction.reactive.repository;
+
+import com.bankdemo.transaction.reactive.model.Transaction;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+@Repository
+public interface TransactionRepository extends R2dbcRepository<Transaction, Long> {
+
+    // Las finalizadas antiguas las mueve a transactions_archive el servicio servlet; se leen con la misma forma
+    String ARCHIVE_COLUMNS = "SELECT id, from_account, to_account, monto, fecha, status, error_message, "
+            + "0 AS version FROM transactions_archive ";
+
+    @Query("SELECT * FROM transactions WHERE from_account = :accountId OR to_account = :accountId "
+            + "ORDER BY fecha DESC")
+    Flux<Transaction> findByAccount(@Param("accountId") Long accountId);
+
+    @Query(ARCHIVE_COLUMNS + "WHERE id = :id")
+    Mono<Transaction> findArchivedById(@Param("id") Long id);
+
+    @Query(ARCHIVE_COLUMNS + "WHERE id IN (:ids)")
+    Flux<Transaction> findArchivedByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Cambios de estado en una sola sentencia: solo se aplican si la fila está en uno de los estados 'from'
+    // (ver TransactionStatus.predecessors). Devuelven 0 si el cambio ya no es válido
+    @Modifying
+    @Query("UPDATE transactions SET status = :to, version = version + 1 WHERE id = :id AND status IN (:from)")
+    Mono<Integer> transitionStatus(@Param("id") Long id,
+                                   @Param("from") Collection<String> from,
+                                   @Param("to") String to);
+
+    @Modifying
+    @Query("UPDATE transactions SET status = :to, error_message = :errorMessage, version = version + 1 "
+            + "WHERE id = :id AND status IN (:from)")
+    Mono<Integer> transitionStatus(@Param("id") Long id,
+                                   @Param("from") Collection<String> from,
+                                   @Param("to") String to,
+                                   @Param("errorMessage") String errorMessage);
+}
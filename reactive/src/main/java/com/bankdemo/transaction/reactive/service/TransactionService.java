@@ -0,0 +1,17 @@
+package com.bankdemo.transaction.reactive.service;
+
+import com.bankdemo.transaction.reactive.dto.TransactionRequestDTO;
+import com.bankdemo.transaction.reactive.dto.TransactionResponseDTO;
+import com.bankdemo.transaction.reactive.dto.TransactionStatusDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface TransactionService {
+
+    Mono<TransactionResponseDTO> createTransaction(TransactionRequestDTO transactionRequest);
+    Mono<TransactionResponseDTO> getTransaction(Long id);
+    Flux<TransactionResponseDTO> getTransactionsByAccount(Long accountId);
+    Flux<TransactionStatusDTO> getTransactionStatuses(List<Long> ids);
+}
@@ -0,0 +1,158 @@
+package com.bankdemo.transaction.reactive.service;
+
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.reactive.client.AccountServiceClient;
+import com.bankdemo.transaction.reactive.dto.AccountDTO;
+import com.bankdemo.transaction.reactive.dto.TransactionRequestDTO;
+import com.bankdemo.transaction.reactive.dto.TransactionResponseDTO;
+import com.bankdemo.transaction.reactive.dto.TransactionStatusDTO;
+import com.bankdemo.transaction.reactive.exception.TransactionException;
+import com.bankdemo.transaction.reactive.model.Transaction;
+import com.bankdemo.transaction.reactive.model.Transaction.TransactionStatus;
+import com.bankdemo.transaction.reactive.producer.TransactionEventProducer;
+import com.bankdemo.transaction.reactive.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * El camino de creación y consulta del servicio servlet, sin bloquear: validación de cuentas con
+ * {@link AccountServiceClient}, fila PENDING, evento a Kafka y paso condicional a PROCESSING.
+ * Las llamadas al servicio de cuentas siguen el mismo orden (origen, destino, saldo) para que la comparación
+ * entre ambas variantes mida la pila y no un cambio de algoritmo.
+ */
+@Service
+@Slf4j
+public class TransactionServiceImpl implements TransactionService {
+
+    private static final Money MONTO_MINIMO = Money.ofMinor(100_000L);
+
+    private final TransactionRepository transactionRepository;
+    private final AccountServiceClient accountClient;
+    private final TransactionEventProducer eventProducer;
+    private final int maxStatusIds;
+
+    public TransactionServiceImpl(
+            TransactionRepository transactionRepository,
+            AccountServiceClient accountClient,
+            TransactionEventProducer eventProducer,
+            @Value("${transaction.status-lookup.max-ids:1000}") int maxStatusIds) {
+        this.transactionRepository = transactionRepository;
+        this.accountClient = accountClient;
+        this.eventProducer = eventProducer;
+        this.maxStatusIds = maxStatusIds;
+    }
+
+    @Override
+    public Mono<TransactionResponseDTO> createTransaction(TransactionRequestDTO request) {
+        if (request.getMonto().isLessThan(MONTO_MINIMO)) {
+            return Mono.error(new TransactionException("El monto mínimo de transferencia es 1000.00"));
+        }
+
+        return verifyAccount(request.getFromAccount(), "origen")
+                .then(verifyAccount(request.getToAccount(), "destino"))
+                .then(accountClient.validateAccount(request.getFromAccount(), request.getMonto().negate()))
+                .flatMap(hasSufficientFunds -> {
+                    if (!hasSufficientFunds) {
+                        return Mono.error(new TransactionException("La cuenta de origen no tiene saldo suficiente"));
+                    }
+                    Transaction transaction = new Transaction();
+                    transaction.setFromAccount(request.getFromAccount());
+                    transaction.setToAccount(request.getToAccount());
+                    transaction.setMonto(request.getMonto());
+                    transaction.setFecha(LocalDateTime.now());
+                    transaction.setStatus(TransactionStatus.PENDING);
+                    return transactionRepository.save(transaction);
+                })
+                .flatMap(this::publish);
+    }
+
+    private Mono<TransactionResponseDTO> publish(Transaction savedTransaction) {
+        Long id = savedTransaction.getId();
+        return eventProducer.sendTransactionEvent(savedTransaction)
+                // Sentencia condicional: no pisa un resultado que haya llegado antes
+                .then(transactionRepository.transitionStatus(id,
+                        TransactionStatus.PROCESSING.predecessorNames(), TransactionStatus.PROCESSING.name()))
+                .flatMap(updated -> {
+                    if (updated == 0) {
+                        return Mono.just(savedTransaction);
+                    }
+                    savedTransaction.setStatus(TransactionStatus.PROCESSING);
+                    return eventProducer.sendStatusChange(savedTransaction).thenReturn(savedTransaction);
+                })
+                .map(TransactionResponseDTO::from)
+                .onErrorResume(e -> {
+                    // En caso de error al publicar el evento, marcar la transacción como fallida
+                    String errorMessage = "Error al procesar la transacción: " + e.getMessage();
+                    return transactionRepository.transitionStatus(id,
+                                    TransactionStatus.FAILED.predecessorNames(), TransactionStatus.FAILED.name(),
+                                    errorMessage)
+                            .then(Mono.defer(() -> {
+                                savedTransaction.setStatus(TransactionStatus.FAILED);
+                                savedTransaction.setErrorMessage(errorMessage);
+                                return eventProducer.sendStatusChange(savedTransaction);
+                            }))
+                            .then(Mono.error(new TransactionException(errorMessage)));
+                });
+    }
+
+    @Override
+    public Mono<TransactionResponseDTO> getTransaction(Long id) {
+        // Las transacciones finalizadas antiguas viven en la tabla de archivo
+        return transactionRepository.findById(id)
+                .switchIfEmpty(Mono.defer(() -> transactionRepository.findArchivedById(id)))
+                .map(TransactionResponseDTO::from)
+                .switchIfEmpty(Mono.error(() -> new TransactionException("Transacción no encontrada con ID: " + id)));
+    }
+
+    @Override
+    public Flux<TransactionResponseDTO> getTransactionsByAccount(Long accountId) {
+        return transactionRepository.findByAccount(accountId).map(TransactionResponseDTO::from);
+    }
+
+    /**
+     * Estados en el orden de la petición y sin repetidos; los ids inexistentes no aparecen.
+     */
+    @Override
+    public Flux<TransactionStatusDTO> getTransactionStatuses(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Flux.error(new TransactionException("La lista de ids no puede estar vacía"));
+        }
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        if (distinct.size() > maxStatusIds) {
+            return Flux.error(new TransactionException("Se admiten como máximo " + maxStatusIds + " ids por consulta"));
+        }
+
+        return transactionRepository.findAllById(distinct)
+                .collectMap(Transaction::getId, TransactionStatusDTO::from, HashMap::new)
+                .flatMap(found -> {
+                    Set<Long> missing = new LinkedHashSet<>(distinct);
+                    missing.removeAll(found.keySet());
+                    if (missing.isEmpty()) {
+                        return Mono.just(found);
+                    }
+                    return transactionRepository.findArchivedByIdIn(missing)
+                            .doOnNext(archived -> found.put(archived.getId(), TransactionStatusDTO.from(archived)))
+                            .then(Mono.just(found));
+                })
+                .flatMapMany(found -> Flux.fromIterable(distinct).filter(found::containsKey).map(found::get));
+    }
+
+    private Mono<AccountDTO> verifyAccount(Long accountId, String tipo) {
+        return accountClient.getAccount(accountId)
+                .onErrorMap(WebClientResponseException.class, ex -> ex.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)
+                        ? new TransactionException("La cuenta de " + tipo + " no existe: " + accountId)
+                        : new TransactionException("Error al verificar la cuenta de " + tipo + ": " + ex.getMessage()));
+    }
+}
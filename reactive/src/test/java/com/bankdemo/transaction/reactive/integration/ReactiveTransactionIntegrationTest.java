@@ -0,0 +1,191 @@
+package com.bankdemo.transaction.reactive.integration;
+
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.reactive.client.AccountServiceClient;
+import com.bankdemo.transaction.reactive.dto.AccountDTO;
+import com.bankdemo.transaction.reactive.dto.TransactionResponseDTO;
+import com.bankdemo.transaction.reactive.model.Transaction;
+import com.bankdemo.transaction.reactive.model.Transaction.TransactionStatus;
+import com.bankdemo.transaction.reactive.repository.TransactionRepository;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1, topics = {"transaction-events", "transaction-results", "transaction-status"})
+@DirtiesContext
+public class ReactiveTransactionIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private KafkaSender<String, String> kafkaSender;
+
+    @MockBean
+    private AccountServiceClient accountServiceClient;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll().block();
+
+        AccountDTO account = new AccountDTO();
+        account.setId(1001L);
+        account.setSaldo(Money.valueOf("5000.00"));
+        when(accountServiceClient.getAccount(anyLong())).thenReturn(Mono.just(account));
+        when(accountServiceClient.validateAccount(anyLong(), any())).thenReturn(Mono.just(true));
+    }
+
+    @Test
+    void createAndRetrieveTransaction() {
+        TransactionResponseDTO created = webTestClient.post().uri("/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"fromAccount\": 1001, \"toAccount\": 2001, \"monto\": 1000.00}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(TransactionResponseDTO.class)
+                .returnResult().getResponseBody();
+        assertNotNull(created);
+        assertEquals("PROCESSING", created.getStatus());
+        assertEquals(Money.valueOf("1000.00"), created.getMonto());
+
+        webTestClient.get().uri("/transactions/" + created.getTransactionId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("PROCESSING")
+                .jsonPath("$.monto").isEqualTo(1000.0);
+
+        webTestClient.get().uri("/transactions/account/2001")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].transactionId").isEqualTo(created.getTransactionId().intValue());
+    }
+
+    @Test
+    void createTransaction_RejectedRequests() {
+        webTestClient.post().uri("/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"fromAccount\": 1001, \"toAccount\": 2001, \"monto\": 999.99}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("El monto mínimo de transferencia es 1000.00");
+
+        webTestClient.post().uri("/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"toAccount\": 2001, \"monto\": 1000.00}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.fromAccount").isEqualTo("La cuenta de origen no puede ser nula");
+
+        when(accountServiceClient.getAccount(eq(9999L))).thenReturn(Mono.error(
+                WebClientResponseException.create(HttpStatus.NOT_FOUND.value(), "Not Found", null, null, null)));
+        webTestClient.post().uri("/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"fromAccount\": 9999, \"toAccount\": 2001, \"monto\": 1000.00}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("La cuenta de origen no existe: 9999");
+
+        when(accountServiceClient.validateAccount(eq(1001L), any())).thenReturn(Mono.just(false));
+        webTestClient.post().uri("/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"fromAccount\": 1001, \"toAccount\": 2001, \"monto\": 1000.00}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("La cuenta de origen no tiene saldo suficiente");
+
+        assertEquals(0L, transactionRepository.count().block());
+    }
+
+    @Test
+    void transactionResult_FromKafkaUpdatesStatusOnce() throws InterruptedException {
+        Transaction transaction = new Transaction();
+        transaction.setFromAccount(1001L);
+        transaction.setToAccount(2001L);
+        transaction.setMonto(Money.valueOf("1500.00"));
+        transaction.setFecha(LocalDateTime.now());
+        transaction.setStatus(TransactionStatus.PROCESSING);
+        Long id = transactionRepository.save(transaction).block().getId();
+
+        // Un resultado tardío no debe pisar el estado final ya registrado
+        send("{\"id\": " + id + ", \"status\": \"FAILED\", \"errorMessage\": \"Saldo insuficiente\"}");
+        send("{\"id\": " + id + ", \"status\": \"COMPLETED\"}");
+
+        Transaction stored = awaitFinal(id, Duration.ofSeconds(30));
+        assertEquals(TransactionStatus.FAILED, stored.getStatus());
+        assertEquals("Saldo insuficiente", stored.getErrorMessage());
+        assertEquals(1L, stored.getVersion());
+    }
+
+    @Test
+    void getTransactionStatuses_BulkLookup() {
+        Transaction completed = new Transaction(null, 1001L, 2001L, Money.valueOf("1000.00"),
+                LocalDateTime.now(), TransactionStatus.COMPLETED, null, null);
+        Transaction processing = new Transaction(null, 1001L, 2001L, Money.valueOf("1000.00"),
+                LocalDateTime.now(), TransactionStatus.PROCESSING, null, null);
+        Long completedId = transactionRepository.save(completed).block().getId();
+        Long processingId = transactionRepository.save(processing).block().getId();
+
+        webTestClient.post().uri("/transactions/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"ids\": [" + processingId + ", 999999, " + completedId + ", " + processingId + "]}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].transactionId").isEqualTo(processingId.intValue())
+                .jsonPath("$[0].status").isEqualTo("PROCESSING")
+                .jsonPath("$[1].status").isEqualTo("COMPLETED");
+    }
+
+    private void send(String result) {
+        kafkaSender.send(Mono.just(SenderRecord.create(
+                        new ProducerRecord<String, String>("transaction-results", null, result), null)))
+                .blockLast(Duration.ofSeconds(10));
+    }
+
+    // Espera a que el consumidor aplique el resultado (asignación de particiones incluida)
+    private Transaction awaitFinal(Long id, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Transaction stored = transactionRepository.findById(id).block();
+        while (!stored.getStatus().isFinal() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            stored = transactionRepository.findById(id).block();
+        }
+        // Margen para que el resultado repetido llegue también, si fuese a aplicarse
+        Thread.sleep(500);
+        return transactionRepository.findById(id).block();
+    }
+}
@@ -0,0 +1,194 @@
+package com.bankdemo.transaction.benchmark;
+
+import com.bankdemo.transaction.client.AccountServiceClient;
+import com.bankdemo.transaction.dto.AccountDTO;
+import com.bankdemo.transaction.grpc.GrpcServerLifecycle;
+import com.bankdemo.transaction.grpc.v1.BulkCreateReply;
+import com.bankdemo.transaction.grpc.v1.CreateTransactionRequest;
+import com.bankdemo.transaction.grpc.v1.GetTransactionRequest;
+import com.bankdemo.transaction.grpc.v1.TransactionsGrpc;
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.model.Transaction;
+import com.bankdemo.transaction.producer.TransactionEventProducer;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compara el rendimiento de creación y consulta por REST (JSON sobre HTTP/1.1) y por gRPC, contra la misma
+ * aplicación con el servicio de cuentas y Kafka simulados. Solo se ejecuta con el perfil {@code benchmark}:
+ * {@code mvn test -Pbenchmark -Dtest=GrpcVersusRestBenchmark}.
+ * Usa H2 sin modo MySQL: con muchas inserciones concurrentes ese modo llega a repetir claves de identidad.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:benchdb",
+        "transaction.admission.account.permits-per-second=1000000",
+        "transaction.admission.account.burst=1000000",
+        "logging.level.com.bankdemo=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1, topics = {"transaction-events", "transaction-results"})
+@DirtiesContext
+public class GrpcVersusRestBenchmark {
+
+    private static final int REQUESTS = 4_000;
+    private static final int CLIENTS = 8;
+
+    @LocalServerPort
+    private int httpPort;
+
+    @Autowired
+    private GrpcServerLifecycle grpcServer;
+
+    @MockBean
+    private AccountServiceClient accountServiceClient;
+
+    @MockBean
+    private TransactionEventProducer eventProducer;
+
+    private HttpClient httpClient;
+    private ManagedChannel channel;
+    private ExecutorService clients;
+
+    @BeforeEach
+    void setUp() {
+        AccountDTO account = new AccountDTO();
+        account.setId(1001L);
+        account.setSaldo(Money.valueOf("1000000000.00"));
+        when(accountServiceClient.getAccount(anyLong())).thenReturn(account);
+        when(accountServiceClient.validateAccount(anyLong(), any())).thenReturn(true);
+        doNothing().when(eventProducer).sendTransactionEvent(any(Transaction.class));
+
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        channel = NettyChannelBuilder.forAddress("localhost", grpcServer.getPort()).usePlaintext().build();
+        clients = Executors.newFixedThreadPool(CLIENTS);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        clients.shutdownNow();
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void compareThroughput() throws Exception {
+        TransactionsGrpc.TransactionsBlockingStub stub = TransactionsGrpc.newBlockingStub(channel);
+        String body = "{\"fromAccount\": 1001, \"toAccount\": 2001, \"monto\": 1000.00}";
+        HttpRequest post = HttpRequest.newBuilder(URI.create("http://localhost:" + httpPort + "/transactions"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpRequest get = HttpRequest.newBuilder(URI.create("http://localhost:" + httpPort + "/transactions/1")).build();
+        CreateTransactionRequest create = CreateTransactionRequest.newBuilder()
+                .setFromAccount(1001L).setToAccount(2001L).setMontoCentavos(100000L).build();
+        GetTransactionRequest read = GetTransactionRequest.newBuilder().setTransactionId(1L).build();
+
+        // Calentamiento de ambos caminos antes de medir
+        run(REQUESTS / 4, () -> send(post, 201));
+        run(REQUESTS / 4, () -> stub.createTransaction(create));
+
+        List<String> results = new ArrayList<>();
+        results.add(report("REST POST /transactions", run(REQUESTS, () -> send(post, 201))));
+        results.add(report("gRPC CreateTransaction", run(REQUESTS, () -> stub.createTransaction(create))));
+        results.add(report("gRPC BulkCreate (stream)", bulk(create)));
+        results.add(report("REST GET /transactions/{id}", run(REQUESTS, () -> send(get, 200))));
+        results.add(report("gRPC GetTransaction", run(REQUESTS, () -> stub.getTransaction(read))));
+
+        System.out.printf("%d peticiones por caso, %d clientes concurrentes%n", REQUESTS, CLIENTS);
+        results.forEach(System.out::println);
+    }
+
+    private void send(HttpRequest request, int expectedStatus) {
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            assertEquals(expectedStatus, response.statusCode(), response.body());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long run(int requests, Runnable call) throws Exception {
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int client = 0; client < CLIENTS; client++) {
+            futures.add(clients.submit(() -> {
+                for (int i = 0; i < requests / CLIENTS; i++) {
+                    call.run();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return System.nanoTime() - start;
+    }
+
+    // Un stream por cliente con su parte de las transferencias
+    private long bulk(CreateTransactionRequest create) throws Exception {
+        TransactionsGrpc.TransactionsStub stub = TransactionsGrpc.newStub(channel);
+        long start = System.nanoTime();
+        List<CompletableFuture<BulkCreateReply>> replies = new ArrayList<>();
+        for (int client = 0; client < CLIENTS; client++) {
+            CompletableFuture<BulkCreateReply> reply = new CompletableFuture<>();
+            replies.add(reply);
+            StreamObserver<CreateTransactionRequest> stream = stub.bulkCreateTransactions(new StreamObserver<>() {
+                @Override
+                public void onNext(BulkCreateReply value) {
+                    reply.complete(value);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    reply.completeExceptionally(t);
+                }
+
+                @Override
+                public void onCompleted() {
+                }
+            });
+            for (int i = 0; i < REQUESTS / CLIENTS; i++) {
+                stream.onNext(create);
+            }
+            stream.onCompleted();
+        }
+        for (CompletableFuture<BulkCreateReply> reply : replies) {
+            assertEquals(REQUESTS / CLIENTS, reply.get(5, TimeUnit.MINUTES).getAccepted());
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static String report(String name, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return String.format("%-28s %8.0f ops/s  (%.2f s)", name, REQUESTS / seconds, seconds);
+    }
+}
@@ -0,0 +1,138 @@
+package com.bankdemo.transaction.benchmark;
+
+import com.bankdemo.transaction.client.AccountServiceClient;
+import com.bankdemo.transaction.dto.AccountDTO;
+import com.bankdemo.transaction.model.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ActiveProfilesResolver;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Mide el rendimiento de {@code POST /transactions} y {@code GET /transactions/{id}} con la configuración de logs
+ * por defecto y con el perfil {@code prod}. El productor de Kafka es el real (contra Kafka embebido) para
+ * incluir sus logs. Solo se ejecuta con el perfil {@code benchmark}:
+ * {@code mvn test -Pbenchmark -Dtest=LoggingOverheadBenchmark [-Dbenchmark.profile=prod]}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:logbenchdb",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "transaction.admission.account.permits-per-second=1000000",
+        "transaction.admission.account.burst=1000000",
+        "logging.level.com.bankdemo=INFO"
+})
+@ActiveProfiles(resolver = LoggingOverheadBenchmark.BenchmarkProfiles.class)
+@EmbeddedKafka(partitions = 1, topics = {"transaction-events", "transaction-results"})
+@DirtiesContext
+public class LoggingOverheadBenchmark {
+
+    private static final int REQUESTS = 4_000;
+    private static final int CLIENTS = 8;
+
+    @LocalServerPort
+    private int httpPort;
+
+    @MockBean
+    private AccountServiceClient accountServiceClient;
+
+    private HttpClient httpClient;
+    private ExecutorService clients;
+
+    @BeforeEach
+    void setUp() {
+        AccountDTO account = new AccountDTO();
+        account.setId(1001L);
+        account.setSaldo(Money.valueOf("1000000000.00"));
+        when(accountServiceClient.getAccount(anyLong())).thenReturn(account);
+        when(accountServiceClient.validateAccount(anyLong(), any())).thenReturn(true);
+
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        clients = Executors.newFixedThreadPool(CLIENTS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        clients.shutdownNow();
+    }
+
+    @Test
+    void measureThroughput() throws Exception {
+        String body = "{\"fromAccount\": 1001, \"toAccount\": 2001, \"monto\": 1000.00}";
+        HttpRequest post = HttpRequest.newBuilder(URI.create("http://localhost:" + httpPort + "/transactions"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpRequest get = HttpRequest.newBuilder(URI.create("http://localhost:" + httpPort + "/transactions/1")).build();
+
+        run(REQUESTS / 4, () -> send(post, 201));
+
+        String post201 = report("POST /transactions", run(REQUESTS, () -> send(post, 201)));
+        String get200 = report("GET /transactions/{id}", run(REQUESTS, () -> send(get, 200)));
+
+        String profile = System.getProperty("benchmark.profile");
+        System.out.printf("Perfil de logs: %s, %d peticiones por caso, %d clientes concurrentes%n",
+                profile == null || profile.isBlank() ? "por defecto" : profile, REQUESTS, CLIENTS);
+        System.out.println(post201);
+        System.out.println(get200);
+    }
+
+    private void send(HttpRequest request, int expectedStatus) {
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            assertEquals(expectedStatus, response.statusCode(), response.body());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long run(int requests, Runnable call) throws Exception {
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int client = 0; client < CLIENTS; client++) {
+            futures.add(clients.submit(() -> {
+                for (int i = 0; i < requests / CLIENTS; i++) {
+                    call.run();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static String report(String name, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return String.format("%-24s %8.0f ops/s  (%.2f s)", name, REQUESTS / seconds, seconds);
+    }
+
+    // "test" siempre; -Dbenchmark.profile=prod añade el perfil de producción
+    static class BenchmarkProfiles implements ActiveProfilesResolver {
+        @Override
+        public String[] resolve(Class<?> testClass) {
+            String extra = System.getProperty("benchmark.profile");
+            return extra == null || extra.isBlank() ? new String[]{"test"} : new String[]{"test", extra};
+        }
+    }
+}
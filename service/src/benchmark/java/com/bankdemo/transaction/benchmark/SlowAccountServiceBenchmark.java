@@ -0,0 +1,211 @@
+package com.bankdemo.transaction.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Creación de transferencias con un servicio de cuentas lento (cada respuesta tarda {@link #ACCOUNT_LATENCY_MS}
+ * ms) y más clientes concurrentes que hilos de Tomcat: con tres llamadas por transferencia, cada petición
+ * retiene un hilo unos 150 ms. El módulo {@code reactive/} tiene la misma prueba con los mismos parámetros
+ * para comparar ambas pilas: {@code mvn test -Pbenchmark -Dtest=SlowAccountServiceBenchmark} en
+ * cada módulo.
+ *
+ * <p>El servicio de cuentas es un {@link HttpServer} del JDK que responde desde un planificador, sin ocupar un
+ * hilo por petición en espera, y los eventos van al Kafka embebido con el productor real (un mock de Mockito
+ * serializa las invocaciones y acaba siendo el cuello de botella). La creación es transaccional y retiene su
+ * conexión durante las llamadas a cuentas, así que el pool se iguala a los hilos de Tomcat (200): con el pool
+ * de 10 el límite sería la base de datos y no el modelo de hilos. El limitador AIMD se fija en 1000 y el
+ * circuito hacia cuentas se desactiva: la prueba mide cuánto aguanta cada pila, no cuándo empieza a
+ * protegerse.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:benchdb",
+        "spring.datasource.hikari.maximum-pool-size=200",
+        "service.account.concurrency.min-limit=1000",
+        "service.account.concurrency.initial-limit=1000",
+        "service.account.concurrency.max-limit=1000",
+        "resilience4j.bulkhead.instances.transactionAdmission.maxConcurrentCalls=1000",
+        "transaction.admission.account.permits-per-second=1000000",
+        "transaction.admission.account.burst=1000000",
+        "logging.level.com.bankdemo=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1, topics = {"transaction-events", "transaction-results"})
+@DirtiesContext
+public class SlowAccountServiceBenchmark {
+
+    private static final int REQUESTS = 5_120;
+    private static final int CLIENTS = 256;
+    private static final long ACCOUNT_LATENCY_MS = 50;
+
+    static {
+        // Simulador sin Nagle ni límite de 200 conexiones inactivas; keep-alive suficiente en HttpURLConnection
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "1000");
+        System.setProperty("http.maxConnections", "1000");
+    }
+
+    private static final ScheduledExecutorService responder = Executors.newScheduledThreadPool(1);
+    private static final HttpServer accountService = startAccountService();
+
+    @LocalServerPort
+    private int httpPort;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    private HttpClient httpClient;
+
+    @DynamicPropertySource
+    static void accountServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("service.account.url", () -> "http://localhost:" + accountService.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopAccountService() {
+        accountService.stop(0);
+        responder.shutdownNow();
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Con la CPU saturada las llamadas superan el umbral de llamada lenta y el circuito cortaría la prueba
+        circuitBreakerRegistry.circuitBreaker("accountService").transitionToDisabledState();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @Test
+    void createWithSlowAccountService() throws Exception {
+        String body = "{\"fromAccount\": 1001, \"toAccount\": 2001, \"monto\": 1000.00}";
+        HttpRequest post = HttpRequest.newBuilder(URI.create("http://localhost:" + httpPort + "/transactions"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        // Calentamiento antes de medir
+        run(REQUESTS / 4, post);
+
+        long[] latencies = new long[REQUESTS];
+        long elapsed = run(REQUESTS, post, latencies);
+
+        System.out.printf("%d peticiones, %d clientes concurrentes, servicio de cuentas a %d ms por llamada%n",
+                REQUESTS, CLIENTS, ACCOUNT_LATENCY_MS);
+        System.out.println(report("servlet POST /transactions", elapsed, latencies));
+    }
+
+    private long run(int requests, HttpRequest post) throws Exception {
+        return run(requests, post, new long[requests]);
+    }
+
+    private long run(int requests, HttpRequest post, long[] latencies) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            int perClient = requests / CLIENTS;
+            for (int client = 0; client < CLIENTS; client++) {
+                int offset = client * perClient;
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < perClient; i++) {
+                        long sent = System.nanoTime();
+                        send(post);
+                        latencies[offset + i] = System.nanoTime() - sent;
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - start;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private void send(HttpRequest request) {
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            assertEquals(201, response.statusCode(), response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Solo cuentan las peticiones hechas: REQUESTS no tiene por qué ser múltiplo de CLIENTS
+    private static String report(String name, long elapsedNanos, long[] latencies) {
+        int done = (latencies.length / CLIENTS) * CLIENTS;
+        long[] sorted = Arrays.copyOf(latencies, done);
+        Arrays.sort(sorted);
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return String.format("%-28s %8.0f ops/s  p50 %5d ms  p99 %5d ms  (%.2f s)", name, done / seconds,
+                TimeUnit.NANOSECONDS.toMillis(sorted[done / 2]),
+                TimeUnit.NANOSECONDS.toMillis(sorted[(int) (done * 0.99)]), seconds);
+    }
+
+    private static HttpServer startAccountService() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+            server.createContext("/auth/token", exchange -> reply(exchange, "{\"token\": \"benchmark\"}"));
+            server.createContext("/accounts", exchange -> reply(exchange,
+                    exchange.getRequestURI().getPath().endsWith("/validate")
+                            ? "true"
+                            : "{\"id\": 1001, \"nombre\": \"Benchmark\", \"saldo\": 1000000000.00}"));
+            server.setExecutor(Executors.newFixedThreadPool(2));
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // La respuesta sale del planificador cuando vence la latencia; el hilo del servidor queda libre
+    private static void reply(HttpExchange exchange, String json) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        responder.schedule(() -> {
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            try (exchange) {
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, bytes.length);
+                exchange.getResponseBody().write(bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, ACCOUNT_LATENCY_MS, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,120 @@
+package com.bankdemo.transaction.benchmark;
+
+import com.bankdemo.transaction.dto.TransactionResponseDTO;
+import com.bankdemo.transaction.model.Transaction;
+import com.bankdemo.transaction.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara el historial de una cuenta leído como entidades gestionadas (y copiado al DTO) con la proyección
+ * directa a {@link TransactionResponseDTO}. Solo se ejecuta con el perfil {@code benchmark}:
+ * {@code mvn test -Pbenchmark -Dtest=TransactionReadPathBenchmark}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class TransactionReadPathBenchmark {
+
+    private static final long ACCOUNT = 1001L;
+    private static final int HISTORY_SIZE = 20_000;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 50;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(HISTORY_SIZE);
+        for (int i = 0; i < HISTORY_SIZE; i++) {
+            rows.add(new Object[]{ACCOUNT, 2001L + (i % 50), 1000 + i, Timestamp.valueOf(now.minusMinutes(i)), "COMPLETED"});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transactions (from_account, to_account, monto, fecha, status) VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    void projectionVersusEntityHydration() {
+        Result entities = measure("entidades", () -> transactionRepository
+                .findByFromAccountOrToAccountOrderByFechaDesc(ACCOUNT, ACCOUNT).stream()
+                .map(TransactionReadPathBenchmark::copyToDTO)
+                .collect(Collectors.toList()));
+        Result projection = measure("proyección", () -> transactionRepository.findResponsesByAccount(ACCOUNT));
+
+        System.out.printf("Historial de %d transacciones, %d iteraciones%n", HISTORY_SIZE, ITERATIONS);
+        System.out.println(entities);
+        System.out.println(projection);
+
+        assertTrue(projection.bytesPerCall() < entities.bytesPerCall(),
+                "La proyección debería reservar menos memoria que la carga de entidades");
+    }
+
+    private Result measure(String name, Supplier<List<TransactionResponseDTO>> read) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertEquals(HISTORY_SIZE, read.get().size());
+            entityManager.clear();
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] latencies = new long[ITERATIONS];
+        long allocated = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            read.get();
+            latencies[i] = System.nanoTime() - start;
+            allocated += threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+            // Cada petición real empieza con un contexto de persistencia vacío
+            entityManager.clear();
+        }
+        Arrays.sort(latencies);
+        return new Result(name, latencies[ITERATIONS / 2] / 1_000_000.0,
+                latencies[(int) (ITERATIONS * 0.9)] / 1_000_000.0, allocated / ITERATIONS);
+    }
+
+    private static TransactionResponseDTO copyToDTO(Transaction transaction) {
+        TransactionResponseDTO dto = new TransactionResponseDTO();
+        dto.setTransactionId(transaction.getId());
+        dto.setStatus(transaction.getStatus().toString());
+        dto.setFecha(transaction.getFecha());
+        dto.setFromAccount(transaction.getFromAccount());
+        dto.setToAccount(transaction.getToAccount());
+        dto.setMonto(transaction.getMonto());
+        dto.setErrorMessage(transaction.getErrorMessage());
+        return dto;
+    }
+
+    private record Result(String name, double p50Millis, double p90Millis, long bytesPerCall) {
+        @Override
+        public String toString() {
+            return String.format("%-11s p50 %7.2f ms  p90 %7.2f ms  %6.1f MB/llamada",
+                    name, p50Millis, p90Millis, bytesPerCall / (1024.0 * 1024.0));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.bankdemo.transaction.benchmark;
+
+import com.bankdemo.transaction.client.AccountServiceClient;
+import com.bankdemo.transaction.dto.AccountDTO;
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.model.Transaction;
+import com.bankdemo.transaction.producer.TransactionEventProducer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.when;
+
+/**
+ * Latencia de las primeras peticiones tras el arranque, con y sin la fase de calentamiento
+ * ({@code WarmUpRunner}). Cada ejecución es un arranque nuevo, así que se lanza dos veces:
+ * {@code mvn test -Pbenchmark -Dtest=WarmUpLatencyBenchmark -Dbenchmark.warmup=true|false}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:warmupbenchdb",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "transaction.admission.account.permits-per-second=1000000",
+        "transaction.admission.account.burst=1000000",
+        "logging.level.com.bankdemo=INFO",
+        "transaction.warm-up.enabled=${benchmark.warmup:true}"
+})
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1, topics = {"transaction-events", "transaction-results"})
+@DirtiesContext
+public class WarmUpLatencyBenchmark {
+
+    private static final int REQUESTS = 2_000;
+
+    @LocalServerPort
+    private int httpPort;
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @MockBean
+    private AccountServiceClient accountServiceClient;
+
+    @MockBean
+    private TransactionEventProducer eventProducer;
+
+    @BeforeEach
+    void setUp() {
+        AccountDTO account = new AccountDTO();
+        account.setId(1001L);
+        account.setSaldo(Money.valueOf("1000000000.00"));
+        when(accountServiceClient.getAccount(anyLong())).thenReturn(account);
+        when(accountServiceClient.validateAccount(anyLong(), any())).thenReturn(true);
+        doNothing().when(eventProducer).sendTransactionEvent(any(Transaction.class));
+    }
+
+    @Test
+    void measureFirstRequests() throws Exception {
+        // El runner termina antes de que el contexto de prueba esté disponible
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState());
+
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest post = HttpRequest.newBuilder(URI.create("http://localhost:" + httpPort + "/transactions"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"fromAccount\": 1001, \"toAccount\": 2001, \"monto\": 1000.00}"))
+                .build();
+
+        long[] micros = new long[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            long start = System.nanoTime();
+            HttpResponse<String> response = httpClient.send(post, HttpResponse.BodyHandlers.ofString());
+            micros[i] = (System.nanoTime() - start) / 1_000;
+            assertEquals(201, response.statusCode(), response.body());
+        }
+
+        System.out.printf("Calentamiento: %s, %d peticiones POST secuenciales tras el arranque%n",
+                System.getProperty("benchmark.warmup", "true"), REQUESTS);
+        System.out.println(report("primeras 100", Arrays.copyOfRange(micros, 0, 100)));
+        System.out.println(report("todas", micros));
+    }
+
+    private static String report(String name, long[] micros) {
+        long[] sorted = micros.clone();
+        Arrays.sort(sorted);
+        return String.format("%-14s p50 %6d us  p99 %6d us  max %6d us", name,
+                sorted[sorted.length / 2], sorted[(int) Math.ceil(sorted.length * 0.99) - 1], sorted[sorted.length - 1]);
+    }
+}
@@ -0,0 +1,100 @@
+package com.bankdemo.transaction.admission;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Mapa por clave {@code long} repartido en franjas, cada una con su propio lock, para que claves distintas
+ * no compitan entre sí. Cada franja es un LRU acotado ({@code maxKeys / stripes} entradas): al llenarse
+ * expulsa la clave usada hace más tiempo.
+ *
+ * <p>Base común de los limitadores por cuenta y de la caché de estados finales. Las operaciones compuestas
+ * (leer, modificar y volver a guardar) se hacen dentro de {@link #withStripe}, con el lock de la franja tomado.</p>
+ */
+public final class StripedLruMap<V> {
+
+    private final Map<Long, V>[] stripes;
+    private final int mask;
+
+    @SuppressWarnings("unchecked")
+    public StripedLruMap(int stripes, int maxKeys) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("El número de franjas debe ser potencia de 2: " + stripes);
+        }
+        int maxKeysPerStripe = Math.max(1, maxKeys / stripes);
+        this.stripes = new Map[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, V> eldest) {
+                    return size() > maxKeysPerStripe;
+                }
+            };
+        }
+        this.mask = stripes - 1;
+    }
+
+    /**
+     * Ejecuta {@code action} sobre la franja de la clave con su lock tomado. La acción no debe bloquearse
+     * ni tocar otras claves que no sean la suya.
+     */
+    public <R> R withStripe(long key, Function<Map<Long, V>, R> action) {
+        Map<Long, V> stripe = stripe(key);
+        synchronized (stripe) {
+            return action.apply(stripe);
+        }
+    }
+
+    public V get(long key) {
+        Map<Long, V> stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.get(key);
+        }
+    }
+
+    public void put(long key, V value) {
+        Map<Long, V> stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.put(key, value);
+        }
+    }
+
+    /**
+     * Quita las entradas que cumplen {@code predicate}, franja a franja.
+     *
+     * @return entradas eliminadas
+     */
+    public int removeIf(Predicate<V> predicate) {
+        int removed = 0;
+        for (Map<Long, V> stripe : stripes) {
+            synchronized (stripe) {
+                Iterator<V> iterator = stripe.values().iterator();
+                while (iterator.hasNext()) {
+                    if (predicate.test(iterator.next())) {
+                        iterator.remove();
+                        removed++;
+                    }
+                }
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        int total = 0;
+        for (Map<Long, V> stripe : stripes) {
+            synchronized (stripe) {
+                total += stripe.size();
+            }
+        }
+        return total;
+    }
+
+    private Map<Long, V> stripe(long key) {
+        int hash = Long.hashCode(key);
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+}
@@ -0,0 +1,180 @@
+package com.bankdemo.transaction.admission;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Límites de velocidad por clave (cuenta): número de operaciones e importe acumulado en ventanas deslizantes,
+ * una por regla. Cada ventana se divide en {@code buckets} tramos; un tramo sale entero de la ventana cuando
+ * caduca, así que el límite se aplica sobre algo más que la ventana (hasta un tramo), nunca sobre menos.
+ *
+ * <p>Como {@link StripedTokenBucketLimiter}, las ventanas se guardan en un {@link StripedLruMap}. Las claves sin actividad en la ventana más larga no aportan nada y se pueden
+ * quitar sin perder información con {@link #evictIdle()}.</p>
+ */
+public class StripedSlidingWindowLimiter {
+
+    /**
+     * Regla sobre una ventana; un máximo de 0 o menos no limita esa magnitud.
+     */
+    public record Rule(String name, long windowNanos, long maxCount, long maxAmount) {
+    }
+
+    /**
+     * Resultado de {@link #tryRecord}: si se rechaza, la regla incumplida y cuánto falta para que cumpla.
+     */
+    public record Decision(boolean allowed, Rule violated, long retryAfterNanos, long recordedAtNanos) {
+    }
+
+    private final StripedLruMap<Windows> windowsByKey;
+    private final List<Rule> rules;
+    private final long[] bucketNanos;
+    private final int buckets;
+    private final long idleNanos;
+    private final LongSupplier nanoClock;
+
+    public StripedSlidingWindowLimiter(int stripes, int maxKeys, int buckets, List<Rule> rules) {
+        this(stripes, maxKeys, buckets, rules, System::nanoTime);
+    }
+
+    public StripedSlidingWindowLimiter(int stripes, int maxKeys, int buckets, List<Rule> rules, LongSupplier nanoClock) {
+        if (buckets < 1) {
+            throw new IllegalArgumentException("Se necesita al menos un tramo por ventana: " + buckets);
+        }
+        this.windowsByKey = new StripedLruMap<>(stripes, maxKeys);
+        this.rules = List.copyOf(rules);
+        this.buckets = buckets;
+        this.bucketNanos = new long[this.rules.size()];
+        long longestWindow = 0;
+        for (int r = 0; r < this.rules.size(); r++) {
+            long window = this.rules.get(r).windowNanos();
+            bucketNanos[r] = Math.max(1, window / buckets);
+            longestWindow = Math.max(longestWindow, bucketNanos[r] * (buckets + 1));
+        }
+        this.idleNanos = longestWindow;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Anota una operación de {@code amount} si cabe en todas las reglas; si alguna se incumpliría no se anota nada.
+     */
+    public Decision tryRecord(long key, long amount) {
+        return windowsByKey.withStripe(key, stripe -> {
+            // Hora leída con el lock tomado, como en StripedTokenBucketLimiter: las anotaciones de una clave
+            // quedan en orden y lastRecordNanos no retrocede
+            long now = nanoClock.getAsLong();
+            Windows windows = stripe.get(key);
+            if (windows == null) {
+                windows = new Windows(rules.size(), buckets);
+                windows.lastRecordNanos = now;
+                stripe.put(key, windows);
+            }
+
+            for (int r = 0; r < rules.size(); r++) {
+                Rule rule = rules.get(r);
+                long current = Math.floorDiv(now, bucketNanos[r]);
+                long count = 0;
+                long sum = 0;
+                for (int b = 0; b < buckets; b++) {
+                    if (windows.epochs[r][b] > current - buckets) {
+                        count += windows.counts[r][b];
+                        sum += windows.sums[r][b];
+                    }
+                }
+                boolean countExceeded = rule.maxCount() > 0 && count + 1 > rule.maxCount();
+                boolean amountExceeded = rule.maxAmount() > 0 && sum + amount > rule.maxAmount();
+                if (countExceeded || amountExceeded) {
+                    return new Decision(false, rule, retryAfter(windows, r, current, now, count, sum, amount), now);
+                }
+            }
+
+            for (int r = 0; r < rules.size(); r++) {
+                long current = Math.floorDiv(now, bucketNanos[r]);
+                int slot = (int) Math.floorMod(current, (long) buckets);
+                if (windows.epochs[r][slot] != current) {
+                    windows.epochs[r][slot] = current;
+                    windows.counts[r][slot] = 0;
+                    windows.sums[r][slot] = 0;
+                }
+                windows.counts[r][slot]++;
+                windows.sums[r][slot] += amount;
+            }
+            windows.lastRecordNanos = now;
+            return new Decision(true, null, 0, now);
+        });
+    }
+
+    /**
+     * Deshace una operación anotada en {@code recordedAtNanos} (p. ej. rechazada después por otra validación).
+     * Si su tramo ya caducó no hay nada que deshacer.
+     */
+    public void undo(long key, long amount, long recordedAtNanos) {
+        windowsByKey.withStripe(key, stripe -> {
+            Windows windows = stripe.get(key);
+            if (windows == null) {
+                return null;
+            }
+            for (int r = 0; r < rules.size(); r++) {
+                long epoch = Math.floorDiv(recordedAtNanos, bucketNanos[r]);
+                int slot = (int) Math.floorMod(epoch, (long) buckets);
+                if (windows.epochs[r][slot] == epoch && windows.counts[r][slot] > 0) {
+                    windows.counts[r][slot]--;
+                    windows.sums[r][slot] -= amount;
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Quita las claves sin operaciones dentro de la ventana más larga.
+     *
+     * @return claves eliminadas
+     */
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        return windowsByKey.removeIf(windows -> now - windows.lastRecordNanos > idleNanos);
+    }
+
+    public int trackedKeys() {
+        return windowsByKey.size();
+    }
+
+    // Recorre los tramos del más antiguo al más reciente hasta que, al caducar, la operación cabría
+    private long retryAfter(Windows windows, int r, long current, long now, long count, long sum, long amount) {
+        Rule rule = rules.get(r);
+        if (rule.maxAmount() > 0 && amount > rule.maxAmount()) {
+            // No cabe nunca: se informa la ventana completa
+            return rule.windowNanos();
+        }
+        for (long epoch = current - buckets + 1; epoch <= current; epoch++) {
+            int slot = (int) Math.floorMod(epoch, (long) buckets);
+            if (windows.epochs[r][slot] == epoch) {
+                count -= windows.counts[r][slot];
+                sum -= windows.sums[r][slot];
+            }
+            boolean countFits = rule.maxCount() <= 0 || count + 1 <= rule.maxCount();
+            boolean amountFits = rule.maxAmount() <= 0 || sum + amount <= rule.maxAmount();
+            if (countFits && amountFits) {
+                return Math.max(0, (epoch + buckets) * bucketNanos[r] - now);
+            }
+        }
+        return rule.windowNanos();
+    }
+
+    private static final class Windows {
+        private final long[][] epochs;
+        private final long[][] counts;
+        private final long[][] sums;
+        private long lastRecordNanos;
+
+        private Windows(int rules, int buckets) {
+            this.epochs = new long[rules][buckets];
+            this.counts = new long[rules][buckets];
+            this.sums = new long[rules][buckets];
+            for (long[] ruleEpochs : epochs) {
+                Arrays.fill(ruleEpochs, Long.MIN_VALUE);
+            }
+        }
+    }
+}
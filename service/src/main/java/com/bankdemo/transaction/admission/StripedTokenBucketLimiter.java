@@ -0,0 +1,70 @@
+package com.bankdemo.transaction.admission;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket por clave (cuenta) sobre un {@link StripedLruMap}, para que cuentas distintas no compitan
+ * entre sí. Una cuenta expulsada del LRU vuelve con el bucket lleno, lo cual solo puede favorecer al cliente,
+ * nunca bloquearlo de más.
+ */
+public class StripedTokenBucketLimiter {
+
+    private final StripedLruMap<Bucket> buckets;
+    private final double capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+
+    public StripedTokenBucketLimiter(int stripes, int maxKeys, double permitsPerSecond, int burst) {
+        this(stripes, maxKeys, permitsPerSecond, burst, System::nanoTime);
+    }
+
+    public StripedTokenBucketLimiter(int stripes, int maxKeys, double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        this.buckets = new StripedLruMap<>(stripes, maxKeys);
+        this.capacity = burst;
+        this.tokensPerNano = permitsPerSecond / 1_000_000_000d;
+        this.nanoClock = nanoClock;
+    }
+
+    public boolean tryAcquire(long key) {
+        return buckets.withStripe(key, stripe -> {
+            // La hora se lee con el lock tomado: leída antes, un hilo adelantado por otro repondría con un
+            // intervalo negativo y vaciaría el bucket
+            long now = nanoClock.getAsLong();
+            Bucket bucket = stripe.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                stripe.put(key, bucket);
+            } else if (now > bucket.lastRefillNanos) {
+                bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.lastRefillNanos) * tokensPerNano);
+                bucket.lastRefillNanos = now;
+            }
+
+            if (bucket.tokens >= 1d) {
+                bucket.tokens -= 1d;
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Segundos aproximados hasta que la clave vuelva a tener un permiso, para la cabecera Retry-After.
+     */
+    public long secondsUntilNextPermit() {
+        return Math.max(1L, (long) Math.ceil(1d / (tokensPerNano * 1_000_000_000d)));
+    }
+
+    public int trackedKeys() {
+        return buckets.size();
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefillNanos;
+
+        private Bucket(double tokens, long lastRefillNanos) {
+            this.tokens = tokens;
+            this.lastRefillNanos = lastRefillNanos;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.bankdemo.transaction.admission;
+
+import com.bankdemo.transaction.exception.AdmissionRejectedException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Control de admisión para {@code POST /transactions}: primero el límite de tasa por cuenta de origen
+ * (barato, corta a un cliente abusivo sin consumir capacidad global) y después el bulkhead global,
+ * que limita las creaciones concurrentes que llegan al servicio de cuentas y al pool de la base de datos.
+ * Ninguno de los dos espera: si no hay permiso se rechaza de inmediato con 429.
+ */
+@Component
+@Slf4j
+public class TransactionAdmissionControl {
+
+    static final String BULKHEAD_NAME = "transactionAdmission";
+
+    private final Bulkhead bulkhead;
+    private final StripedTokenBucketLimiter accountLimiter;
+    private final Counter admitted;
+    private final Counter rejectedByAccount;
+    private final Counter rejectedByBulkhead;
+
+    public TransactionAdmissionControl(
+            BulkheadRegistry bulkheadRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${transaction.admission.account.permits-per-second:5}") double permitsPerSecond,
+            @Value("${transaction.admission.account.burst:10}") int burst,
+            @Value("${transaction.admission.account.stripes:64}") int stripes,
+            @Value("${transaction.admission.account.max-accounts:100000}") int maxAccounts) {
+        this.bulkhead = bulkheadRegistry.bulkhead(BULKHEAD_NAME);
+        this.accountLimiter = new StripedTokenBucketLimiter(stripes, maxAccounts, permitsPerSecond, burst);
+
+        this.admitted = Counter.builder("transaction.admission.admitted")
+                .description("Transferencias admitidas por el control de admisión")
+                .register(meterRegistry);
+        this.rejectedByAccount = Counter.builder("transaction.admission.rejected")
+                .tag("limiter", "account")
+                .description("Transferencias rechazadas por el límite de tasa por cuenta")
+                .register(meterRegistry);
+        this.rejectedByBulkhead = Counter.builder("transaction.admission.rejected")
+                .tag("limiter", "global")
+                .description("Transferencias rechazadas por el bulkhead global")
+                .register(meterRegistry);
+        Gauge.builder("transaction.admission.account.tracked", accountLimiter, StripedTokenBucketLimiter::trackedKeys)
+                .description("Cuentas con bucket activo en el limitador por cuenta")
+                .register(meterRegistry);
+    }
+
+    public <T> T admit(Long fromAccount, Supplier<T> call) {
+        if (fromAccount != null && !accountLimiter.tryAcquire(fromAccount)) {
+            rejectedByAccount.increment();
+            log.warn("Transferencia rechazada por límite de tasa de la cuenta {}", fromAccount);
+            throw new AdmissionRejectedException(
+                    "Demasiadas transferencias desde la cuenta " + fromAccount + ", intente más tarde",
+                    accountLimiter.secondsUntilNextPermit());
+        }
+
+        if (!bulkhead.tryAcquirePermission()) {
+            rejectedByBulkhead.increment();
+            throw new AdmissionRejectedException("El servicio está saturado, intente más tarde", 1);
+        }
+
+        admitted.increment();
+        try {
+            return call.get();
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+}
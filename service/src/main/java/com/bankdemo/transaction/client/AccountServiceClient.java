@@ -0,0 +1,238 @@
+package com.bankdemo.transaction.client;
+
+import com.bankdemo.transaction.dto.AccountDTO;
+import com.bankdemo.transaction.dto.AuthRequestDTO;
+import com.bankdemo.transaction.dto.AuthResponseDTO;
+import com.bankdemo.transaction.exception.AccountServiceUnavailableException;
+import com.bankdemo.transaction.exception.TransactionException;
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.profiling.AccountCallEvent;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.*;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class AccountServiceClient {
+
+    // El limitador espera como mucho maxQueueWait (por debajo del segundo) antes de descartar
+    private static final long SHED_RETRY_AFTER_SECONDS = 1L;
+    private static final long UNAVAILABLE_RETRY_AFTER_SECONDS = 5L;
+
+    private final RestTemplate restTemplate;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final HedgingPolicy hedgingPolicy;
+    private final String accountServiceUrl;
+    private final String username;
+    private final String password;
+    private final SingleFlight<Long, AccountDTO> accountLookups = new SingleFlight<>();
+    private final MicroBatcher<Long, AccountDTO> accountBatcher;
+    private final String batchPath;
+    private final Counter coalescedLookups;
+    private final Counter batchedLookups;
+
+    private volatile String jwtToken;
+
+    public AccountServiceClient(
+            RestTemplate restTemplate,
+            AdaptiveConcurrencyLimiter concurrencyLimiter,
+            HedgingPolicy hedgingPolicy,
+            MeterRegistry meterRegistry,
+            @Value("${service.account.url}") String accountServiceUrl,
+            @Value("${admin.username:admin}") String username,
+            @Value("${admin.password:password}") String password,
+            @Value("${service.account.batch.enabled:false}") boolean batchEnabled,
+            @Value("${service.account.batch.path:/accounts/batch}") String batchPath,
+            @Value("${service.account.batch.window-ms:2}") long batchWindowMillis,
+            @Value("${service.account.batch.max-size:50}") int batchMaxSize) {
+        this.restTemplate = restTemplate;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.hedgingPolicy = hedgingPolicy;
+        this.accountServiceUrl = accountServiceUrl;
+        this.username = username;
+        this.password = password;
+        this.batchPath = batchPath;
+        this.accountBatcher = batchEnabled
+                ? new MicroBatcher<>("account-lookup", this::fetchAccounts,
+                        id -> new HttpClientErrorException(HttpStatus.NOT_FOUND), batchWindowMillis, batchMaxSize)
+                : null;
+
+        this.coalescedLookups = Counter.builder("account.client.lookups.coalesced")
+                .description("Consultas de cuenta resueltas con una llamada ya en curso")
+                .register(meterRegistry);
+        this.batchedLookups = Counter.builder("account.client.lookups.batches")
+                .description("Llamadas de consulta masiva enviadas al servicio de cuentas")
+                .register(meterRegistry);
+        Gauge.builder("account.client.lookups.inflight", accountLookups, SingleFlight::inFlight)
+                .description("Cuentas distintas con consulta en curso")
+                .register(meterRegistry);
+    }
+
+    private void ensureTokenExists() {
+        if (jwtToken == null) {
+            // Varias consultas concurrentes pueden llegar sin token: solo una lo solicita
+            synchronized (this) {
+                if (jwtToken != null) {
+                    return;
+                }
+                try (AccountCallEvent call = AccountCallEvent.start(AccountCallEvent.TOKEN, null, 0)) {
+                    AuthRequestDTO authRequest = new AuthRequestDTO(username, password);
+                    ResponseEntity<AuthResponseDTO> authResponse = restTemplate.postForEntity(
+                            accountServiceUrl + "/auth/token",
+                            authRequest,
+                            AuthResponseDTO.class);
+                    call.setStatusCode(authResponse.getStatusCode().value());
+
+                    if (authResponse.getBody() != null) {
+                        jwtToken = authResponse.getBody().getToken();
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException("Error al obtener token JWT: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    @CircuitBreaker(name = "accountService", fallbackMethod = "getAccountFallback")
+    public AccountDTO getAccount(Long id) {
+        ensureTokenExists();
+
+        // Las consultas concurrentes de la misma cuenta comparten una única llamada remota
+        return accountLookups.execute(id, () -> accountBatcher != null
+                ? accountBatcher.get(id)
+                // GET idempotente: admite hedging si está habilitado
+                : hedgingPolicy.execute(() -> fetchAccount(id)), coalescedLookups::increment);
+    }
+
+    private Map<Long, AccountDTO> fetchAccounts(List<Long> ids) {
+        batchedLookups.increment();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Bearer " + jwtToken);
+
+        HttpEntity<Void> requestEntity = new HttpEntity<>(headers);
+        String idList = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+
+        ResponseEntity<AccountDTO[]> response;
+        try (AccountCallEvent call = AccountCallEvent.start(AccountCallEvent.GET_ACCOUNTS, null, ids.size())) {
+            response = concurrencyLimiter.execute(() -> restTemplate.exchange(
+                    accountServiceUrl + batchPath + "?ids=" + idList,
+                    HttpMethod.GET,
+                    requestEntity,
+                    AccountDTO[].class));
+            call.setStatusCode(response.getStatusCode().value());
+        }
+
+        if (response.getBody() == null) {
+            return Collections.emptyMap();
+        }
+        return Arrays.stream(response.getBody())
+                .collect(Collectors.toMap(AccountDTO::getId, Function.identity(), (first, second) -> first));
+    }
+
+    private AccountDTO fetchAccount(Long id) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Bearer " + jwtToken);
+
+        HttpEntity<Void> requestEntity = new HttpEntity<>(headers);
+
+        ResponseEntity<AccountDTO> response;
+        try (AccountCallEvent call = AccountCallEvent.start(AccountCallEvent.GET_ACCOUNT, id, 1)) {
+            response = concurrencyLimiter.execute(() -> restTemplate.exchange(
+                    accountServiceUrl + "/accounts/" + id,
+                    HttpMethod.GET,
+                    requestEntity,
+                    AccountDTO.class));
+            call.setStatusCode(response.getStatusCode().value());
+        }
+
+        log.debug("Cuenta {} consultada: {}", id, response.getStatusCode());
+
+        return response.getBody();
+    }
+
+    @CircuitBreaker(name = "accountService", fallbackMethod = "validateAccountFallback")
+    public Boolean validateAccount(Long id, Money amount) {
+        ensureTokenExists();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Bearer " + jwtToken);
+
+        HttpEntity<Void> requestEntity = new HttpEntity<>(headers);
+
+        try (AccountCallEvent call = AccountCallEvent.start(AccountCallEvent.VALIDATE, id, 1)) {
+            ResponseEntity<Boolean> response = concurrencyLimiter.execute(() -> restTemplate.exchange(
+                    accountServiceUrl + "/accounts/" + id + "/validate?amount=" + amount,
+                    HttpMethod.GET,
+                    requestEntity,
+                    Boolean.class));
+            call.setStatusCode(response.getStatusCode().value());
+
+            return response.getBody();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (accountBatcher != null) {
+            accountBatcher.shutdown();
+        }
+    }
+
+    public AccountDTO getAccountFallback(Long id, Throwable t) {
+        rethrowIfShed(t);
+
+        // En caso de fallo en el servicio account-service
+        if (t instanceof HttpClientErrorException httpEx) {
+
+            // Si es un 404 (NOT_FOUND), simplemente propagamos el error
+            if (httpEx.getStatusCode() == HttpStatus.NOT_FOUND) {
+                throw new TransactionException("Cuenta no encontrada con ID: " + id);
+            }
+        }
+
+        // Para otros errores (problemas del servicio, no de lógica de negocio): la transferencia no se ha
+        // evaluado, así que no se trata como rechazo
+        log.error("Error al obtener cuenta {}: {}", id, t.getMessage());
+        throw new AccountServiceUnavailableException(
+                "Error en servicio externo al verificar cuenta: " + t.getMessage(), UNAVAILABLE_RETRY_AFTER_SECONDS);
+    }
+
+    public Boolean validateAccountFallback(Long id, Money amount, Throwable t) {
+        // Un descarte del limitador no dice nada del saldo: no se informa como saldo insuficiente
+        rethrowIfShed(t);
+
+        // El servicio respondió con un error de cliente: se deniega la transacción
+        if (t instanceof HttpClientErrorException) {
+            return false;
+        }
+
+        // Timeout, circuito abierto o error del servicio: tampoco dice nada del saldo
+        log.error("Error al validar saldo de la cuenta {}: {}", id, t.getMessage());
+        throw new AccountServiceUnavailableException(
+                "Error en servicio externo al validar saldo: " + t.getMessage(), UNAVAILABLE_RETRY_AFTER_SECONDS);
+    }
+
+    private void rethrowIfShed(Throwable t) {
+        if (t instanceof AdaptiveConcurrencyLimiter.LimitExceededException) {
+            log.warn("Llamada al servicio de cuentas descartada por el limitador: {}", t.getMessage());
+            throw new AccountServiceUnavailableException(
+                    "Servicio de cuentas saturado, intente de nuevo más tarde", SHED_RETRY_AFTER_SECONDS);
+        }
+    }
+}
\ No newline at end of file
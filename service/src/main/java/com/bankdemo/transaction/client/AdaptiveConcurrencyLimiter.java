@@ -0,0 +1,144 @@
+package com.bankdemo.transaction.client;
+
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Limitador de concurrencia AIMD guiado por latencia. Mide el RTT de cada llamada contra el mínimo
+ * observado: mientras la latencia se mantenga cerca del mínimo el límite crece en uno por ventana,
+ * y cuando supera {@code minRtt * tolerance} (o la llamada falla por timeout) se reduce multiplicando
+ * por {@code backoffRatio}. Las llamadas que exceden el límite esperan como máximo {@code maxQueueWait}
+ * y después se descartan con {@link LimitExceededException}.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double tolerance;
+    private final long maxQueueWaitNanos;
+    private final long minRttResetNanos;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private long minRttNanos = Long.MAX_VALUE;
+    private long minRttObservedAt;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                                      double tolerance, long maxQueueWaitMillis, long minRttResetMillis) {
+        this(initialLimit, minLimit, maxLimit, backoffRatio, tolerance, maxQueueWaitMillis, minRttResetMillis,
+                System::nanoTime);
+    }
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                                      double tolerance, long maxQueueWaitMillis, long minRttResetMillis,
+                                      LongSupplier nanoClock) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.tolerance = tolerance;
+        this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMillis);
+        this.minRttResetNanos = TimeUnit.MILLISECONDS.toNanos(minRttResetMillis);
+        this.nanoClock = nanoClock;
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        acquire();
+        long start = nanoClock.getAsLong();
+        boolean dropped = false;
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            // Los timeouts son la señal de sobrecarga más clara; los errores de negocio (404) no cuentan
+            dropped = isTimeout(e);
+            throw e;
+        } finally {
+            release(nanoClock.getAsLong() - start, dropped);
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire() {
+        long remaining = maxQueueWaitNanos;
+        lock.lock();
+        try {
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0) {
+                    throw new LimitExceededException((int) limit);
+                }
+                remaining = permitReleased.awaitNanos(remaining);
+            }
+            inFlight++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LimitExceededException((int) limit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long rttNanos, boolean dropped) {
+        lock.lock();
+        try {
+            inFlight--;
+            long now = nanoClock.getAsLong();
+
+            // El mínimo se reinicia periódicamente para adaptarse si el servicio cambia de base (p. ej. tras un despliegue)
+            if (rttNanos < minRttNanos || now - minRttObservedAt > minRttResetNanos) {
+                minRttNanos = rttNanos;
+                minRttObservedAt = now;
+            }
+
+            if (dropped || rttNanos > minRttNanos * tolerance) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if ((inFlight + 1) * 2 >= limit) {
+                // Solo se crece si el límite se está usando; si no, crecería sin información
+                limit = Math.min(maxLimit, limit + 1d / limit);
+            }
+            permitReleased.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SocketTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static class LimitExceededException extends RuntimeException {
+        public LimitExceededException(int limit) {
+            super("Límite de concurrencia hacia el servicio de cuentas alcanzado: " + limit);
+        }
+    }
+}
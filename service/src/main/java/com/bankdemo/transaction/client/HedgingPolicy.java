@@ -0,0 +1,258 @@
+package com.bankdemo.transaction.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Peticiones "hedged" para llamadas idempotentes: si la primera no responde dentro del percentil
+ * configurado de la latencia reciente, se lanza una segunda y gana la primera respuesta correcta.
+ * Cada petición primaria aporta {@code budgetRatio} créditos y cada hedge consume uno, de modo que
+ * el tráfico adicional queda acotado a ese porcentaje aunque el servicio remoto se degrade por completo.
+ *
+ * <p>Cuando una de las dos responde, la otra se cancela interrumpiendo su tarea en el pool: si todavía
+ * espera hilo o un permiso del limitador de concurrencia, no llega a enviarse. Una lectura HTTP ya en curso
+ * no atiende a la interrupción, así que esa llamada termina por su cuenta (como mucho, con el timeout de
+ * lectura) y hasta entonces conserva su conexión y su permiso del limitador: el limitador la cuenta como
+ * carga real sobre el servicio remoto.</p>
+ */
+public class HedgingPolicy {
+
+    private static final long CREDIT_SCALE = 1_000L;
+
+    private final boolean enabled;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final long creditPerRequest;
+    private final long maxCredits;
+    private final LatencyPercentile latency;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong credits;
+
+    private final Counter requests;
+    private final Counter hedgesSent;
+    private final Counter hedgeWins;
+    private final Counter budgetExhausted;
+
+    public HedgingPolicy(String name, boolean enabled, double percentile, long minDelayMillis, long maxDelayMillis,
+                         double budgetRatio, int maxBurst, int threads, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMillis);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.creditPerRequest = Math.round(budgetRatio * CREDIT_SCALE);
+        this.maxCredits = maxBurst * CREDIT_SCALE;
+        this.credits = new AtomicLong(maxCredits);
+        this.latency = new LatencyPercentile(512, percentile);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 4), runnable -> {
+            Thread thread = new Thread(runnable, name + "-hedging-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+
+        this.requests = Counter.builder("account.client.hedge.requests").tag("call", name)
+                .description("Peticiones primarias sujetas a hedging").register(meterRegistry);
+        this.hedgesSent = Counter.builder("account.client.hedge.sent").tag("call", name)
+                .description("Peticiones de respaldo enviadas").register(meterRegistry);
+        this.hedgeWins = Counter.builder("account.client.hedge.wins").tag("call", name)
+                .description("Peticiones de respaldo que respondieron antes que la primaria").register(meterRegistry);
+        this.budgetExhausted = Counter.builder("account.client.hedge.budget.exhausted").tag("call", name)
+                .description("Hedges no enviados por falta de presupuesto").register(meterRegistry);
+        Gauge.builder("account.client.hedge.delay", this, policy -> TimeUnit.NANOSECONDS.toMillis(policy.currentDelayNanos()))
+                .tag("call", name)
+                .description("Espera actual antes de enviar el hedge (ms)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        requests.increment();
+        deposit();
+
+        long start = System.nanoTime();
+        Attempt<T> primary;
+        try {
+            primary = submit(call);
+        } catch (RejectedExecutionException e) {
+            // Pool saturado: la llamada se hace en el hilo actual y sin hedge
+            return call.get();
+        }
+        // Se registra siempre la latencia real de la primaria, gane o no, para no sesgar el percentil
+        primary.result().whenComplete((value, error) -> {
+            if (error == null) {
+                latency.record(System.nanoTime() - start);
+            }
+        });
+
+        try {
+            return primary.result().get(currentDelayNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return hedge(call, primary);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Llamada interrumpida", e);
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    long currentDelayNanos() {
+        long observed = latency.value();
+        if (observed <= 0) {
+            return maxDelayNanos;
+        }
+        return Math.max(minDelayNanos, Math.min(maxDelayNanos, observed));
+    }
+
+    private <T> T hedge(Supplier<T> call, Attempt<T> primary) {
+        if (!withdraw()) {
+            budgetExhausted.increment();
+            return join(primary.result());
+        }
+
+        Attempt<T> backup;
+        try {
+            backup = submit(call);
+        } catch (RejectedExecutionException e) {
+            return join(primary.result());
+        }
+        hedgesSent.increment();
+
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.result().whenComplete((value, error) -> complete(winner, value, error, failures, false));
+        backup.result().whenComplete((value, error) -> complete(winner, value, error, failures, true));
+
+        try {
+            return join(winner);
+        } finally {
+            // Cancelar el CompletableFuture no llega a la tarea: se cancela la del pool, con interrupción
+            primary.task().cancel(true);
+            backup.task().cancel(true);
+        }
+    }
+
+    private <T> Attempt<T> submit(Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                result.complete(call.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return new Attempt<>(result, task);
+    }
+
+    private <T> void complete(CompletableFuture<T> winner, T value, Throwable error,
+                              AtomicInteger failures, boolean isHedge) {
+        if (error == null) {
+            if (winner.complete(value) && isHedge) {
+                hedgeWins.increment();
+            }
+        } else if (failures.incrementAndGet() == 2) {
+            winner.completeExceptionally(error);
+        }
+    }
+
+    private void deposit() {
+        credits.getAndUpdate(current -> Math.min(maxCredits, current + creditPerRequest));
+    }
+
+    private boolean withdraw() {
+        long current;
+        do {
+            current = credits.get();
+            if (current < CREDIT_SCALE) {
+                return false;
+            }
+        } while (!credits.compareAndSet(current, current - CREDIT_SCALE));
+        return true;
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private RuntimeException unwrap(Throwable cause) {
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    // Resultado de una llamada y su tarea en el pool, que es lo que hay que cancelar para interrumpirla
+    private record Attempt<T>(CompletableFuture<T> result, Future<?> task) {
+    }
+
+    /**
+     * Percentil sobre una ventana circular de las últimas muestras; se recalcula cada
+     * {@code window / 8} muestras para no ordenar en cada llamada.
+     */
+    private static final class LatencyPercentile {
+
+        private final long[] samples;
+        private final double percentile;
+        private final int recomputeEvery;
+        private int next;
+        private int count;
+        private int sinceRecompute;
+        private volatile long value;
+
+        private LatencyPercentile(int window, double percentile) {
+            this.samples = new long[window];
+            this.percentile = percentile;
+            this.recomputeEvery = Math.max(1, window / 8);
+        }
+
+        private synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+
+            if (++sinceRecompute >= recomputeEvery) {
+                sinceRecompute = 0;
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                int index = (int) Math.ceil(percentile / 100d * count) - 1;
+                value = sorted[Math.max(0, Math.min(count - 1, index))];
+            }
+        }
+
+        private long value() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.bankdemo.transaction.client;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Junta las claves pedidas durante una ventana corta (o hasta {@code maxBatchSize}) y las resuelve
+ * con una sola llamada a {@code loader}. Las claves que el loader no devuelve se completan con
+ * {@code missing.apply(clave)}, que permite mantener la semántica de error de las llamadas individuales.
+ * Las cargas (bloqueantes) van a su propio pool: el hilo que cierra las ventanas no espera a ninguna.
+ */
+public class MicroBatcher<K, V> {
+
+    private final Function<List<K>, Map<K, V>> loader;
+    private final Function<K, RuntimeException> missing;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService loaders;
+
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+
+    public MicroBatcher(String name, Function<List<K>, Map<K, V>> loader, Function<K, RuntimeException> missing,
+                        long windowMillis, int maxBatchSize) {
+        this.loader = loader;
+        this.missing = missing;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger loaderCount = new AtomicInteger();
+        this.loaders = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, name + "-batch-loader-" + loaderCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public V get(K key) {
+        CompletableFuture<V> future;
+        Map<K, CompletableFuture<V>> full = null;
+
+        synchronized (this) {
+            future = pending.get(key);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                if (pending.isEmpty()) {
+                    // La primera clave de la ventana programa el envío del lote
+                    scheduler.schedule(this::flushScheduled, windowMillis, TimeUnit.MILLISECONDS);
+                }
+                pending.put(key, future);
+                if (pending.size() >= maxBatchSize) {
+                    full = pending;
+                    pending = new LinkedHashMap<>();
+                }
+            }
+        }
+
+        if (full != null) {
+            load(full);
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+        }
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+        loaders.shutdownNow();
+    }
+
+    private void flushScheduled() {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+        // Con la carga en este hilo, las ventanas siguientes esperarían a que termine la llamada remota
+        try {
+            loaders.execute(() -> load(batch));
+        } catch (RejectedExecutionException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private void load(Map<K, CompletableFuture<V>> batch) {
+        try {
+            Map<K, V> result = loader.apply(new ArrayList<>(batch.keySet()));
+            batch.forEach((key, future) -> {
+                V value = result.get(key);
+                if (value != null) {
+                    future.complete(value);
+                } else {
+                    future.completeExceptionally(missing.apply(key));
+                }
+            });
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.bankdemo.transaction.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ejecución de entrenamiento para el archivo AppCDS del Dockerfile: arranca el contexto completo (cargando las
+ * mismas clases que un arranque real) y termina en cuanto se refresca, sin base de datos ni Kafka.
+ */
+@Component
+@Profile("cds-training")
+@Slf4j
+public class CdsTrainingRunListener implements ApplicationListener<ContextRefreshedEvent> {
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        ApplicationContext context = event.getApplicationContext();
+        log.info("Entrenamiento CDS completado, cerrando la aplicación");
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -12,6 +12,8 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -29,6 +31,23 @@ public class KafkaConfig {
     @Value("${spring.kafka.topic.transaction-events}")
     private String transactionTopic;
 
+    @Value("${spring.kafka.topic.transaction-status:transaction-status}")
+    private String statusTopic;
+
+    @Value("${spring.kafka.listener.auto-startup:true}")
+    private boolean listenerAutoStartup;
+
+    // Concurrencia inicial; con transaction.result-listener.adaptive la ajusta ResultListenerScaler
+    @Value("${transaction.result-listener.min-concurrency:1}")
+    private int listenerConcurrency;
+
+    // Reintentos de un resultado cuyo procesamiento falla (p. ej. la base no responde al sumar los acumulados)
+    @Value("${transaction.result-listener.retry-interval-ms:1000}")
+    private long retryIntervalMs;
+
+    @Value("${transaction.result-listener.retry-attempts:9}")
+    private long retryAttempts;
+
     @Bean
     public Map<String, Object> producerConfigs() {
         Map<String, Object> props = new HashMap<>();
@@ -72,6 +91,11 @@ public class KafkaConfig {
         factory.setConsumerFactory(consumerFactory());
         // No fallar si el topic no existe
         factory.getContainerProperties().setMissingTopicsFatal(false);
+        factory.setAutoStartup(listenerAutoStartup);
+        factory.setConcurrency(listenerConcurrency);
+        // El listener revierte su transacción y relanza: el registro se reintenta con espera fija y, agotados
+        // los intentos, se registra el error y se pasa al siguiente
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(retryIntervalMs, retryAttempts)));
         return factory;
     }
 
@@ -90,4 +114,14 @@ public class KafkaConfig {
                 .replicas(1)
                 .build();
     }
+
+    // Estado actual de cada transferencia (clave: id): con compactación solo se conserva el último por clave
+    @Bean
+    public NewTopic transactionStatusTopic() {
+        return TopicBuilder.name(statusTopic)
+                .partitions(3)
+                .replicas(1)
+                .compact()
+                .build();
+    }
 }
@@ -0,0 +1,22 @@
+package com.bankdemo.transaction.config;
+
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Recursos que la imagen nativa debe incluir y que Spring Boot no registra solo: las migraciones de Flyway
+ * específicas de cada motor (db/vendor/{vendor}); las de db/migration ya las registra la autoconfiguración.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.VendorMigrationsHints.class)
+public class NativeHintsConfig {
+
+    static class VendorMigrationsHints implements RuntimeHintsRegistrar {
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.resources().registerPattern("db/vendor/*/*.sql");
+        }
+    }
+}
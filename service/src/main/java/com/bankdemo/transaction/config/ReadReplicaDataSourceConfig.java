@@ -0,0 +1,83 @@
+package com.bankdemo.transaction.config;
+
+import com.bankdemo.transaction.datasource.ReplicaLagMonitor;
+import com.bankdemo.transaction.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Réplica de lectura: solo se activa si se define {@code spring.datasource.replica.url}. La principal se
+ * configura como siempre ({@code spring.datasource.*}) y la réplica con su propio pool
+ * ({@code spring.datasource.replica.hikari.*}), para que las consultas no compitan con las escrituras.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.datasource.replica", name = "url")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties primaryProperties,
+            @Value("${spring.datasource.replica.url}") String url,
+            @Value("${spring.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${spring.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setDriverClassName(primaryProperties.determineDriverClassName());
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${transaction.read-replica.lag-query:}") String lagQuery,
+            @Value("${transaction.read-replica.lag-column:Seconds_Behind_Source}") String lagColumn,
+            @Value("${transaction.read-replica.max-lag-seconds:5}") long maxLagSeconds,
+            @Value("${transaction.read-replica.max-check-age-ms:5000}") long maxCheckAgeMillis) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(
+                replicaDataSource, lagQuery, lagColumn, maxLagSeconds, maxCheckAgeMillis);
+
+        Gauge.builder("datasource.replica.lag", monitor, ReplicaLagMonitor::getLastLagSeconds)
+                .description("Último retraso medido de la réplica en segundos (-1 si la replicación está parada)")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", monitor, m -> m.isReplicaUsable() ? 1 : 0)
+                .description("1 si las lecturas se están enviando a la réplica")
+                .register(meterRegistry);
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaLagMonitor replicaLagMonitor) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor));
+    }
+}
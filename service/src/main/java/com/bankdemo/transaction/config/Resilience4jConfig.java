@@ -1,5 +1,7 @@
 package com.bankdemo.transaction.config;
 
+import com.bankdemo.transaction.client.AdaptiveConcurrencyLimiter;
+import com.bankdemo.transaction.client.HedgingPolicy;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.timelimiter.TimeLimiterConfig;
@@ -8,8 +10,11 @@ import io.github.resilience4j.core.registry.EntryAddedEvent;
 import io.github.resilience4j.core.registry.EntryRemovedEvent;
 import io.github.resilience4j.core.registry.EntryReplacedEvent;
 import io.github.resilience4j.core.registry.RegistryEventConsumer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -30,6 +35,8 @@ public class Resilience4jConfig {
                 .permittedNumberOfCallsInHalfOpenState(3)
                 .slowCallRateThreshold(50)
                 .slowCallDurationThreshold(Duration.ofSeconds(2))
+                // Descartar por el limitador adaptativo no es un fallo del servicio remoto
+                .ignoreExceptions(AdaptiveConcurrencyLimiter.LimitExceededException.class)
                 .build();
     }
 
@@ -40,6 +47,7 @@ public class Resilience4jConfig {
                 .failureRateThreshold(40)
                 .waitDurationInOpenState(Duration.ofSeconds(20))
                 .permittedNumberOfCallsInHalfOpenState(2)
+                .ignoreExceptions(AdaptiveConcurrencyLimiter.LimitExceededException.class)
                 .build();
     }
 
@@ -57,6 +65,44 @@ public class Resilience4jConfig {
                 .build();
     }
 
+    @Bean
+    public AdaptiveConcurrencyLimiter accountServiceConcurrencyLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${service.account.concurrency.initial-limit:20}") int initialLimit,
+            @Value("${service.account.concurrency.min-limit:2}") int minLimit,
+            @Value("${service.account.concurrency.max-limit:200}") int maxLimit,
+            @Value("${service.account.concurrency.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${service.account.concurrency.rtt-tolerance:2.0}") double rttTolerance,
+            @Value("${service.account.concurrency.max-queue-wait-ms:50}") long maxQueueWaitMillis,
+            @Value("${service.account.concurrency.min-rtt-reset-ms:60000}") long minRttResetMillis) {
+
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                backoffRatio, rttTolerance, maxQueueWaitMillis, minRttResetMillis);
+
+        Gauge.builder("account.client.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Límite adaptativo de llamadas concurrentes al servicio de cuentas")
+                .register(meterRegistry);
+        Gauge.builder("account.client.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Llamadas en curso al servicio de cuentas")
+                .register(meterRegistry);
+
+        return limiter;
+    }
+
+    @Bean
+    public HedgingPolicy accountLookupHedgingPolicy(
+            MeterRegistry meterRegistry,
+            @Value("${service.account.hedging.enabled:false}") boolean enabled,
+            @Value("${service.account.hedging.percentile:95}") double percentile,
+            @Value("${service.account.hedging.min-delay-ms:20}") long minDelayMillis,
+            @Value("${service.account.hedging.max-delay-ms:500}") long maxDelayMillis,
+            @Value("${service.account.hedging.budget-ratio:0.05}") double budgetRatio,
+            @Value("${service.account.hedging.max-burst:10}") int maxBurst,
+            @Value("${service.account.hedging.threads:32}") int threads) {
+        return new HedgingPolicy("getAccount", enabled, percentile, minDelayMillis, maxDelayMillis,
+                budgetRatio, maxBurst, threads, meterRegistry);
+    }
+
     @Bean
     public CircuitBreakerRegistry circuitBreakerRegistry(
             CircuitBreakerConfig defaultCircuitBreakerConfig,
@@ -0,0 +1,122 @@
+package com.bankdemo.transaction.config;
+
+import com.bankdemo.transaction.datasource.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sharding de las transferencias por cuenta de origen ({@code transaction.sharding.enabled}). Cada shard
+ * ({@code transaction.sharding.shards[i]}) tiene su pool y el esquema completo, migrado por Flyway uno a uno;
+ * la ruta la decide {@link ShardRoutingDataSource} según el shard marcado en el hilo.
+ *
+ * <p>Los ids de {@code transactions} y {@code scheduled_transfers} se intercalan entre shards (el shard {@code i}
+ * de {@code N} genera {@code i+1, i+1+N, ...}): en MySQL con {@code auto_increment_increment/offset} por conexión,
+ * en H2 ajustando la identidad de cada tabla tras migrar. No es compatible con la réplica de lectura.</p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "transaction.sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+@Slf4j
+public class ShardedDataSourceConfig {
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(
+            ShardingProperties properties,
+            DataSourceProperties defaults,
+            @Value("${spring.datasource.replica.url:}") String replicaUrl) {
+        if (StringUtils.hasText(replicaUrl)) {
+            throw new IllegalStateException("El sharding no admite spring.datasource.replica.url");
+        }
+        List<ShardingProperties.Shard> shards = properties.getShards();
+        if (shards.isEmpty()) {
+            throw new IllegalStateException("transaction.sharding.shards no puede estar vacío con el sharding activo");
+        }
+
+        List<HikariDataSource> pools = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            ShardingProperties.Shard shard = shards.get(i);
+            DatabaseDriver driver = DatabaseDriver.fromJdbcUrl(shard.getUrl());
+            if (driver != DatabaseDriver.MYSQL && driver != DatabaseDriver.H2) {
+                throw new IllegalStateException("Shard " + i + ": solo se admiten MySQL y H2 (" + shard.getUrl() + ")");
+            }
+
+            HikariDataSource pool = new HikariDataSource();
+            pool.setJdbcUrl(shard.getUrl());
+            pool.setUsername(shard.getUsername() != null ? shard.getUsername() : defaults.getUsername());
+            pool.setPassword(shard.getPassword() != null ? shard.getPassword() : defaults.getPassword());
+            pool.setDriverClassName(driver.getDriverClassName());
+            pool.setMaximumPoolSize(properties.getPoolSize());
+            pool.setPoolName("shard-" + i);
+            if (driver == DatabaseDriver.MYSQL) {
+                pool.setConnectionInitSql("SET SESSION auto_increment_increment = " + shards.size()
+                        + ", auto_increment_offset = " + (i + 1));
+            }
+            pools.add(pool);
+        }
+        return new ShardRoutingDataSource(pools);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    /**
+     * Flyway solo conoce el DataSource principal: se repite la misma configuración contra cada shard.
+     */
+    @Bean
+    public FlywayMigrationStrategy shardedFlywayMigrationStrategy(ShardRoutingDataSource shardRoutingDataSource) {
+        return flyway -> {
+            List<? extends DataSource> shards = shardRoutingDataSource.getShards();
+            for (int i = 0; i < shards.size(); i++) {
+                DataSource shard = shards.get(i);
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(shard)
+                        .load()
+                        .migrate();
+                if (!(shard instanceof HikariDataSource pool)
+                        || DatabaseDriver.fromJdbcUrl(pool.getJdbcUrl()) == DatabaseDriver.H2) {
+                    alignIdentity(shard, i, shards.size());
+                }
+            }
+        };
+    }
+
+    // H2 no tiene auto_increment_offset: la identidad se reinicia en el siguiente id del shard con paso N
+    private void alignIdentity(DataSource shard, int index, int shardCount) {
+        JdbcTemplate jdbc = new JdbcTemplate(shard);
+        Long max = jdbc.queryForObject("SELECT GREATEST("
+                + "COALESCE((SELECT MAX(id) FROM transactions), 0), "
+                + "COALESCE((SELECT MAX(id) FROM transactions_archive), 0))", Long.class);
+        long next = restartIdentity(jdbc, "transactions", max, index, shardCount);
+        log.info("Shard {}: ids de transacción desde {} con paso {}", index, next, shardCount);
+        restartIdentity(jdbc, "scheduled_transfers",
+                jdbc.queryForObject("SELECT MAX(id) FROM scheduled_transfers", Long.class), index, shardCount);
+    }
+
+    private long restartIdentity(JdbcTemplate jdbc, String table, Long max, int index, int shardCount) {
+        long next = (max != null ? max : 0L) + 1;
+        next += Math.floorMod(index - (next - 1), (long) shardCount);
+        jdbc.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next + " SET INCREMENT BY " + shardCount);
+        return next;
+    }
+}
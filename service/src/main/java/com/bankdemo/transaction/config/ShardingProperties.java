@@ -0,0 +1,30 @@
+package com.bankdemo.transaction.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuración de {@code transaction.sharding.*}. Solo se registra con el sharding activo
+ * (ver {@link ShardedDataSourceConfig}).
+ */
+@Data
+@ConfigurationProperties(prefix = "transaction.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    // El orden importa: la posición en la lista es el número de shard
+    private List<Shard> shards = new ArrayList<>();
+
+    private int poolSize = 10;
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
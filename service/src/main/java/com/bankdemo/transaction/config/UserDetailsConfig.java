@@ -1,5 +1,6 @@
 package com.bankdemo.transaction.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.core.userdetails.User;
@@ -7,19 +8,30 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.util.StringUtils;
 
 @Configuration
 public class UserDetailsConfig {
 
     @Bean
-    public UserDetailsService userDetailsService() {
-        // Este bean solo evita que Spring Security genere un usuario por defecto
-        return new InMemoryUserDetailsManager(
+    public UserDetailsService userDetailsService(
+            @Value("${transaction.jfr.username:ops}") String jfrUsername,
+            @Value("${transaction.jfr.password:}") String jfrPassword) {
+        // El usuario dummy solo evita que Spring Security genere un usuario por defecto
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager(
                 User.withUsername("dummy")
                         .password(passwordEncoder().encode("dummy"))
                         .roles("USER")
                         .build()
         );
+        // Grabaciones JFR: sin contraseña no hay usuario y el endpoint rechaza todas las llamadas
+        if (StringUtils.hasText(jfrPassword)) {
+            users.createUser(User.withUsername(jfrUsername)
+                    .password(passwordEncoder().encode(jfrPassword))
+                    .roles(WebSecurityConfig.JFR_ROLE)
+                    .build());
+        }
+        return users;
     }
 
     @Bean
@@ -0,0 +1,38 @@
+package com.bankdemo.transaction.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuración de {@code transaction.velocity.*} (ver {@code VelocityCheck}).
+ */
+@Data
+@ConfigurationProperties(prefix = "transaction.velocity")
+public class VelocityProperties {
+
+    private boolean enabled;
+
+    private int stripes = 64;
+
+    private int maxAccounts = 100_000;
+
+    // Tramos por ventana: más tramos, ventana más exacta y más memoria por cuenta
+    private int buckets = 10;
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        // Nombre para métricas y mensajes; por defecto la duración de la ventana
+        private String name;
+        private Duration window;
+        // 0 o sin valor: sin límite para esa magnitud
+        private long maxCount;
+        private BigDecimal maxAmount;
+    }
+}
@@ -0,0 +1,51 @@
+package com.bankdemo.transaction.config;
+
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+
+@Configuration
+@EnableWebSecurity
+public class WebSecurityConfig {
+
+    static final String JFR_ROLE = "JFR";
+
+    /**
+     * /actuator/jfr (solo si se expone) descarga volcados del proceso: HTTP Basic con el rol {@link #JFR_ROLE},
+     * que solo tiene el usuario de {@code transaction.jfr.*}. Sin contraseña configurada nadie lo tiene.
+     * Sin sesión: cada llamada lleva sus credenciales y no hay cookie que un tercero pueda aprovechar.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain flightRecorderFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(EndpointRequest.to("jfr"))
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .httpBasic(Customizer.withDefaults())
+                .authorizeHttpRequests(auth -> auth
+                        .anyRequest().hasRole(JFR_ROLE)
+                );
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(2)
+    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        http
+                .csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(auth -> auth
+                        .anyRequest().permitAll()
+                );
+
+        return http.build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.bankdemo.transaction.consumer;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Decide la concurrencia del consumidor de resultados a partir del lag del grupo y de la ocupación de los
+ * pools de conexiones. La saturación de la base de datos manda: con hilos esperando conexión o el pool por
+ * encima de {@code pauseUtilization} se pausa el consumo, y no se reanuda hasta bajar de
+ * {@code resumeUtilization}, para que la escritura de la API HTTP no se quede sin conexiones.
+ *
+ * <p>Sin saturación, con lag por encima de {@code scaleUpLag} se sube a un consumidor por cada
+ * {@code scaleUpLag} mensajes pendientes (sin pasar del número de particiones), y con lag por debajo de
+ * {@code scaleDownLag} se baja de uno en uno. Entre dos cambios pasa al menos {@code cooldownNanos}: cada
+ * cambio reinicia el contenedor y provoca un rebalanceo del grupo.</p>
+ */
+public class ListenerConcurrencyPolicy {
+
+    public enum Action { NONE, PAUSE, RESUME, SCALE }
+
+    public record Decision(Action action, int concurrency) {
+    }
+
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final long scaleUpLag;
+    private final long scaleDownLag;
+    private final long cooldownNanos;
+    private final double pauseUtilization;
+    private final double resumeUtilization;
+    private final LongSupplier nanoClock;
+
+    private long lastScaleNanos;
+    private boolean scaled;
+
+    public ListenerConcurrencyPolicy(int minConcurrency, int maxConcurrency, long scaleUpLag, long scaleDownLag,
+                                     long cooldownNanos, double pauseUtilization, double resumeUtilization,
+                                     LongSupplier nanoClock) {
+        if (resumeUtilization > pauseUtilization) {
+            throw new IllegalArgumentException("La ocupación para reanudar no puede superar la de pausa");
+        }
+        this.minConcurrency = Math.max(1, minConcurrency);
+        this.maxConcurrency = maxConcurrency;
+        this.scaleUpLag = Math.max(1, scaleUpLag);
+        this.scaleDownLag = scaleDownLag;
+        this.cooldownNanos = cooldownNanos;
+        this.pauseUtilization = pauseUtilization;
+        this.resumeUtilization = resumeUtilization;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @param partitions     particiones del topic (0 si no se conocen: no se escala)
+     * @param lag            mensajes pendientes del grupo (negativo si no se pudo medir: no se escala)
+     * @param poolUtilization ocupación máxima entre los pools de escritura (conexiones activas / máximo)
+     * @param threadsAwaiting hilos esperando conexión, sumados entre pools
+     */
+    public synchronized Decision decide(int current, boolean paused, int partitions, long lag,
+                                        double poolUtilization, int threadsAwaiting) {
+        boolean saturated = threadsAwaiting > 0 || poolUtilization >= pauseUtilization;
+        if (paused) {
+            return !saturated && poolUtilization <= resumeUtilization
+                    ? new Decision(Action.RESUME, current) : new Decision(Action.NONE, current);
+        }
+        if (saturated) {
+            return new Decision(Action.PAUSE, current);
+        }
+
+        long now = nanoClock.getAsLong();
+        if (partitions <= 0 || lag < 0 || (scaled && now - lastScaleNanos < cooldownNanos)) {
+            return new Decision(Action.NONE, current);
+        }
+        int max = maxConcurrency > 0 ? Math.min(maxConcurrency, partitions) : partitions;
+        int target = current;
+        // Más consumidores son más conexiones: solo se sube con holgura en los pools
+        if (lag >= scaleUpLag && current < max && poolUtilization < resumeUtilization) {
+            long wanted = (lag + scaleUpLag - 1) / scaleUpLag;
+            target = (int) Math.min(max, Math.max(current + 1, wanted));
+        } else if (lag <= scaleDownLag && current > minConcurrency) {
+            target = current - 1;
+        } else if (current > max) {
+            target = Math.max(minConcurrency, max);
+        }
+
+        if (target == current) {
+            return new Decision(Action.NONE, current);
+        }
+        scaled = true;
+        lastScaleNanos = now;
+        return new Decision(Action.SCALE, target);
+    }
+}
@@ -0,0 +1,230 @@
+package com.bankdemo.transaction.consumer;
+
+import com.bankdemo.transaction.datasource.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ajusta en caliente el consumidor de {@code transaction-results} según {@link ListenerConcurrencyPolicy}:
+ * mide el lag del grupo con el cliente de administración de Kafka y la ocupación de los pools Hikari de
+ * escritura (el principal o los de cada shard; la réplica de lectura no cuenta), y pausa, reanuda o
+ * reinicia el contenedor con otra concurrencia.
+ */
+@Component
+@ConditionalOnProperty(name = "transaction.result-listener.adaptive.enabled", havingValue = "true")
+@Slf4j
+public class ResultListenerScaler {
+
+    static final String REPLICA_POOL_BEAN = "replicaDataSource";
+
+    private final KafkaListenerEndpointRegistry registry;
+    private final ListableBeanFactory beanFactory;
+    private final AdminClient adminClient;
+    private final ListenerConcurrencyPolicy policy;
+    private final String topic;
+    private final String groupId;
+    private final long timeoutMillis;
+
+    private final AtomicLong lastLag = new AtomicLong(-1);
+    private final Counter pauses;
+    private final Counter rescales;
+
+    public ResultListenerScaler(
+            KafkaListenerEndpointRegistry registry,
+            KafkaAdmin kafkaAdmin,
+            ListableBeanFactory beanFactory,
+            MeterRegistry meterRegistry,
+            @Value("${spring.kafka.topic.transaction-results}") String topic,
+            @Value("${spring.kafka.consumer.group-id}") String groupId,
+            @Value("${transaction.result-listener.min-concurrency:1}") int minConcurrency,
+            @Value("${transaction.result-listener.adaptive.max-concurrency:0}") int maxConcurrency,
+            @Value("${transaction.result-listener.adaptive.scale-up-lag:500}") long scaleUpLag,
+            @Value("${transaction.result-listener.adaptive.scale-down-lag:50}") long scaleDownLag,
+            @Value("${transaction.result-listener.adaptive.cooldown-ms:30000}") long cooldownMillis,
+            @Value("${transaction.result-listener.adaptive.pause-pool-utilization:0.9}") double pauseUtilization,
+            @Value("${transaction.result-listener.adaptive.resume-pool-utilization:0.7}") double resumeUtilization,
+            @Value("${transaction.result-listener.adaptive.timeout-ms:2000}") long timeoutMillis) {
+        this.registry = registry;
+        this.beanFactory = beanFactory;
+        this.adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+        this.policy = new ListenerConcurrencyPolicy(minConcurrency, maxConcurrency, scaleUpLag, scaleDownLag,
+                TimeUnit.MILLISECONDS.toNanos(cooldownMillis), pauseUtilization, resumeUtilization, System::nanoTime);
+        this.topic = topic;
+        this.groupId = groupId;
+        this.timeoutMillis = timeoutMillis;
+
+        this.pauses = Counter.builder("transaction.result_listener.pauses")
+                .description("Pausas del consumidor de resultados por saturación de la base de datos")
+                .register(meterRegistry);
+        this.rescales = Counter.builder("transaction.result_listener.rescales")
+                .description("Cambios de concurrencia del consumidor de resultados")
+                .register(meterRegistry);
+        Gauge.builder("transaction.result_listener.lag", lastLag, AtomicLong::get)
+                .description("Mensajes de resultados pendientes del grupo (-1 si no se pudo medir)")
+                .register(meterRegistry);
+        Gauge.builder("transaction.result_listener.concurrency", this, ResultListenerScaler::currentConcurrency)
+                .description("Consumidores activos de transaction-results")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.result-listener.adaptive.check-interval-ms:5000}")
+    public void check() {
+        ConcurrentMessageListenerContainer<?, ?> container = container();
+        if (container == null || !container.isRunning()) {
+            return;
+        }
+
+        double utilization = 0;
+        int awaiting = 0;
+        for (HikariDataSource pool : writePools()) {
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            if (mxBean == null) {
+                continue;
+            }
+            utilization = Math.max(utilization, (double) mxBean.getActiveConnections() / pool.getMaximumPoolSize());
+            awaiting += mxBean.getThreadsAwaitingConnection();
+        }
+
+        int partitions = 0;
+        long lag = -1;
+        try {
+            List<TopicPartition> topicPartitions = partitions();
+            partitions = topicPartitions.size();
+            lag = lag(topicPartitions);
+        } catch (ExecutionException | TimeoutException e) {
+            log.debug("No se pudo medir el lag de {}: {}", topic, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        lastLag.set(lag);
+
+        int current = container.getConcurrency();
+        boolean paused = container.isContainerPaused() || container.isPauseRequested();
+        ListenerConcurrencyPolicy.Decision decision =
+                policy.decide(current, paused, partitions, lag, utilization, awaiting);
+
+        switch (decision.action()) {
+            case PAUSE -> {
+                container.pause();
+                pauses.increment();
+                log.warn("Consumo de resultados en pausa: pools de conexiones saturados (ocupación {}, {} en espera)",
+                        String.format("%.2f", utilization), awaiting);
+            }
+            case RESUME -> {
+                container.resume();
+                log.info("Consumo de resultados reanudado (ocupación {})", String.format("%.2f", utilization));
+            }
+            case SCALE -> {
+                // La concurrencia solo se aplica al arrancar: parada síncrona, cambio y arranque
+                container.stop();
+                container.setConcurrency(decision.concurrency());
+                container.start();
+                rescales.increment();
+                log.info("Concurrencia del consumidor de resultados {} -> {} (lag {}, {} particiones)",
+                        current, decision.concurrency(), lag, partitions);
+            }
+            case NONE -> {
+            }
+        }
+    }
+
+    private int currentConcurrency() {
+        ConcurrentMessageListenerContainer<?, ?> container = container();
+        return container != null ? container.getConcurrency() : 0;
+    }
+
+    private ConcurrentMessageListenerContainer<?, ?> container() {
+        MessageListenerContainer container = registry.getListenerContainer(TransactionResultConsumer.LISTENER_ID);
+        return container instanceof ConcurrentMessageListenerContainer<?, ?> concurrent ? concurrent : null;
+    }
+
+    private List<HikariDataSource> writePools() {
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (ShardRoutingDataSource sharded : beanFactory.getBeansOfType(ShardRoutingDataSource.class).values()) {
+            sharded.getShards().stream()
+                    .filter(HikariDataSource.class::isInstance)
+                    .map(HikariDataSource.class::cast)
+                    .forEach(pools::add);
+        }
+        beanFactory.getBeansOfType(HikariDataSource.class).forEach((name, pool) -> {
+            if (!REPLICA_POOL_BEAN.equals(name)) {
+                pools.add(pool);
+            }
+        });
+        return pools;
+    }
+
+    private List<TopicPartition> partitions() throws ExecutionException, InterruptedException, TimeoutException {
+        Map<String, TopicDescription> topics = adminClient.describeTopics(List.of(topic))
+                .allTopicNames().get(timeoutMillis, TimeUnit.MILLISECONDS);
+        return topics.get(topic).partitions().stream()
+                .map(partition -> new TopicPartition(topic, partition.partition()))
+                .toList();
+    }
+
+    /**
+     * Pendiente por partición desde el offset confirmado del grupo hasta el final. El punto de partida nunca es
+     * anterior al primer offset que conserva la partición: sin offset confirmado el consumidor empieza ahí
+     * (auto-offset-reset: earliest), y un offset confirmado que la retención ya borró también se reinicia ahí.
+     * Contar desde 0 sumaría mensajes eliminados hace tiempo y dispararía el escalado sin carga real.
+     */
+    private long lag(List<TopicPartition> partitions) throws ExecutionException, InterruptedException, TimeoutException {
+        Map<TopicPartition, OffsetAndMetadata> committed = adminClient.listConsumerGroupOffsets(groupId)
+                .partitionsToOffsetAndMetadata().get(timeoutMillis, TimeUnit.MILLISECONDS);
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> starts = listOffsets(partitions, OffsetSpec.earliest());
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> ends = listOffsets(partitions, OffsetSpec.latest());
+
+        long lag = 0;
+        for (Map.Entry<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> end : ends.entrySet()) {
+            OffsetAndMetadata offset = committed.get(end.getKey());
+            ListOffsetsResult.ListOffsetsResultInfo start = starts.get(end.getKey());
+            long earliest = start != null ? start.offset() : 0;
+            long position = offset != null ? Math.max(offset.offset(), earliest) : earliest;
+            lag += Math.max(0, end.getValue().offset() - position);
+        }
+        return lag;
+    }
+
+    private Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> listOffsets(
+            List<TopicPartition> partitions, OffsetSpec spec)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        Map<TopicPartition, OffsetSpec> request = new HashMap<>();
+        partitions.forEach(partition -> request.put(partition, spec));
+        return adminClient.listOffsets(request).all().get(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        adminClient.close();
+    }
+}
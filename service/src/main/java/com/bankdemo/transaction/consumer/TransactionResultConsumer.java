@@ -0,0 +1,118 @@
+package com.bankdemo.transaction.consumer;
+
+import com.bankdemo.transaction.datasource.RecentWriteTracker;
+import com.bankdemo.transaction.model.Transaction;
+import com.bankdemo.transaction.model.Transaction.TransactionStatus;
+import com.bankdemo.transaction.producer.TransactionEventProducer;
+import com.bankdemo.transaction.profiling.ResultProcessingEvent;
+import com.bankdemo.transaction.repository.TransactionRepository;
+import com.bankdemo.transaction.service.AccountHoldLedger;
+import com.bankdemo.transaction.service.AccountRollupService;
+import com.bankdemo.transaction.service.TransactionShardRouter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionResultConsumer {
+
+    // Id del contenedor, para que ResultListenerScaler lo encuentre en el registro
+    public static final String LISTENER_ID = "transactionResults";
+
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+    private final AccountRollupService rollupService;
+    private final AccountHoldLedger holdLedger;
+    private final RecentWriteTracker recentWrites;
+    private final TransactionShardRouter shardRouter;
+    private final TransactionEventProducer eventProducer;
+
+    @KafkaListener(id = LISTENER_ID, topics = "${spring.kafka.topic.transaction-results}",
+            groupId = "${spring.kafka.consumer.group-id}")
+    @Transactional
+    public void processTransactionResult(String message) {
+        try (ResultProcessingEvent event = ResultProcessingEvent.start()) {
+            event.setOutcome(ResultProcessingEvent.ERROR);
+            process(message, event);
+        }
+    }
+
+    /**
+     * Un mensaje ilegible se registra y se descarta. Cualquier fallo después de aplicar el cambio de estado
+     * (lectura, acumulados diarios) se propaga: la transacción del listener se revierte entera y el
+     * manejador de errores del contenedor reintenta el registro. El cambio de estado es condicional, así que
+     * el reintento lo vuelve a aplicar desde cero.
+     */
+    private void process(String message, ResultProcessingEvent event) {
+        log.debug("Received transaction result: {}", message);
+
+        // Parsear mensaje JSON para obtener campos necesarios
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(message);
+        } catch (JsonProcessingException e) {
+            log.error("Error processing transaction result: {}", e.getMessage(), e);
+            return;
+        }
+        Long transactionId = root.path("id").asLong();
+        String status = root.path("status").asText();
+        String errorMessage = root.path("errorMessage").asText();
+        event.setMessage(transactionId, status);
+
+        TransactionStatus target;
+        if ("COMPLETED".equals(status)) {
+            target = TransactionStatus.COMPLETED;
+        } else if ("FAILED".equals(status)) {
+            target = TransactionStatus.FAILED;
+        } else {
+            log.warn("Resultado con estado desconocido para la transacción {}: {}", transactionId, status);
+            event.setOutcome(ResultProcessingEvent.UNKNOWN_STATUS);
+            return;
+        }
+
+        // Cambio de estado condicional en una sola sentencia (en su shard, si hay sharding): un resultado
+        // repetido o que llega cuando la transacción ya está finalizada no modifica nada
+        shardRouter.routeToTransaction(transactionId);
+        int updated = target == TransactionStatus.FAILED
+                ? transactionRepository.transitionStatus(
+                        List.of(transactionId), target.predecessors(), target, errorMessage)
+                : transactionRepository.transitionStatus(transactionId, target.predecessors(), target);
+        if (updated == 0) {
+            log.debug("Resultado ignorado (transacción inexistente o ya finalizada): {} -> {}", transactionId, status);
+            event.setOutcome(ResultProcessingEvent.IGNORED);
+            return;
+        }
+        if (target == TransactionStatus.FAILED) {
+            log.warn("Transaction failed: {} - {}", transactionId, errorMessage);
+        }
+
+        // Solo el primer resultado llega aquí: lectura para los acumulados diarios, que se suman una vez
+        Transaction transaction = transactionRepository.findById(transactionId)
+                .orElseThrow(() -> new RuntimeException("Transacción no encontrada: " + transactionId));
+        recentWrites.recordWrite(transaction);
+        rollupService.recordFinalized(transaction);
+        eventProducer.sendStatusChange(transaction);
+        // Si la confirmación falla el registro se reintenta y la retención debe seguir en pie hasta entonces
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                holdLedger.release(transactionId);
+            }
+        });
+
+        event.setOutcome(ResultProcessingEvent.UPDATED);
+        log.info("Transaction status updated: {} -> {}", transactionId, status);
+    }
+}
@@ -0,0 +1,49 @@
+package com.bankdemo.transaction.controller;
+
+import com.bankdemo.transaction.dto.ScheduledTransferRequestDTO;
+import com.bankdemo.transaction.dto.ScheduledTransferResponseDTO;
+import com.bankdemo.transaction.service.ScheduledTransferService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.util.List;
+
+@RestController
+@RequestMapping("/scheduled-transfers")
+@RequiredArgsConstructor
+public class ScheduledTransferController {
+
+    private final ScheduledTransferService scheduledTransferService;
+
+    @PostMapping
+    public ResponseEntity<ScheduledTransferResponseDTO> createScheduledTransfer(
+            @Valid @RequestBody ScheduledTransferRequestDTO request) {
+        ScheduledTransferResponseDTO response = scheduledTransferService.createScheduledTransfer(request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ScheduledTransferResponseDTO> getScheduledTransfer(@PathVariable Long id) {
+        return ResponseEntity.ok(scheduledTransferService.getScheduledTransfer(id));
+    }
+
+    @GetMapping("/account/{accountId}")
+    public ResponseEntity<List<ScheduledTransferResponseDTO>> getScheduledTransfersByAccount(
+            @PathVariable Long accountId) {
+        return ResponseEntity.ok(scheduledTransferService.getScheduledTransfersByAccount(accountId));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ScheduledTransferResponseDTO> cancelScheduledTransfer(@PathVariable Long id) {
+        return ResponseEntity.ok(scheduledTransferService.cancelScheduledTransfer(id));
+    }
+}
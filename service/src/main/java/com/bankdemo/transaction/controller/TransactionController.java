@@ -0,0 +1,84 @@
+package com.bankdemo.transaction.controller;
+
+import com.bankdemo.transaction.admission.TransactionAdmissionControl;
+import com.bankdemo.transaction.dto.AccountDailySummaryDTO;
+import com.bankdemo.transaction.dto.TransactionRequestDTO;
+import com.bankdemo.transaction.dto.TransactionResponseDTO;
+import com.bankdemo.transaction.dto.TransactionSearchCriteria;
+import com.bankdemo.transaction.dto.TransactionSearchResultDTO;
+import com.bankdemo.transaction.dto.TransactionStatusDTO;
+import com.bankdemo.transaction.dto.TransactionStatusRequestDTO;
+import com.bankdemo.transaction.service.AccountRollupService;
+import com.bankdemo.transaction.service.TransactionService;
+import com.bankdemo.transaction.service.TransactionStatusService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/transactions")
+@RequiredArgsConstructor
+public class TransactionController {
+
+    private final TransactionService transactionService;
+    private final AccountRollupService rollupService;
+    private final TransactionAdmissionControl admissionControl;
+    private final TransactionStatusService statusService;
+
+    @PostMapping
+    public ResponseEntity<TransactionResponseDTO> createTransaction(
+            @Valid @RequestBody TransactionRequestDTO transactionRequest) {
+        TransactionResponseDTO response = admissionControl.admit(
+                transactionRequest.getFromAccount(),
+                () -> transactionService.createTransaction(transactionRequest));
+        // Aceptada en modo diferido: se validará cuando vuelva el servicio de cuentas
+        HttpStatus status = "PENDING".equals(response.getStatus()) ? HttpStatus.ACCEPTED : HttpStatus.CREATED;
+        return new ResponseEntity<>(response, status);
+    }
+
+    // Filtros como parámetros de consulta: cuenta, direccion, status, montoMin, montoMax, desde, hasta, cursor, size
+    @GetMapping("/search")
+    public ResponseEntity<TransactionSearchResultDTO> searchTransactions(TransactionSearchCriteria criteria) {
+        return ResponseEntity.ok(transactionService.searchTransactions(criteria));
+    }
+
+    // Estados de muchas transferencias en una sola petición; los ids inexistentes se omiten
+    @PostMapping("/status")
+    public ResponseEntity<List<TransactionStatusDTO>> getTransactionStatuses(
+            @Valid @RequestBody TransactionStatusRequestDTO request) {
+        return ResponseEntity.ok(statusService.getStatuses(request.getIds()));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<TransactionResponseDTO> getTransaction(@PathVariable Long id) {
+        TransactionResponseDTO transaction = transactionService.getTransaction(id);
+        return ResponseEntity.ok(transaction);
+    }
+
+    @GetMapping("/account/{accountId}")
+    public ResponseEntity<List<TransactionResponseDTO>> getTransactionsByAccount(@PathVariable Long accountId) {
+        List<TransactionResponseDTO> transactions = transactionService.getTransactionsByAccount(accountId);
+        return ResponseEntity.ok(transactions);
+    }
+
+    @GetMapping("/account/{accountId}/summary")
+    public ResponseEntity<List<AccountDailySummaryDTO>> getAccountDailySummary(
+            @PathVariable Long accountId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        List<AccountDailySummaryDTO> summary = rollupService.getDailySummary(accountId, desde, hasta);
+        return ResponseEntity.ok(summary);
+    }
+}
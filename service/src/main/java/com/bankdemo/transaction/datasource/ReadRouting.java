@@ -0,0 +1,40 @@
+package com.bankdemo.transaction.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Marca por hilo para que la transacción de solo lectura en curso use la base principal aunque haya réplica
+ * (lectura de datos recién escritos). Se limpia al terminar la transacción.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    /**
+     * Debe llamarse antes de la primera consulta: la conexión se obtiene de forma diferida, así que hasta
+     * ese momento todavía se puede elegir la base.
+     */
+    public static void usePrimaryForCurrentTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Sin transacción las lecturas ya van a la principal
+            return;
+        }
+        if (PRIMARY_FORCED.get() == null) {
+            PRIMARY_FORCED.set(Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    PRIMARY_FORCED.remove();
+                }
+            });
+        }
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+}
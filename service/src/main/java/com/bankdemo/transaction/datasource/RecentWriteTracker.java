@@ -0,0 +1,65 @@
+package com.bankdemo.transaction.datasource;
+
+import com.bankdemo.transaction.model.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recuerda durante una ventana corta las transacciones y cuentas escritas por este nodo, para que sus lecturas
+ * inmediatas vayan a la principal y no a una réplica que quizá aún no las tiene (read-your-writes).
+ * La ventana debe cubrir el retraso máximo tolerado de la réplica. Sin réplica configurada no hace nada.
+ */
+@Component
+public class RecentWriteTracker {
+
+    private final boolean enabled;
+    private final long windowNanos;
+
+    // Id -> instante (nanoTime) en que deja de considerarse reciente
+    private final ConcurrentMap<Long, Long> recentTransactions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Long> recentAccounts = new ConcurrentHashMap<>();
+
+    public RecentWriteTracker(
+            @Value("${spring.datasource.replica.url:}") String replicaUrl,
+            @Value("${transaction.read-replica.read-your-writes-window-ms:5000}") long windowMillis) {
+        this.enabled = replicaUrl != null && !replicaUrl.isBlank();
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    public void recordWrite(Transaction transaction) {
+        if (!enabled || transaction == null) {
+            return;
+        }
+        long until = System.nanoTime() + windowNanos;
+        if (transaction.getId() != null) {
+            recentTransactions.put(transaction.getId(), until);
+        }
+        recentAccounts.put(transaction.getFromAccount(), until);
+        recentAccounts.put(transaction.getToAccount(), until);
+    }
+
+    public boolean isRecentTransaction(Long transactionId) {
+        return enabled && isRecent(recentTransactions, transactionId);
+    }
+
+    public boolean isRecentAccount(Long accountId) {
+        return enabled && isRecent(recentAccounts, accountId);
+    }
+
+    private boolean isRecent(ConcurrentMap<Long, Long> entries, Long id) {
+        Long until = entries.get(id);
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.read-replica.read-your-writes-window-ms:5000}")
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        recentTransactions.values().removeIf(until -> until - now <= 0);
+        recentAccounts.values().removeIf(until -> until - now <= 0);
+    }
+}
@@ -0,0 +1,98 @@
+package com.bankdemo.transaction.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Comprueba periódicamente el retraso de la réplica. Si supera {@code maxLagSeconds}, no responde o la
+ * replicación está parada, las lecturas vuelven a la principal hasta la siguiente comprobación correcta.
+ *
+ * <p>La consulta de retraso debe devolver los segundos en la columna indicada (en MySQL,
+ * {@code SHOW REPLICA STATUS} y {@code Seconds_Behind_Source}); un valor nulo significa replicación parada.
+ * Sin consulta solo se comprueba que la réplica responda.</p>
+ *
+ * <p>La comprobación comparte el planificador con otras tareas que pueden tardar; si el último resultado tiene
+ * más de {@code maxCheckAgeMillis}, la réplica se da por no apta hasta que vuelva a comprobarse.</p>
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final long maxLagSeconds;
+    private final long maxCheckAgeNanos;
+    private final LongSupplier nanoClock;
+
+    private volatile boolean replicaUsable = true;
+    private volatile long lastLagSeconds;
+    private volatile long lastCheckNanos;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, String lagColumn, long maxLagSeconds,
+                             long maxCheckAgeMillis) {
+        this(replica, lagQuery, lagColumn, maxLagSeconds, maxCheckAgeMillis, System::nanoTime);
+    }
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, String lagColumn, long maxLagSeconds,
+                             long maxCheckAgeMillis, LongSupplier nanoClock) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+        this.maxLagSeconds = maxLagSeconds;
+        this.maxCheckAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxCheckAgeMillis);
+        this.nanoClock = nanoClock;
+        // Hasta la primera comprobación cuenta como recién comprobada, como antes de medir la antigüedad
+        this.lastCheckNanos = nanoClock.getAsLong();
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable && nanoClock.getAsLong() - lastCheckNanos <= maxCheckAgeNanos;
+    }
+
+    public long getLastLagSeconds() {
+        return lastLagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.read-replica.lag-check-interval-ms:1000}")
+    public void check() {
+        boolean usable;
+        try (Connection connection = replica.getConnection()) {
+            if (lagQuery == null || lagQuery.isBlank()) {
+                usable = connection.isValid(2);
+            } else {
+                Long lag = queryLag(connection);
+                lastLagSeconds = lag != null ? lag : -1;
+                usable = lag != null && lag <= maxLagSeconds;
+            }
+        } catch (SQLException e) {
+            log.warn("No se pudo comprobar la réplica: {}", e.getMessage());
+            usable = false;
+        }
+
+        if (usable != replicaUsable) {
+            log.warn(usable ? "Réplica disponible, lecturas de nuevo en réplica"
+                    : "Réplica retrasada o caída (retraso {} s), lecturas a la principal", lastLagSeconds);
+        }
+        replicaUsable = usable;
+        lastCheckNanos = nanoClock.getAsLong();
+    }
+
+    private Long queryLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                return null;
+            }
+            long lag = lagColumn == null || lagColumn.isBlank() ? rs.getLong(1) : rs.getLong(lagColumn);
+            return rs.wasNull() ? null : lag;
+        }
+    }
+}
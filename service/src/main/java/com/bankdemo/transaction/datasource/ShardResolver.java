@@ -0,0 +1,50 @@
+package com.bankdemo.transaction.datasource;
+
+import com.bankdemo.transaction.config.ShardingProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Ubicación de los datos cuando {@code transaction.sharding.enabled} está activo; sin sharding hay un único shard.
+ *
+ * <p>Una transferencia vive en el shard de su cuenta de origen. Cada shard genera ids intercalados
+ * ({@code id ≡ shard + 1 mod N}), así que el id basta para encontrarla. La función de reparto y N forman
+ * parte del dato guardado: cambiar el número de shards exige redistribuir.</p>
+ */
+@Component
+public class ShardResolver {
+
+    private final int shardCount;
+    private final List<Integer> allShards;
+
+    public ShardResolver(ObjectProvider<ShardingProperties> shardingProperties) {
+        ShardingProperties properties = shardingProperties.getIfAvailable();
+        this.shardCount = properties != null ? properties.getShards().size() : 1;
+        this.allShards = IntStream.range(0, shardCount).boxed().toList();
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public List<Integer> allShards() {
+        return allShards;
+    }
+
+    public int shardForAccount(long accountId) {
+        // Mezcla de Fibonacci: cuentas consecutivas no caen en el mismo patrón de shards
+        long mixed = accountId * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(mixed ^ (mixed >>> 32), (long) shardCount);
+    }
+
+    public int shardOfTransaction(long transactionId) {
+        return (int) Math.floorMod(transactionId - 1, (long) shardCount);
+    }
+}
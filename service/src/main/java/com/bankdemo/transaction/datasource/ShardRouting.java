@@ -0,0 +1,71 @@
+package com.bankdemo.transaction.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard elegido por hilo para {@link ShardRoutingDataSource}. Sin marca se usa el shard 0.
+ */
+public final class ShardRouting {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardRouting() {
+    }
+
+    /**
+     * Fija el shard de la transacción en curso y lo limpia al terminar. Como en {@link ReadRouting}, debe
+     * llamarse antes de la primera consulta: la conexión se obtiene de forma diferida.
+     */
+    public static void useForCurrentTransaction(int shard) {
+        Integer current = CURRENT.get();
+        if (current != null) {
+            if (current != shard) {
+                throw new IllegalStateException(
+                        "La transacción ya está asociada al shard " + current + ", no puede usar el " + shard);
+            }
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Se requiere una transacción activa para fijar el shard");
+        }
+        CURRENT.set(shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                CURRENT.remove();
+            }
+        });
+    }
+
+    /**
+     * Ejecuta el trabajo (normalmente una transacción nueva) contra el shard indicado y restaura el anterior.
+     */
+    public static <T> T callOn(int shard, Supplier<T> work) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public static void runOn(int shard, Runnable work) {
+        callOn(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : 0;
+    }
+}
@@ -1,12 +1,12 @@
 package com.bankdemo.transaction.dto;
 
+import com.bankdemo.transaction.model.Money;
 import lombok.Data;
-import java.math.BigDecimal;
 
 @Data
 public class AccountDTO {
 
     private Long id;
     private String nombre;
-    private BigDecimal saldo;
+    private Money saldo;
 }
@@ -0,0 +1,20 @@
+package com.bankdemo.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountDailySummaryDTO {
+
+    private LocalDate fecha;
+    private String direccion;
+    private String status;
+    private Long cantidad;
+    private BigDecimal total;
+}
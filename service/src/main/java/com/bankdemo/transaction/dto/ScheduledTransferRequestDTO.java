@@ -0,0 +1,29 @@
+package com.bankdemo.transaction.dto;
+
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.model.ScheduledTransfer.Frecuencia;
+import lombok.Data;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+@Data
+public class ScheduledTransferRequestDTO {
+
+    @NotNull(message = "La cuenta de origen no puede ser nula")
+    private Long fromAccount;
+
+    @NotNull(message = "La cuenta de destino no puede ser nula")
+    private Long toAccount;
+
+    @NotNull(message = "El monto no puede ser nulo")
+    private Money monto;
+
+    @NotNull(message = "La frecuencia no puede ser nula")
+    private Frecuencia frecuencia;
+
+    @NotNull(message = "La primera ejecución no puede ser nula")
+    private LocalDateTime primeraEjecucion;
+
+    // Opcional: última fecha en la que puede caer una ocurrencia periódica
+    private LocalDateTime hasta;
+}
@@ -0,0 +1,43 @@
+package com.bankdemo.transaction.dto;
+
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.model.ScheduledTransfer;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class ScheduledTransferResponseDTO {
+
+    private Long scheduledTransferId;
+    private String status;
+    private Long fromAccount;
+    private Long toAccount;
+    private Money monto;
+    private String frecuencia;
+    private LocalDateTime primeraEjecucion;
+    private LocalDateTime hasta;
+    private LocalDateTime proximaEjecucion;
+    private Long lastTransactionId;
+    private String errorMessage;
+
+    public static ScheduledTransferResponseDTO from(ScheduledTransfer scheduled) {
+        ScheduledTransferResponseDTO dto = new ScheduledTransferResponseDTO();
+        dto.setScheduledTransferId(scheduled.getId());
+        dto.setStatus(scheduled.getStatus().toString());
+        dto.setFromAccount(scheduled.getFromAccount());
+        dto.setToAccount(scheduled.getToAccount());
+        dto.setMonto(scheduled.getMonto());
+        dto.setFrecuencia(scheduled.getFrecuencia().toString());
+        dto.setPrimeraEjecucion(scheduled.getPrimeraEjecucion());
+        dto.setHasta(scheduled.getHasta());
+        // Terminada o cancelada no hay próxima
+        dto.setProximaEjecucion(scheduled.getStatus() == ScheduledTransfer.ScheduleStatus.ACTIVE
+                ? scheduled.getProximaEjecucion() : null);
+        dto.setLastTransactionId(scheduled.getLastTransactionId());
+        dto.setErrorMessage(scheduled.getErrorMessage());
+        return dto;
+    }
+}
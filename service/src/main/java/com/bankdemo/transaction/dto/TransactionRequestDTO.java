@@ -0,0 +1,25 @@
+package com.bankdemo.transaction.dto;
+
+import com.bankdemo.transaction.model.Money;
+import lombok.Data;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+@Data
+public class TransactionRequestDTO {
+
+    @NotNull(message = "La cuenta de origen no puede ser nula")
+    private Long fromAccount;
+
+    @NotNull(message = "La cuenta de destino no puede ser nula")
+    private Long toAccount;
+
+    @NotNull(message = "El monto no puede ser nulo")
+    private Money monto;
+
+    // Solo se usa si la transferencia se acepta en modo diferido: las de mayor prioridad se reprocesan antes
+    @Min(value = 0, message = "La prioridad mínima es 0")
+    @Max(value = 9, message = "La prioridad máxima es 9")
+    private Integer prioridad;
+}
@@ -0,0 +1,33 @@
+package com.bankdemo.transaction.dto;
+
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.model.Transaction.TransactionStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class TransactionResponseDTO {
+
+    private Long transactionId;
+    private String status;
+    private LocalDateTime fecha;
+    private Long fromAccount;
+    private Long toAccount;
+    private Money monto;
+    private String errorMessage;
+
+    // Usado por las proyecciones JPQL (SELECT new ...), que construyen la respuesta sin cargar entidades
+    public TransactionResponseDTO(Long transactionId, TransactionStatus status, LocalDateTime fecha,
+                                  Long fromAccount, Long toAccount, Money monto, String errorMessage) {
+        this.transactionId = transactionId;
+        this.status = status != null ? status.toString() : null;
+        this.fecha = fecha;
+        this.fromAccount = fromAccount;
+        this.toAccount = toAccount;
+        this.monto = monto;
+        this.errorMessage = errorMessage;
+    }
+}
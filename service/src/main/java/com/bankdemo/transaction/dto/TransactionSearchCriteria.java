@@ -0,0 +1,27 @@
+package com.bankdemo.transaction.dto;
+
+import com.bankdemo.transaction.model.Money;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+public class TransactionSearchCriteria {
+
+    // Contraparte: cuenta de origen o destino según la dirección (SENT, RECEIVED o ambas si es nula)
+    private Long cuenta;
+    private String direccion;
+    private String status;
+    private Money montoMin;
+    private Money montoMax;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate desde;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate hasta;
+
+    // Cursor opaco devuelto por la página anterior
+    private String cursor;
+    private Integer size;
+}
@@ -0,0 +1,18 @@
+package com.bankdemo.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionSearchResultDTO {
+
+    private List<TransactionResponseDTO> items;
+
+    // Nulo en la última página
+    private String nextCursor;
+}
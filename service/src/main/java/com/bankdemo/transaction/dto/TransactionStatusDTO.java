@@ -0,0 +1,17 @@
+package com.bankdemo.transaction.dto;
+
+import com.bankdemo.transaction.model.Transaction.TransactionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Respuesta reducida de la consulta masiva de estados; también la construye la proyección JPQL
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionStatusDTO {
+
+    private Long transactionId;
+    private TransactionStatus status;
+    private String errorMessage;
+}
@@ -0,0 +1,17 @@
+package com.bankdemo.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionStatusRequestDTO {
+
+    @NotEmpty(message = "La lista de ids no puede estar vacía")
+    private List<Long> ids;
+}
@@ -0,0 +1,19 @@
+package com.bankdemo.transaction.exception;
+
+/**
+ * El servicio de cuentas no pudo responder (o la llamada se descartó para protegerlo). No dice nada de la
+ * transferencia: el cliente puede reintentar pasado {@code retryAfterSeconds}.
+ */
+public class AccountServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public AccountServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
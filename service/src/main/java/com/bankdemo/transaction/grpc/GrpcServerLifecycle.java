@@ -0,0 +1,102 @@
+package com.bankdemo.transaction.grpc;
+
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.protobuf.services.ProtoReflectionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor gRPC en su propio puerto ({@code grpc.server.port}), arrancado y parado con el contexto de Spring.
+ * Las llamadas se ejecutan en un pool acotado, porque cada transferencia bloquea en el servicio de cuentas.
+ */
+@Component
+@Slf4j
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private final TransactionGrpcService transactionGrpcService;
+    private final boolean enabled;
+    private final int port;
+    private final int threads;
+    private final long shutdownGraceSeconds;
+
+    private Server server;
+    private ExecutorService executor;
+
+    public GrpcServerLifecycle(
+            TransactionGrpcService transactionGrpcService,
+            @Value("${grpc.server.enabled:true}") boolean enabled,
+            @Value("${grpc.server.port:9090}") int port,
+            @Value("${grpc.server.threads:32}") int threads,
+            @Value("${grpc.server.shutdown-grace-seconds:10}") long shutdownGraceSeconds) {
+        this.transactionGrpcService = transactionGrpcService;
+        this.enabled = enabled;
+        this.port = port;
+        this.threads = threads;
+        this.shutdownGraceSeconds = shutdownGraceSeconds;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!enabled || server != null) {
+            return;
+        }
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "grpc-call-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            server = NettyServerBuilder.forPort(port)
+                    .executor(executor)
+                    .addService(transactionGrpcService)
+                    .addService(ProtoReflectionService.newInstance())
+                    .build()
+                    .start();
+        } catch (IOException e) {
+            executor.shutdownNow();
+            throw new UncheckedIOException("No se pudo arrancar el servidor gRPC en el puerto " + port, e);
+        }
+        log.info("Servidor gRPC escuchando en el puerto {}", server.getPort());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(shutdownGraceSeconds, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdownNow();
+        server = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Puerto real de escucha (útil con {@code grpc.server.port=0}), o -1 si no está arrancado.
+     */
+    public synchronized int getPort() {
+        return server != null ? server.getPort() : -1;
+    }
+}
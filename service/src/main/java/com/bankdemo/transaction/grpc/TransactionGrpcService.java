@@ -0,0 +1,235 @@
+package com.bankdemo.transaction.grpc;
+
+import com.bankdemo.transaction.admission.TransactionAdmissionControl;
+import com.bankdemo.transaction.dto.TransactionRequestDTO;
+import com.bankdemo.transaction.dto.TransactionResponseDTO;
+import com.bankdemo.transaction.dto.TransactionSearchCriteria;
+import com.bankdemo.transaction.dto.TransactionSearchResultDTO;
+import com.bankdemo.transaction.exception.AccountServiceUnavailableException;
+import com.bankdemo.transaction.exception.AdmissionRejectedException;
+import com.bankdemo.transaction.exception.TransactionException;
+import com.bankdemo.transaction.grpc.v1.AccountHistoryRequest;
+import com.bankdemo.transaction.grpc.v1.BulkCreateReply;
+import com.bankdemo.transaction.grpc.v1.BulkItemResult;
+import com.bankdemo.transaction.grpc.v1.CreateTransactionRequest;
+import com.bankdemo.transaction.grpc.v1.GetTransactionRequest;
+import com.bankdemo.transaction.grpc.v1.TransactionReply;
+import com.bankdemo.transaction.grpc.v1.TransactionsGrpc;
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.service.TransactionService;
+import com.google.protobuf.Timestamp;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * Servicio gRPC para sistemas internos. Delega en {@link TransactionService} y pasa por el mismo control de
+ * admisión que {@code POST /transactions}; los importes viajan en centavos.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionGrpcService extends TransactionsGrpc.TransactionsImplBase {
+
+    // Dentro del máximo de transaction.search.max-size
+    private static final int HISTORY_PAGE_SIZE = 200;
+
+    private final TransactionService transactionService;
+    private final TransactionAdmissionControl admissionControl;
+
+    @Override
+    public void createTransaction(CreateTransactionRequest request, StreamObserver<TransactionReply> responseObserver) {
+        try {
+            responseObserver.onNext(toReply(create(request)));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+        }
+    }
+
+    @Override
+    public void getTransaction(GetTransactionRequest request, StreamObserver<TransactionReply> responseObserver) {
+        try {
+            responseObserver.onNext(toReply(transactionService.getTransaction(request.getTransactionId())));
+            responseObserver.onCompleted();
+        } catch (TransactionException e) {
+            responseObserver.onError(Status.NOT_FOUND.withDescription(e.getMessage()).asRuntimeException());
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+        }
+    }
+
+    @Override
+    public StreamObserver<CreateTransactionRequest> bulkCreateTransactions(
+            StreamObserver<BulkCreateReply> responseObserver) {
+        // Cada mensaje se procesa al llegar; el siguiente no se pide hasta terminar, así que el cliente
+        // queda frenado por el control de flujo de HTTP/2 si envía más rápido de lo que se procesa
+        return new StreamObserver<>() {
+            private final BulkCreateReply.Builder reply = BulkCreateReply.newBuilder();
+            private int index;
+
+            @Override
+            public void onNext(CreateTransactionRequest request) {
+                BulkItemResult.Builder result = BulkItemResult.newBuilder().setIndex(index++);
+                try {
+                    result.setTransaction(toReply(create(request)));
+                    reply.setAccepted(reply.getAccepted() + 1);
+                } catch (RuntimeException e) {
+                    Status status = toStatus(e).getStatus();
+                    result.setError(status.getCode() + ": " + status.getDescription());
+                    reply.setRejected(reply.getRejected() + 1);
+                }
+                reply.addResults(result);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.warn("Envío masivo cancelado por el cliente tras {} transferencias: {}", index, t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                responseObserver.onNext(reply.build());
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    @Override
+    public void streamAccountHistory(AccountHistoryRequest request, StreamObserver<TransactionReply> responseObserver) {
+        // El historial se lee por páginas con el cursor de la búsqueda (keyset sobre fecha e id): la siguiente
+        // página solo se pide cuando el cliente ha consumido la anterior, así que nunca está entero en memoria
+        HistoryPages pages = new HistoryPages(request.getAccountId());
+        try {
+            pages.fetch();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+            return;
+        }
+
+        // Se envía solo mientras el cliente puede recibir, para no acumular el historial en buffers
+        ServerCallStreamObserver<TransactionReply> call = (ServerCallStreamObserver<TransactionReply>) responseObserver;
+        boolean[] finished = new boolean[1];
+        call.setOnCancelHandler(() -> log.debug("Historial de la cuenta {} cancelado", request.getAccountId()));
+        call.setOnReadyHandler(() -> {
+            if (finished[0]) {
+                return;
+            }
+            try {
+                while (call.isReady() && !call.isCancelled() && pages.hasNext()) {
+                    call.onNext(toReply(pages.next()));
+                }
+                if (!pages.hasNext() && !call.isCancelled()) {
+                    finished[0] = true;
+                    call.onCompleted();
+                }
+            } catch (RuntimeException e) {
+                finished[0] = true;
+                call.onError(toStatus(e));
+            }
+        });
+    }
+
+    /**
+     * Recorre el historial de una cuenta de más reciente a más antigua, página a página.
+     */
+    private final class HistoryPages {
+        private final Long accountId;
+        private Iterator<TransactionResponseDTO> page = Collections.emptyIterator();
+        private String nextCursor;
+        private boolean lastPage;
+
+        private HistoryPages(Long accountId) {
+            this.accountId = accountId;
+        }
+
+        private void fetch() {
+            TransactionSearchCriteria criteria = new TransactionSearchCriteria();
+            criteria.setCuenta(accountId);
+            criteria.setCursor(nextCursor);
+            criteria.setSize(HISTORY_PAGE_SIZE);
+            TransactionSearchResultDTO result = transactionService.searchTransactions(criteria);
+            page = result.getItems().iterator();
+            nextCursor = result.getNextCursor();
+            lastPage = nextCursor == null;
+        }
+
+        private boolean hasNext() {
+            if (!page.hasNext() && !lastPage) {
+                fetch();
+            }
+            return page.hasNext();
+        }
+
+        private TransactionResponseDTO next() {
+            return page.next();
+        }
+    }
+
+    private TransactionResponseDTO create(CreateTransactionRequest request) {
+        if (request.getFromAccount() <= 0 || request.getToAccount() <= 0) {
+            throw Status.INVALID_ARGUMENT.withDescription("Las cuentas de origen y destino son obligatorias")
+                    .asRuntimeException();
+        }
+        if (request.getMontoCentavos() <= 0) {
+            throw Status.INVALID_ARGUMENT.withDescription("El monto debe ser positivo").asRuntimeException();
+        }
+        if (request.getPrioridad() < 0 || request.getPrioridad() > 9) {
+            throw Status.INVALID_ARGUMENT.withDescription("La prioridad debe estar entre 0 y 9").asRuntimeException();
+        }
+
+        TransactionRequestDTO dto = new TransactionRequestDTO();
+        dto.setFromAccount(request.getFromAccount());
+        dto.setToAccount(request.getToAccount());
+        dto.setMonto(Money.ofMinor(request.getMontoCentavos()));
+        dto.setPrioridad(request.getPrioridad());
+        return admissionControl.admit(dto.getFromAccount(), () -> transactionService.createTransaction(dto));
+    }
+
+    private static TransactionReply toReply(TransactionResponseDTO dto) {
+        TransactionReply.Builder reply = TransactionReply.newBuilder()
+                .setTransactionId(dto.getTransactionId())
+                .setStatus(dto.getStatus())
+                .setFromAccount(dto.getFromAccount())
+                .setToAccount(dto.getToAccount())
+                .setMontoCentavos(dto.getMonto().getMinorUnits());
+        if (dto.getFecha() != null) {
+            reply.setFecha(toTimestamp(dto.getFecha()));
+        }
+        if (dto.getErrorMessage() != null) {
+            reply.setErrorMessage(dto.getErrorMessage());
+        }
+        return reply.build();
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime fecha) {
+        var instant = fecha.atZone(ZoneId.systemDefault()).toInstant();
+        return Timestamp.newBuilder().setSeconds(instant.getEpochSecond()).setNanos(instant.getNano()).build();
+    }
+
+    private static StatusRuntimeException toStatus(RuntimeException e) {
+        if (e instanceof StatusRuntimeException statusException) {
+            return statusException;
+        }
+        if (e instanceof TransactionException) {
+            return Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException();
+        }
+        if (e instanceof AdmissionRejectedException) {
+            return Status.RESOURCE_EXHAUSTED.withDescription(e.getMessage()).asRuntimeException();
+        }
+        if (e instanceof AccountServiceUnavailableException) {
+            return Status.UNAVAILABLE.withDescription(e.getMessage()).asRuntimeException();
+        }
+        log.error("Error en llamada gRPC: {}", e.getMessage(), e);
+        return Status.INTERNAL.withDescription("Error interno del servidor: " + e.getMessage()).asRuntimeException();
+    }
+}
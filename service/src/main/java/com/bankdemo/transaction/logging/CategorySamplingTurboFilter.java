@@ -0,0 +1,126 @@
+package com.bankdemo.transaction.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limita, por categoría (prefijo de logger), cuántos eventos INFO/DEBUG/TRACE por segundo se escriben; el resto
+ * se descarta antes de crear el evento, así que un mensaje muestreado no formatea ni reserva nada.
+ * WARN y ERROR pasan siempre.
+ *
+ * <p>Se configura en {@code logback-spring.xml} con {@code logging.sampling.rates}, una lista
+ * {@code prefijo=eventosPorSegundo} separada por comas; gana el prefijo más largo y 0 descarta la categoría.</p>
+ */
+public class CategorySamplingTurboFilter extends TurboFilter {
+
+    private static final Category UNSAMPLED = new Category("", Integer.MAX_VALUE);
+
+    private final List<Category> categories = new ArrayList<>();
+    // Categoría resuelta por nombre de logger: el prefijo solo se busca la primera vez
+    private final Map<String, Category> byLogger = new ConcurrentHashMap<>();
+
+    public void setRates(String rates) {
+        categories.clear();
+        byLogger.clear();
+        if (rates == null || rates.isBlank()) {
+            return;
+        }
+        for (String entry : rates.split(",")) {
+            int separator = entry.lastIndexOf('=');
+            if (separator <= 0) {
+                addError("Entrada de muestreo no válida (se espera prefijo=eventosPorSegundo): " + entry);
+                continue;
+            }
+            try {
+                categories.add(new Category(entry.substring(0, separator).trim(),
+                        Integer.parseInt(entry.substring(separator + 1).trim())));
+            } catch (NumberFormatException e) {
+                addError("Tasa de muestreo no válida: " + entry);
+            }
+        }
+        categories.sort(Comparator.comparingInt((Category c) -> c.prefix.length()).reversed());
+    }
+
+    public List<Category> getCategories() {
+        return Collections.unmodifiableList(categories);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format nulo: consulta isXxxEnabled(), que no debe gastar cupo
+        if (!isStarted() || format == null || level.levelInt >= Level.WARN_INT
+                || level.levelInt < logger.getEffectiveLevel().levelInt) {
+            return FilterReply.NEUTRAL;
+        }
+        Category category = byLogger.computeIfAbsent(logger.getName(), this::resolve);
+        if (category == UNSAMPLED || category.tryAcquire(System.currentTimeMillis() / 1000L)) {
+            return FilterReply.NEUTRAL;
+        }
+        category.dropped.increment();
+        return FilterReply.DENY;
+    }
+
+    private Category resolve(String loggerName) {
+        for (Category category : categories) {
+            if (loggerName.startsWith(category.prefix)) {
+                return category;
+            }
+        }
+        return UNSAMPLED;
+    }
+
+    public static final class Category {
+
+        private final String prefix;
+        private final int perSecond;
+        // Segundo actual en los 32 bits altos y eventos admitidos en él en los bajos
+        private final AtomicLong window = new AtomicLong();
+        private final LongAdder dropped = new LongAdder();
+
+        Category(String prefix, int perSecond) {
+            this.prefix = prefix;
+            this.perSecond = perSecond;
+        }
+
+        boolean tryAcquire(long epochSecond) {
+            while (true) {
+                long current = window.get();
+                long next;
+                if (current >>> 32 == epochSecond) {
+                    if ((int) current >= perSecond) {
+                        return false;
+                    }
+                    next = current + 1;
+                } else {
+                    if (perSecond <= 0) {
+                        return false;
+                    }
+                    next = (epochSecond << 32) | 1L;
+                }
+                if (window.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        public String getPrefix() {
+            return prefix;
+        }
+
+        public long getDropped() {
+            return dropped.sum();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.bankdemo.transaction.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Expone los eventos descartados por {@link CategorySamplingTurboFilter} como {@code logging.sampled.dropped},
+ * con la categoría como etiqueta.
+ */
+@Component
+public class SampledLoggingMetrics {
+
+    public SampledLoggingMetrics(MeterRegistry meterRegistry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        context.getTurboFilterList().stream()
+                .filter(CategorySamplingTurboFilter.class::isInstance)
+                .map(CategorySamplingTurboFilter.class::cast)
+                .flatMap(filter -> filter.getCategories().stream())
+                .forEach(category -> FunctionCounter.builder("logging.sampled.dropped", category,
+                                CategorySamplingTurboFilter.Category::getDropped)
+                        .tag("category", category.getPrefix())
+                        .description("Eventos de log descartados por muestreo")
+                        .register(meterRegistry));
+    }
+}
@@ -0,0 +1,54 @@
+package com.bankdemo.transaction.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Totales por cuenta, día, dirección (SENT/RECEIVED) y estado final.
+ * Se mantiene de forma incremental desde {@code TransactionResultConsumer}.
+ */
+@Entity
+@Table(name = "account_daily_rollups")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountDailyRollup {
+
+    @EmbeddedId
+    private RollupId id;
+
+    @Column(nullable = false)
+    private Long cantidad;
+
+    @Column(nullable = false)
+    private BigDecimal total;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RollupId implements Serializable {
+
+        @Column(name = "account_id", nullable = false)
+        private Long accountId;
+
+        @Column(nullable = false)
+        private LocalDate dia;
+
+        @Column(nullable = false, length = 10)
+        private String direccion;
+
+        @Column(nullable = false, length = 20)
+        private String status;
+    }
+}
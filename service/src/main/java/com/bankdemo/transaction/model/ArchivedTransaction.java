@@ -1,27 +1,31 @@
 package com.bankdemo.transaction.model;
 
+import com.bankdemo.transaction.model.Transaction.TransactionStatus;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import java.math.BigDecimal;
+import org.hibernate.annotations.Immutable;
+
 import java.time.LocalDateTime;
 
+/**
+ * Transacción finalizada movida a la tabla de archivo por {@code TransactionArchiveService}.
+ * Solo se inserta desde SQL nativo; la entidad existe para las lecturas.
+ */
 @Entity
-@Table(name = "transactions")
+@Immutable
+@Table(name = "transactions_archive")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Transaction {
+public class ArchivedTransaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @Column(name = "from_account", nullable = false)
@@ -31,7 +35,7 @@ public class Transaction {
     private Long toAccount;
 
     @Column(nullable = false)
-    private BigDecimal monto;
+    private Money monto;
 
     @Column(nullable = false)
     private LocalDateTime fecha;
@@ -42,7 +46,6 @@ public class Transaction {
     @Column(name = "error_message")
     private String errorMessage;
 
-    public enum TransactionStatus {
-        PENDING, PROCESSING, COMPLETED, FAILED
-    }
+    @Column(name = "archivado_en", nullable = false)
+    private LocalDateTime archivadoEn;
 }
@@ -0,0 +1,41 @@
+package com.bankdemo.transaction.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrada de la cola de transferencias diferidas. La transacción en sí queda en {@code transactions}
+ * como PENDING; esta fila solo guarda el orden de reproceso y qué nodo la tiene reservada.
+ */
+@Entity
+@Table(name = "deferred_transactions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeferredTransaction {
+    @Id
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @Column(nullable = false)
+    private int prioridad;
+
+    @Column(name = "encolada_en", nullable = false)
+    private LocalDateTime encoladaEn;
+
+    @Column(nullable = false)
+    private int intentos;
+
+    @Column(name = "lease_owner")
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+}
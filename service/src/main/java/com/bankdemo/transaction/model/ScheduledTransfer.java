@@ -0,0 +1,96 @@
+package com.bankdemo.transaction.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transferencia programada: única o periódica. Cada ejecución crea una transferencia normal en
+ * {@code transactions}; esta fila guarda la próxima ocurrencia y qué nodo la tiene cargada (lease).
+ */
+@Entity
+@Table(name = "scheduled_transfers")
+@Data
+@NoArgsConstructor
+public class ScheduledTransfer {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "from_account", nullable = false)
+    private Long fromAccount;
+
+    @Column(name = "to_account", nullable = false)
+    private Long toAccount;
+
+    @Column(nullable = false)
+    private Money monto;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Frecuencia frecuencia;
+
+    @Column(name = "primera_ejecucion", nullable = false)
+    private LocalDateTime primeraEjecucion;
+
+    // Última fecha en la que puede caer una ocurrencia; sin valor, la periódica no termina
+    private LocalDateTime hasta;
+
+    @Column(nullable = false)
+    private int ocurrencia;
+
+    @Column(name = "proxima_ejecucion", nullable = false)
+    private LocalDateTime proximaEjecucion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ScheduleStatus status;
+
+    @Column(name = "lease_owner")
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "last_transaction_id")
+    private Long lastTransactionId;
+
+    @Column(name = "error_message")
+    private String errorMessage;
+
+    // Las ejecuciones van por ScheduledTransferRepository.advance, que también la incrementa
+    @Version
+    private Long version;
+
+    /**
+     * Fecha de la ocurrencia {@code n} (0 es la primera), o null si no existe. Se calcula siempre desde
+     * la primera para que las mensuales no se desplacen: el 31 de enero sigue siendo fin de mes en marzo.
+     */
+    public LocalDateTime occurrence(int n) {
+        LocalDateTime fecha = switch (frecuencia) {
+            case UNICA -> n == 0 ? primeraEjecucion : null;
+            case DIARIA -> primeraEjecucion.plusDays(n);
+            case SEMANAL -> primeraEjecucion.plusWeeks(n);
+            case MENSUAL -> primeraEjecucion.plusMonths(n);
+        };
+        return fecha == null || (hasta != null && fecha.isAfter(hasta)) ? null : fecha;
+    }
+
+    public enum Frecuencia {
+        UNICA, DIARIA, SEMANAL, MENSUAL
+    }
+
+    public enum ScheduleStatus {
+        ACTIVE, FINISHED, CANCELLED
+    }
+}
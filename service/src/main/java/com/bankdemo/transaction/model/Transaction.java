@@ -0,0 +1,69 @@
+package com.bankdemo.transaction.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Entity
+@Table(name = "transactions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Transaction {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "from_account", nullable = false)
+    private Long fromAccount;
+
+    @Column(name = "to_account", nullable = false)
+    private Long toAccount;
+
+    @Column(nullable = false)
+    private Money monto;
+
+    @Column(nullable = false)
+    private LocalDateTime fecha;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionStatus status;
+
+    @Column(name = "error_message")
+    private String errorMessage;
+
+    // Los cambios de estado van por TransactionRepository.transitionStatus, que también la incrementa
+    @Version
+    private Long version;
+
+    public enum TransactionStatus {
+        PENDING, PROCESSING, COMPLETED, FAILED;
+
+        public boolean isFinal() {
+            return this == COMPLETED || this == FAILED;
+        }
+
+        /**
+         * Estados desde los que se puede pasar a este. Una transacción finalizada no cambia más, así que
+         * un resultado repetido o desordenado no encuentra la fila en un estado válido y no modifica nada.
+         */
+        public List<TransactionStatus> predecessors() {
+            return switch (this) {
+                case PENDING -> List.of();
+                case PROCESSING -> List.of(PENDING);
+                case COMPLETED, FAILED -> List.of(PENDING, PROCESSING);
+            };
+        }
+    }
+}
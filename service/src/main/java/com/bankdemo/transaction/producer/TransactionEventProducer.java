@@ -0,0 +1,100 @@
+package com.bankdemo.transaction.producer;
+
+import com.bankdemo.transaction.dto.TransactionResponseDTO;
+import com.bankdemo.transaction.model.Transaction;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionEventProducer {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${spring.kafka.topic.transaction-events}")
+    private String transactionTopic;
+
+    @Value("${spring.kafka.topic.transaction-status:transaction-status}")
+    private String statusTopic;
+
+    public void sendTransactionEvent(Transaction transaction) {
+        try {
+            String transactionAsString = objectMapper.writeValueAsString(transaction);
+            String key = String.valueOf(transaction.getId());
+
+            CompletableFuture<SendResult<String, String>> future =
+                    kafkaTemplate.send(transactionTopic, key, transactionAsString);
+
+            future.whenComplete((result, ex) -> {
+                if (ex == null) {
+                    log.debug("Transaction event sent successfully: {}, partition: {}",
+                            key, result.getRecordMetadata().partition());
+                } else {
+                    log.error("Failed to send transaction event: {}", ex.getMessage(), ex);
+                }
+            });
+
+            log.debug("Transaction event queued for sending: {}", transaction.getId());
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing transaction: {}", e.getMessage(), e);
+            throw new RuntimeException("Error al enviar evento de transacción", e);
+        }
+    }
+
+    /**
+     * Publica el estado actual de la transferencia en el topic compactado de estados, con el id como clave:
+     * quien lo consuma puede mantener el último estado de cada transferencia sin consultar la API.
+     * Usa el mismo productor que los eventos de transacción. El cuerpo tiene la forma de {@code GET /transactions/{id}}.
+     * Un fallo se registra pero no interrumpe el cambio de estado, que ya está en base de datos.
+     *
+     * <p>Dentro de una transacción el cuerpo se toma en el momento de la llamada, pero el envío espera a que
+     * confirme: si se revierte no se publica nada, y el topic no anuncia estados que nunca llegaron a la base.</p>
+     */
+    public void sendStatusChange(Transaction transaction) {
+        String key = String.valueOf(transaction.getId());
+        String status;
+        try {
+            status = objectMapper.writeValueAsString(new TransactionResponseDTO(
+                    transaction.getId(), transaction.getStatus(), transaction.getFecha(), transaction.getFromAccount(),
+                    transaction.getToAccount(), transaction.getMonto(), transaction.getErrorMessage()));
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing status change for transaction {}: {}", key, e.getMessage(), e);
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sendStatus(key, status);
+                }
+            });
+        } else {
+            sendStatus(key, status);
+        }
+    }
+
+    private void sendStatus(String key, String status) {
+        try {
+            kafkaTemplate.send(statusTopic, key, status).whenComplete((result, ex) -> {
+                if (ex != null) {
+                    log.error("Failed to send status change for transaction {}: {}", key, ex.getMessage(), ex);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Error sending status change for transaction {}: {}", key, e.getMessage(), e);
+        }
+    }
+}
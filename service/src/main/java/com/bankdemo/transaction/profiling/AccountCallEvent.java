@@ -0,0 +1,61 @@
+package com.bankdemo.transaction.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR por llamada HTTP al servicio de cuentas, incluida la espera en el limitador de concurrencia.
+ * El código de estado queda a 0 si la llamada terminó con una excepción (RestTemplate convierte los 4xx y 5xx
+ * en excepciones).
+ */
+@Name("com.bankdemo.transaction.AccountCall")
+@Label("Llamada al servicio de cuentas")
+@Description("Llamadas remotas de AccountServiceClient")
+@Category({"Bank Demo", "Servicio de cuentas"})
+@StackTrace(false)
+public class AccountCallEvent extends Event implements AutoCloseable {
+
+    public static final String TOKEN = "token";
+    public static final String GET_ACCOUNT = "consulta";
+    public static final String GET_ACCOUNTS = "consulta-masiva";
+    public static final String VALIDATE = "validacion";
+
+    @Label("Operación")
+    String operation;
+
+    @Label("Cuenta")
+    long accountId;
+
+    @Label("Cuentas")
+    @Description("Cuentas pedidas en la llamada (más de una en la consulta masiva)")
+    int accounts;
+
+    @Label("Código de estado")
+    int statusCode;
+
+    public static AccountCallEvent start(String operation, Long accountId, int accounts) {
+        AccountCallEvent event = new AccountCallEvent();
+        if (event.isEnabled()) {
+            event.operation = operation;
+            event.accountId = accountId != null ? accountId : 0;
+            event.accounts = accounts;
+            event.begin();
+        }
+        return event;
+    }
+
+    public void setStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    @Override
+    public void close() {
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.bankdemo.transaction.profiling;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grabación de JDK Flight Recorder bajo demanda en {@code /actuator/jfr}, para perfilar un nodo en producción
+ * sin herramientas externas:
+ * <ul>
+ *   <li>{@code POST} inicia una grabación ({@code settings}: {@code default} o {@code profile};
+ *       {@code durationSeconds}, como máximo {@code transaction.jfr.max-duration-seconds}).</li>
+ *   <li>{@code GET} informa de la grabación en curso.</li>
+ *   <li>{@code DELETE} la detiene (si sigue activa) y devuelve el fichero {@code .jfr}.</li>
+ * </ul>
+ * Solo hay una grabación a la vez. Además de los eventos del JDK incluye los de este paquete: etapas de
+ * creación de transferencias, llamadas al servicio de cuentas y procesamiento de resultados. Los eventos del
+ * JDK con el entorno, las propiedades de sistema o líneas de comando se desactivan siempre.
+ *
+ * <p>No se expone por defecto. Al añadirlo a {@code management.endpoints.web.exposure.include} exige HTTP Basic
+ * con el usuario de {@code transaction.jfr.username}/{@code password} (ver {@code WebSecurityConfig}).</p>
+ */
+@Component
+@WebEndpoint(id = "jfr")
+@Slf4j
+public class FlightRecorderEndpoint {
+
+    static final String RECORDING_NAME = "transaction-service";
+    private static final String DEFAULT_SETTINGS = "default";
+
+    // Eventos del JDK que copian al fichero variables de entorno, propiedades de sistema y líneas de comando
+    // (la del propio proceso y las de los demás): ahí suelen viajar contraseñas y credenciales
+    private static final List<String> EXCLUDED_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty",
+            "jdk.JVMInformation",
+            "jdk.SystemProcess");
+
+    private final Duration maxDuration;
+    private final long maxSizeBytes;
+
+    private Recording recording;
+    private String recordingSettings;
+
+    public FlightRecorderEndpoint(
+            @Value("${transaction.jfr.max-duration-seconds:600}") long maxDurationSeconds,
+            @Value("${transaction.jfr.max-size-mb:256}") long maxSizeMb) {
+        this.maxDuration = Duration.ofSeconds(maxDurationSeconds);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("settings", recordingSettings);
+        status.put("startTime", recording.getStartTime());
+        status.put("duration", recording.getDuration());
+        status.put("size", recording.getSize());
+        return status;
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable String settings,
+                                                                      @Nullable Long durationSeconds) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(status(), 409);
+        }
+
+        String settingsName = settings != null ? settings : DEFAULT_SETTINGS;
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (IOException | ParseException e) {
+            return new WebEndpointResponse<>(Map.of("error", "Configuración JFR no válida: " + settingsName), 400);
+        }
+
+        // Una grabación terminada y no descargada se descarta
+        discard();
+        Duration duration = durationSeconds != null && durationSeconds > 0
+                ? Duration.ofSeconds(Math.min(durationSeconds, maxDuration.getSeconds()))
+                : maxDuration;
+        Map<String, String> eventSettings = new HashMap<>(configuration.getSettings());
+        EXCLUDED_EVENTS.forEach(event -> eventSettings.put(event + "#enabled", "false"));
+        Recording started = new Recording(eventSettings);
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.setMaxSize(maxSizeBytes);
+        started.setDuration(duration);
+        started.start();
+
+        recording = started;
+        recordingSettings = settingsName;
+        log.info("Grabación JFR iniciada (configuración {}, duración máxima {})", settingsName, duration);
+        return new WebEndpointResponse<>(status(), 200);
+    }
+
+    @DeleteOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> stop() throws IOException {
+        if (recording == null || recording.getState() == RecordingState.NEW) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+
+        Path file = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        } finally {
+            discard();
+        }
+        log.info("Grabación JFR detenida: {} bytes", Files.size(file));
+        return new WebEndpointResponse<>(new TemporaryFileSystemResource(file), 200);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        discard();
+    }
+
+    private void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+            recordingSettings = null;
+        }
+    }
+
+    /**
+     * El fichero volcado se borra al terminar de enviarlo.
+     */
+    private static final class TemporaryFileSystemResource extends FileSystemResource {
+
+        private TemporaryFileSystemResource(Path file) {
+            super(file);
+            file.toFile().deleteOnExit();
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.bankdemo.transaction.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR por mensaje de {@code transaction-results} procesado. Cubre el cuerpo del listener; la confirmación
+ * de la transacción de base de datos ocurre después y no está incluida.
+ */
+@Name("com.bankdemo.transaction.ResultProcessing")
+@Label("Procesamiento de resultado")
+@Description("Mensajes de resultado procesados por TransactionResultConsumer")
+@Category({"Bank Demo", "Kafka"})
+@StackTrace(false)
+public class ResultProcessingEvent extends Event implements AutoCloseable {
+
+    public static final String UPDATED = "actualizada";
+    public static final String IGNORED = "ignorada";
+    public static final String UNKNOWN_STATUS = "estado-desconocido";
+    public static final String ERROR = "error";
+
+    @Label("Transacción")
+    long transactionId;
+
+    @Label("Estado")
+    String status;
+
+    @Label("Resultado")
+    String outcome;
+
+    public static ResultProcessingEvent start() {
+        ResultProcessingEvent event = new ResultProcessingEvent();
+        if (event.isEnabled()) {
+            event.begin();
+        }
+        return event;
+    }
+
+    public void setMessage(Long transactionId, String status) {
+        this.transactionId = transactionId != null ? transactionId : 0;
+        this.status = status;
+    }
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+
+    @Override
+    public void close() {
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
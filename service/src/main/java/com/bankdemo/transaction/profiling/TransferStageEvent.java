@@ -0,0 +1,49 @@
+package com.bankdemo.transaction.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR por etapa de {@code createTransaction}. Se usa con try-with-resources: la duración cubre el bloque
+ * y se registra también si la etapa lanza una excepción. Sin grabación activa no se registra nada.
+ */
+@Name("com.bankdemo.transaction.TransferStage")
+@Label("Etapa de transferencia")
+@Description("Duración de cada etapa de la creación de una transferencia")
+@Category({"Bank Demo", "Transferencias"})
+@StackTrace(false)
+public class TransferStageEvent extends Event implements AutoCloseable {
+
+    public static final String VELOCITY = "velocidad";
+    public static final String DEFERRAL = "diferida";
+    public static final String VALIDATION = "validacion";
+    public static final String PERSISTENCE = "persistencia";
+    public static final String PUBLICATION = "publicacion";
+
+    @Label("Etapa")
+    String stage;
+
+    @Label("Cuenta de origen")
+    long fromAccount;
+
+    public static TransferStageEvent start(String stage, Long fromAccount) {
+        TransferStageEvent event = new TransferStageEvent();
+        if (event.isEnabled()) {
+            event.stage = stage;
+            event.fromAccount = fromAccount != null ? fromAccount : 0;
+            event.begin();
+        }
+        return event;
+    }
+
+    @Override
+    public void close() {
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.bankdemo.transaction.repository;
+
+import com.bankdemo.transaction.model.AccountDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AccountDailyRollupRepository extends JpaRepository<AccountDailyRollup, AccountDailyRollup.RollupId> {
+
+    @Query("SELECT r FROM AccountDailyRollup r WHERE r.id.accountId = :accountId "
+            + "AND r.id.dia BETWEEN :desde AND :hasta ORDER BY r.id.dia DESC")
+    List<AccountDailyRollup> findByAccountAndDiaBetween(@Param("accountId") Long accountId,
+                                                        @Param("desde") LocalDate desde,
+                                                        @Param("hasta") LocalDate hasta);
+
+    // Upsert atómico: evita la carrera de leer-sumar-guardar entre particiones del consumidor
+    @Modifying
+    @Query(value = "INSERT INTO account_daily_rollups (account_id, dia, direccion, status, cantidad, total) "
+            + "VALUES (:accountId, :dia, :direccion, :status, 1, :monto) "
+            + "ON DUPLICATE KEY UPDATE cantidad = cantidad + 1, total = total + VALUES(total)",
+            nativeQuery = true)
+    int increment(@Param("accountId") Long accountId,
+                  @Param("dia") LocalDate dia,
+                  @Param("direccion") String direccion,
+                  @Param("status") String status,
+                  @Param("monto") BigDecimal monto);
+}
@@ -0,0 +1,35 @@
+package com.bankdemo.transaction.repository;
+
+import com.bankdemo.transaction.dto.TransactionResponseDTO;
+import com.bankdemo.transaction.dto.TransactionStatusDTO;
+import com.bankdemo.transaction.model.ArchivedTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedTransactionRepository extends JpaRepository<ArchivedTransaction, Long> {
+
+    // Copia las filas directamente en la base de datos, sin hidratar entidades
+    @Modifying
+    @Query(value = "INSERT INTO transactions_archive "
+            + "(id, from_account, to_account, monto, fecha, status, error_message, archivado_en) "
+            + "SELECT id, from_account, to_account, monto, fecha, status, error_message, CURRENT_TIMESTAMP "
+            + "FROM transactions WHERE id IN (:ids)", nativeQuery = true)
+    int copyFromTransactions(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.bankdemo.transaction.dto.TransactionResponseDTO("
+            + "a.id, a.status, a.fecha, a.fromAccount, a.toAccount, a.monto, a.errorMessage) "
+            + "FROM ArchivedTransaction a WHERE a.id = :id")
+    Optional<TransactionResponseDTO> findResponseById(@Param("id") Long id);
+
+    @Query("SELECT new com.bankdemo.transaction.dto.TransactionStatusDTO(a.id, a.status, a.errorMessage) "
+            + "FROM ArchivedTransaction a WHERE a.id IN :ids")
+    List<TransactionStatusDTO> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+}
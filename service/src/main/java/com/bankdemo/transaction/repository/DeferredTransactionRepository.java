@@ -0,0 +1,63 @@
+package com.bankdemo.transaction.repository;
+
+import com.bankdemo.transaction.model.DeferredTransaction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DeferredTransactionRepository extends JpaRepository<DeferredTransaction, Long> {
+
+    // Mayor prioridad primero y, a igual prioridad, las más antiguas; solo las que ningún nodo tiene reservadas
+    @Query("SELECT d.transactionId FROM DeferredTransaction d WHERE d.leaseUntil IS NULL OR d.leaseUntil < :now "
+            + "ORDER BY d.prioridad DESC, d.encoladaEn ASC")
+    List<Long> findNextBatch(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT d.transactionId FROM DeferredTransaction d WHERE d.encoladaEn < :cutoff "
+            + "AND (d.leaseUntil IS NULL OR d.leaseUntil < :now)")
+    List<Long> findExpiredIds(@Param("cutoff") LocalDateTime cutoff,
+                              @Param("now") LocalDateTime now,
+                              Pageable pageable);
+
+    // Como en ScheduledTransferRepository.claim: la condición va en la misma sentencia, así que de dos nodos
+    // que compiten por una entrada solo uno la actualiza
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE DeferredTransaction d SET d.leaseOwner = :token, d.leaseUntil = :until "
+            + "WHERE d.transactionId IN :ids AND (d.leaseUntil IS NULL OR d.leaseUntil < :now)")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("token") String token,
+              @Param("until") LocalDateTime until,
+              @Param("now") LocalDateTime now);
+
+    @Query("SELECT d.transactionId FROM DeferredTransaction d WHERE d.transactionId IN :ids "
+            + "AND d.leaseOwner = :token ORDER BY d.prioridad DESC, d.encoladaEn ASC")
+    List<Long> findClaimedIds(@Param("ids") Collection<Long> ids, @Param("token") String token);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM DeferredTransaction d WHERE d.transactionId = :id AND d.leaseOwner = :token")
+    int deleteClaimed(@Param("id") Long id, @Param("token") String token);
+
+    // Expiración: solo si nadie la está reprocesando
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM DeferredTransaction d WHERE d.transactionId = :id "
+            + "AND (d.leaseUntil IS NULL OR d.leaseUntil < :now)")
+    int deleteUnclaimed(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Reproceso revertido: un intento más y la entrada queda libre para la próxima ronda
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE DeferredTransaction d SET d.intentos = d.intentos + 1, d.leaseOwner = NULL, d.leaseUntil = NULL "
+            + "WHERE d.transactionId = :id AND d.leaseOwner = :token")
+    int requeue(@Param("id") Long id, @Param("token") String token);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE DeferredTransaction d SET d.leaseOwner = NULL, d.leaseUntil = NULL "
+            + "WHERE d.transactionId IN :ids AND d.leaseOwner = :token")
+    int releaseLeases(@Param("ids") Collection<Long> ids, @Param("token") String token);
+}
@@ -0,0 +1,73 @@
+package com.bankdemo.transaction.repository;
+
+import com.bankdemo.transaction.model.ScheduledTransfer;
+import com.bankdemo.transaction.model.ScheduledTransfer.ScheduleStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ScheduledTransferRepository extends JpaRepository<ScheduledTransfer, Long> {
+
+    List<ScheduledTransfer> findByFromAccountOrderByProximaEjecucionAsc(Long fromAccount);
+
+    // Activas que vencen antes del horizonte y que ningún nodo tiene cargadas (o cuyo lease caducó)
+    @Query("SELECT s.id FROM ScheduledTransfer s WHERE s.status = 'ACTIVE' AND s.proximaEjecucion < :horizon "
+            + "AND (s.leaseUntil IS NULL OR s.leaseUntil < :now) ORDER BY s.proximaEjecucion")
+    List<Long> findClaimableIds(@Param("horizon") LocalDateTime horizon,
+                                @Param("now") LocalDateTime now,
+                                Pageable pageable);
+
+    // Reparto entre nodos: la condición se evalúa en la misma sentencia, así que de dos nodos que compiten
+    // por una fila solo uno la actualiza. El token identifica la ronda de carga del nodo
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ScheduledTransfer s SET s.leaseOwner = :token, s.leaseUntil = :until "
+            + "WHERE s.id IN :ids AND s.status = 'ACTIVE' AND (s.leaseUntil IS NULL OR s.leaseUntil < :now)")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("token") String token,
+              @Param("until") LocalDateTime until,
+              @Param("now") LocalDateTime now);
+
+    List<ScheduledTransfer> findByIdInAndLeaseOwner(Collection<Long> ids, String leaseOwner);
+
+    /**
+     * Consume la ocurrencia: solo la aplica el nodo que conserva el lease y si no se canceló entretanto.
+     * Devuelve 0 si otro nodo ya la tomó.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ScheduledTransfer s SET s.ocurrencia = :ocurrencia, s.proximaEjecucion = :proxima, "
+            + "s.status = :status, s.errorMessage = :errorMessage, s.leaseOwner = NULL, s.leaseUntil = NULL, "
+            + "s.version = s.version + 1 WHERE s.id = :id AND s.leaseOwner = :token AND s.status = 'ACTIVE'")
+    int advance(@Param("id") Long id,
+                @Param("token") String token,
+                @Param("ocurrencia") int ocurrencia,
+                @Param("proxima") LocalDateTime proxima,
+                @Param("status") ScheduleStatus status,
+                @Param("errorMessage") String errorMessage);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ScheduledTransfer s SET s.lastTransactionId = :transactionId WHERE s.id = :id")
+    int recordTransaction(@Param("id") Long id, @Param("transactionId") Long transactionId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ScheduledTransfer s SET s.leaseOwner = NULL, s.leaseUntil = NULL "
+            + "WHERE s.id = :id AND s.leaseOwner = :token")
+    int releaseLease(@Param("id") Long id, @Param("token") String token);
+
+    // Al parar el nodo: todos sus tokens empiezan por el id del nodo
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ScheduledTransfer s SET s.leaseOwner = NULL, s.leaseUntil = NULL WHERE s.leaseOwner LIKE :prefix")
+    int releaseLeasesByPrefix(@Param("prefix") String prefix);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ScheduledTransfer s SET s.status = 'CANCELLED', s.leaseOwner = NULL, s.leaseUntil = NULL, "
+            + "s.version = s.version + 1 WHERE s.id = :id AND s.status = 'ACTIVE'")
+    int cancel(@Param("id") Long id);
+}
@@ -0,0 +1,67 @@
+package com.bankdemo.transaction.repository;
+
+import com.bankdemo.transaction.dto.TransactionResponseDTO;
+import com.bankdemo.transaction.dto.TransactionStatusDTO;
+import com.bankdemo.transaction.model.Transaction;
+import com.bankdemo.transaction.model.Transaction.TransactionStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionSearchRepository {
+
+    String RESPONSE_PROJECTION = "SELECT new com.bankdemo.transaction.dto.TransactionResponseDTO("
+            + "t.id, t.status, t.fecha, t.fromAccount, t.toAccount, t.monto, t.errorMessage) FROM Transaction t ";
+
+    List<Transaction> findByFromAccountOrToAccountOrderByFechaDesc(Long fromAccount, Long toAccount);
+
+    // Lecturas para la API: el resultado va directo al DTO, sin entidades gestionadas ni copias para dirty-checking
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE_PROJECTION + "WHERE t.fromAccount = :accountId OR t.toAccount = :accountId ORDER BY t.fecha DESC")
+    List<TransactionResponseDTO> findResponsesByAccount(@Param("accountId") Long accountId);
+
+    @Query(RESPONSE_PROJECTION + "WHERE t.id = :id")
+    Optional<TransactionResponseDTO> findResponseById(@Param("id") Long id);
+
+    @Query("SELECT new com.bankdemo.transaction.dto.TransactionStatusDTO(t.id, t.status, t.errorMessage) "
+            + "FROM Transaction t WHERE t.id IN :ids")
+    List<TransactionStatusDTO> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t.id FROM Transaction t WHERE t.status IN :statuses AND t.fecha < :cutoff ORDER BY t.fecha")
+    List<Long> findIdsByStatusInAndFechaBefore(@Param("statuses") Collection<TransactionStatus> statuses,
+                                               @Param("cutoff") LocalDateTime cutoff,
+                                               Pageable pageable);
+
+    // Cambios de estado en una sola sentencia: solo se aplican si la fila está en uno de los estados 'from'
+    // (ver TransactionStatus.predecessors). Devuelven 0 si el cambio ya no es válido
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Transaction t SET t.status = :to, t.version = t.version + 1 "
+            + "WHERE t.id = :id AND t.status IN :from")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("from") Collection<TransactionStatus> from,
+                         @Param("to") TransactionStatus to);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Transaction t SET t.status = :to, t.errorMessage = :errorMessage, t.version = t.version + 1 "
+            + "WHERE t.id IN :ids AND t.status IN :from")
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+                         @Param("from") Collection<TransactionStatus> from,
+                         @Param("to") TransactionStatus to,
+                         @Param("errorMessage") String errorMessage);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Transaction t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,15 @@
+package com.bankdemo.transaction.repository;
+
+import com.bankdemo.transaction.model.Transaction;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TransactionSearchRepository {
+
+    /**
+     * Primeras {@code limit} transacciones que cumplen la especificación, por fecha e id descendentes.
+     * A diferencia de {@code findAll(spec, pageable)} no lanza la consulta de conteo.
+     */
+    List<Transaction> searchNewestFirst(Specification<Transaction> spec, int limit);
+}
@@ -0,0 +1,51 @@
+package com.bankdemo.transaction.repository;
+
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.model.Transaction;
+import com.bankdemo.transaction.model.Transaction.TransactionStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    public static Specification<Transaction> fromAccount(Long accountId) {
+        return (root, query, cb) -> cb.equal(root.get("fromAccount"), accountId);
+    }
+
+    public static Specification<Transaction> toAccount(Long accountId) {
+        return (root, query, cb) -> cb.equal(root.get("toAccount"), accountId);
+    }
+
+    public static Specification<Transaction> hasStatus(TransactionStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Transaction> montoAtLeast(Money min) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.<Money>get("monto"), min);
+    }
+
+    public static Specification<Transaction> montoAtMost(Money max) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.<Money>get("monto"), max);
+    }
+
+    public static Specification<Transaction> fechaFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("fecha"), from);
+    }
+
+    public static Specification<Transaction> fechaBefore(LocalDateTime before) {
+        return (root, query, cb) -> cb.lessThan(root.get("fecha"), before);
+    }
+
+    /**
+     * Posición estrictamente posterior al cursor en el orden (fecha DESC, id DESC).
+     */
+    public static Specification<Transaction> after(LocalDateTime fecha, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("fecha"), fecha),
+                cb.and(cb.equal(root.get("fecha"), fecha), cb.lessThan(root.get("id"), id)));
+    }
+}
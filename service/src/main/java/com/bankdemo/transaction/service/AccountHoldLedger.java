@@ -0,0 +1,154 @@
+package com.bankdemo.transaction.service;
+
+import com.bankdemo.transaction.model.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Libro local de retenciones: suma, por cuenta de origen, los débitos de transferencias aún no finalizadas
+ * (PENDING/PROCESSING) de este nodo. Si el débito nuevo más lo retenido queda dentro de la parte del saldo
+ * recién consultado que corresponde a este nodo, la transferencia se aprueba sin llamar a
+ * {@code validateAccount}; en caso contrario se valida en remoto como siempre.
+ *
+ * <p>Las retenciones son por instancia y ningún nodo ve lo que aprueban los demás, así que el margen
+ * ({@code max-utilization} del saldo) se reparte entre {@code instances} nodos: cada uno aprueba en local como
+ * mucho {@code max-utilization / instances}, y entre todos nunca más de {@code max-utilization}. El valor debe
+ * ser al menos el número real de réplicas, contando las que conviven durante un despliegue; con menos, varios
+ * nodos podrían aprobar juntos más que el saldo.
+ * Los importes se guardan en centavos ({@code long}), los mismos de {@link Money}.</p>
+ */
+@Component
+@Slf4j
+public class AccountHoldLedger {
+
+    private final boolean enabled;
+    private final double maxUtilization;
+    private final long holdTtlNanos;
+
+    // Retenido por cuenta; las actualizaciones usan compute(), que bloquea solo la entrada de esa cuenta
+    private final ConcurrentMap<Long, Long> pendingByAccount = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Hold> holdsByTransaction = new ConcurrentHashMap<>();
+
+    private final Counter localApprovals;
+    private final Counter remoteValidations;
+
+    public AccountHoldLedger(
+            MeterRegistry meterRegistry,
+            @Value("${transaction.hold-ledger.enabled:false}") boolean enabled,
+            @Value("${transaction.hold-ledger.max-utilization:0.5}") double maxUtilization,
+            @Value("${transaction.hold-ledger.instances:1}") int instances,
+            @Value("${transaction.hold-ledger.hold-ttl-minutes:30}") long holdTtlMinutes) {
+        if (instances < 1) {
+            throw new IllegalArgumentException("El número de instancias debe ser al menos 1: " + instances);
+        }
+        this.enabled = enabled;
+        // Parte del saldo que este nodo puede retener sin validar en remoto
+        this.maxUtilization = maxUtilization / instances;
+        this.holdTtlNanos = TimeUnit.MINUTES.toNanos(holdTtlMinutes);
+
+        this.localApprovals = Counter.builder("transaction.hold_ledger.decisions")
+                .tag("result", "local")
+                .description("Transferencias aprobadas con el libro local, sin validación remota")
+                .register(meterRegistry);
+        this.remoteValidations = Counter.builder("transaction.hold_ledger.decisions")
+                .tag("result", "remote")
+                .description("Transferencias que requirieron validación remota")
+                .register(meterRegistry);
+        Gauge.builder("transaction.hold_ledger.accounts", pendingByAccount, ConcurrentMap::size)
+                .description("Cuentas con débitos retenidos")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reserva el importe si cabe, con lo ya retenido, en la parte del saldo consultado que corresponde a este nodo.
+     *
+     * @return la retención, o {@code null} si hay que validar en remoto
+     */
+    public Hold tryReserve(Long accountId, Money balanceSnapshot, Money amount) {
+        if (!enabled || balanceSnapshot == null) {
+            return null;
+        }
+
+        long amountMinor = amount.getMinorUnits();
+        long headroomMinor = (long) (balanceSnapshot.getMinorUnits() * maxUtilization);
+        boolean[] reserved = new boolean[1];
+
+        pendingByAccount.compute(accountId, (id, pending) -> {
+            long current = pending != null ? pending : 0L;
+            if (current + amountMinor <= headroomMinor) {
+                reserved[0] = true;
+                return current + amountMinor;
+            }
+            return pending;
+        });
+
+        if (!reserved[0]) {
+            remoteValidations.increment();
+            return null;
+        }
+        localApprovals.increment();
+        return new Hold(accountId, amountMinor, System.nanoTime());
+    }
+
+    /**
+     * Registra una retención ya validada en remoto, para que cuente en las decisiones siguientes.
+     */
+    public Hold reserve(Long accountId, Money amount) {
+        if (!enabled) {
+            return null;
+        }
+        long amountMinor = amount.getMinorUnits();
+        pendingByAccount.merge(accountId, amountMinor, Long::sum);
+        return new Hold(accountId, amountMinor, System.nanoTime());
+    }
+
+    public void bind(Long transactionId, Hold hold) {
+        if (hold != null && transactionId != null) {
+            holdsByTransaction.put(transactionId, hold);
+        }
+    }
+
+    /**
+     * Libera la retención de una transferencia finalizada. Es idempotente: los resultados repetidos no hacen nada.
+     */
+    public void release(Long transactionId) {
+        Hold hold = holdsByTransaction.remove(transactionId);
+        if (hold != null) {
+            release(hold);
+        }
+    }
+
+    public void release(Hold hold) {
+        if (hold == null) {
+            return;
+        }
+        pendingByAccount.computeIfPresent(hold.accountId(), (id, pending) -> {
+            long remaining = pending - hold.amountMinor();
+            return remaining > 0 ? remaining : null;
+        });
+    }
+
+    // Red de seguridad si un resultado nunca llega: la retención no puede bloquear la cuenta para siempre
+    @Scheduled(fixedDelayString = "${transaction.hold-ledger.sweep-interval-ms:60000}")
+    public void expireStaleHolds() {
+        long now = System.nanoTime();
+        holdsByTransaction.forEach((transactionId, hold) -> {
+            if (now - hold.createdAtNanos() > holdTtlNanos && holdsByTransaction.remove(transactionId, hold)) {
+                release(hold);
+                log.warn("Retención de la transacción {} expirada sin resultado", transactionId);
+            }
+        });
+    }
+
+    public record Hold(Long accountId, long amountMinor, long createdAtNanos) {
+    }
+}
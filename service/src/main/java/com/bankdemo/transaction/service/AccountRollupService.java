@@ -0,0 +1,92 @@
+package com.bankdemo.transaction.service;
+
+import com.bankdemo.transaction.dto.AccountDailySummaryDTO;
+import com.bankdemo.transaction.exception.TransactionException;
+import com.bankdemo.transaction.model.AccountDailyRollup;
+import com.bankdemo.transaction.model.Transaction;
+import com.bankdemo.transaction.repository.AccountDailyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountRollupService {
+
+    public static final String SENT = "SENT";
+    public static final String RECEIVED = "RECEIVED";
+
+    private final AccountDailyRollupRepository rollupRepository;
+    private final TransactionShardRouter shardRouter;
+
+    @Value("${transaction.rollup.default-days:30}")
+    private int defaultDays;
+
+    @Value("${transaction.rollup.max-days:366}")
+    private int maxDays;
+
+    /**
+     * Suma la transacción finalizada a los acumulados diarios de ambas cuentas.
+     * Debe llamarse una sola vez por transacción, al pasar a COMPLETED o FAILED.
+     */
+    @Transactional
+    public void recordFinalized(Transaction transaction) {
+        LocalDate dia = transaction.getFecha().toLocalDate();
+        String status = transaction.getStatus().toString();
+
+        rollupRepository.increment(transaction.getFromAccount(), dia, SENT, status, transaction.getMonto().toBigDecimal());
+        rollupRepository.increment(transaction.getToAccount(), dia, RECEIVED, status, transaction.getMonto().toBigDecimal());
+
+        log.debug("Acumulados diarios actualizados para transacción {}", transaction.getId());
+    }
+
+    @Transactional(readOnly = true)
+    public List<AccountDailySummaryDTO> getDailySummary(Long accountId, LocalDate desde, LocalDate hasta) {
+        LocalDate end = hasta != null ? hasta : LocalDate.now();
+        LocalDate start = desde != null ? desde : end.minusDays(defaultDays - 1L);
+
+        if (start.isAfter(end)) {
+            throw new TransactionException("La fecha inicial no puede ser posterior a la fecha final");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= maxDays) {
+            throw new TransactionException("El rango máximo del resumen es de " + maxDays + " días");
+        }
+
+        // Con sharding, los RECEIVED de la cuenta están en el shard de cada cuenta de origen
+        List<AccountDailyRollup> rollups = shardRouter.isSharded()
+                ? sumShards(shardRouter.fanOut(shardRouter.shardsForAccount(accountId),
+                        shard -> rollupRepository.findByAccountAndDiaBetween(accountId, start, end)))
+                : rollupRepository.findByAccountAndDiaBetween(accountId, start, end);
+
+        return rollups.stream()
+                .map(rollup -> new AccountDailySummaryDTO(
+                        rollup.getId().getDia(),
+                        rollup.getId().getDireccion(),
+                        rollup.getId().getStatus(),
+                        rollup.getCantidad(),
+                        rollup.getTotal()))
+                .collect(Collectors.toList());
+    }
+
+    private List<AccountDailyRollup> sumShards(List<List<AccountDailyRollup>> perShard) {
+        Map<AccountDailyRollup.RollupId, AccountDailyRollup> byKey = new LinkedHashMap<>();
+        perShard.forEach(rollups -> rollups.forEach(rollup -> byKey.merge(rollup.getId(),
+                new AccountDailyRollup(rollup.getId(), rollup.getCantidad(), rollup.getTotal()),
+                (a, b) -> new AccountDailyRollup(a.getId(), a.getCantidad() + b.getCantidad(),
+                        a.getTotal().add(b.getTotal())))));
+        return byKey.values().stream()
+                .sorted(Comparator.comparing((AccountDailyRollup rollup) -> rollup.getId().getDia()).reversed())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,80 @@
+package com.bankdemo.transaction.service;
+
+import com.bankdemo.transaction.datasource.ShardResolver;
+import com.bankdemo.transaction.datasource.ShardRouting;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registra en el shard de cada cuenta qué otros shards guardan transferencias hacia ella
+ * ({@code account_credit_shards}), para que el historial consulte solo esos y no todos.
+ */
+@Component
+public class CreditShardLocator {
+
+    private static final int MAX_KNOWN = 100_000;
+
+    private final ShardResolver shardResolver;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+    private final TransactionTemplate readOnlyTransaction;
+
+    // Pares cuenta/shard ya registrados por este nodo: evita repetir la escritura en cada transferencia
+    private final Set<Known> known = ConcurrentHashMap.newKeySet();
+
+    public CreditShardLocator(ShardResolver shardResolver, JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager) {
+        this.shardResolver = shardResolver;
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Anota que {@code shard} tiene abonos para la cuenta. Se llama antes de guardar la transferencia, en su
+     * propia transacción: si algo falla después, sobra una entrada, pero nunca falta.
+     */
+    public void recordCredit(Long toAccount, int shard) {
+        int home = shardResolver.shardForAccount(toAccount);
+        Known key = new Known(toAccount, shard);
+        if (home == shard || known.contains(key)) {
+            return;
+        }
+        ShardRouting.runOn(home, () -> newTransaction.executeWithoutResult(status -> {
+            try {
+                jdbcTemplate.update("INSERT INTO account_credit_shards (account_id, shard) SELECT ?, ? FROM DUAL "
+                                + "WHERE NOT EXISTS (SELECT 1 FROM account_credit_shards WHERE account_id = ? AND shard = ?)",
+                        toAccount, shard, toAccount, shard);
+            } catch (DuplicateKeyException e) {
+                // Otro nodo la registró a la vez
+            }
+        }));
+        if (known.size() >= MAX_KNOWN) {
+            known.clear();
+        }
+        known.add(key);
+    }
+
+    /**
+     * Shards distintos del propio con abonos para la cuenta.
+     */
+    public List<Integer> creditShards(Long accountId) {
+        return ShardRouting.callOn(shardResolver.shardForAccount(accountId), () -> readOnlyTransaction.execute(status ->
+                jdbcTemplate.queryForList("SELECT shard FROM account_credit_shards WHERE account_id = ?",
+                        Integer.class, accountId)));
+    }
+
+    private record Known(Long accountId, int shard) {
+    }
+}
@@ -0,0 +1,267 @@
+package com.bankdemo.transaction.service;
+
+import com.bankdemo.transaction.datasource.ShardResolver;
+import com.bankdemo.transaction.datasource.ShardRouting;
+import com.bankdemo.transaction.exception.TransactionException;
+import com.bankdemo.transaction.model.Transaction.TransactionStatus;
+import com.bankdemo.transaction.producer.TransactionEventProducer;
+import com.bankdemo.transaction.repository.DeferredTransactionRepository;
+import com.bankdemo.transaction.repository.TransactionRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Reprocesa la cola de transferencias diferidas cuando el circuito "accountService" deja de estar abierto.
+ * Toma lotes por prioridad y antigüedad y los valida con concurrencia acotada; en semiabierto va de una en
+ * una para no tumbar de nuevo al servicio de cuentas. Las entradas que superan {@code max-age-minutes}
+ * se marcan FAILED sin validar. Con sharding, cada shard tiene su cola y se toma un lote de cada uno.
+ *
+ * <p>Con varios nodos, cada ronda reserva su lote con un UPDATE condicional y un token propio (como
+ * {@link ScheduledTransferEngine}) y el reproceso solo sigue si la entrada sigue reservada con ese token.
+ * Una reserva de un nodo caído caduca tras {@code lease-ms}.</p>
+ */
+@Component
+@Slf4j
+public class DeferredTransactionDrainer {
+
+    private static final String EXPIRED_MESSAGE = "Transferencia diferida expirada sin poder validarse";
+
+    private final DeferredTransactionQueue queue;
+    private final DeferredTransactionRepository deferredRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionServiceImpl transactionService;
+    private final TransactionEventProducer eventProducer;
+    private final AccountRollupService rollupService;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardResolver shardResolver;
+    private final int batchSize;
+    private final int concurrency;
+    private final long maxAgeMinutes;
+    private final long leaseMillis;
+    private final String nodeId = ScheduledTransferEngine.defaultNodeId();
+    private final AtomicLong drainRounds = new AtomicLong();
+    private final ExecutorService executor;
+
+    private final Counter replayed;
+    private final Counter requeued;
+    private final Counter expired;
+
+    public DeferredTransactionDrainer(
+            DeferredTransactionQueue queue,
+            DeferredTransactionRepository deferredRepository,
+            TransactionRepository transactionRepository,
+            TransactionServiceImpl transactionService,
+            TransactionEventProducer eventProducer,
+            AccountRollupService rollupService,
+            TransactionTemplate transactionTemplate,
+            ShardResolver shardResolver,
+            MeterRegistry meterRegistry,
+            @Value("${transaction.deferred.batch-size:100}") int batchSize,
+            @Value("${transaction.deferred.concurrency:4}") int concurrency,
+            @Value("${transaction.deferred.max-age-minutes:60}") long maxAgeMinutes,
+            @Value("${transaction.deferred.lease-ms:60000}") long leaseMillis) {
+        this.queue = queue;
+        this.deferredRepository = deferredRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionService = transactionService;
+        this.eventProducer = eventProducer;
+        this.rollupService = rollupService;
+        this.transactionTemplate = transactionTemplate;
+        this.shardResolver = shardResolver;
+        this.batchSize = batchSize;
+        this.concurrency = Math.max(1, concurrency);
+        this.maxAgeMinutes = maxAgeMinutes;
+        this.leaseMillis = leaseMillis;
+        this.executor = Executors.newFixedThreadPool(this.concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "deferred-drainer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.replayed = Counter.builder("transaction.deferred.replayed")
+                .description("Transferencias diferidas que salieron de la cola")
+                .register(meterRegistry);
+        this.requeued = Counter.builder("transaction.deferred.requeued")
+                .description("Reprocesos aplazados porque el servicio de cuentas seguía sin responder")
+                .register(meterRegistry);
+        this.expired = Counter.builder("transaction.deferred.expired")
+                .description("Transferencias diferidas descartadas por superar la edad máxima")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.deferred.drain-interval-ms:5000}")
+    public void drain() {
+        if (!queue.isEnabled()) {
+            return;
+        }
+        for (int shard : shardResolver.allShards()) {
+            ShardRouting.runOn(shard, this::expireOldEntries);
+        }
+
+        CircuitBreaker circuitBreaker = queue.accountServiceCircuitBreaker();
+        if (!probe(circuitBreaker)) {
+            return;
+        }
+
+        String token = nodeId + "#" + drainRounds.incrementAndGet();
+        List<Long> ids = new ArrayList<>();
+        for (int shard : shardResolver.allShards()) {
+            ids.addAll(ShardRouting.callOn(shard, () -> claimNextBatch(token)));
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        int permits = circuitBreaker.getState() == CircuitBreaker.State.HALF_OPEN ? 1 : concurrency;
+        log.info("Reprocesando {} transferencias diferidas (concurrencia {})", ids.size(), permits);
+
+        Semaphore slots = new Semaphore(permits);
+        List<Future<?>> pending = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            // Si el circuito vuelve a abrirse a mitad de lote, lo que queda se libera para la próxima ronda
+            if (queue.isAccountServiceUnavailable()) {
+                release(ids.subList(i, ids.size()), token);
+                break;
+            }
+            Long id = ids.get(i);
+            slots.acquireUninterruptibly();
+            pending.add(executor.submit(() -> {
+                try {
+                    replay(id, token);
+                } finally {
+                    slots.release();
+                }
+            }));
+        }
+        awaitAll(pending);
+    }
+
+    private List<Long> claimNextBatch(String token) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plus(Duration.ofMillis(leaseMillis));
+        return transactionTemplate.execute(status -> {
+            List<Long> candidates = deferredRepository.findNextBatch(now, PageRequest.of(0, batchSize));
+            if (candidates.isEmpty()) {
+                return List.of();
+            }
+            deferredRepository.claim(candidates, token, leaseUntil, now);
+            return deferredRepository.findClaimedIds(candidates, token);
+        });
+    }
+
+    private void replay(Long id, String token) {
+        try {
+            if (transactionService.replayDeferred(id, token)) {
+                replayed.increment();
+            }
+        } catch (TransactionException e) {
+            // Reprocesada y confirmada, pero el evento no salió: la transferencia ya quedó FAILED
+            replayed.increment();
+            log.warn("Transacción diferida {} fallida al publicar: {}", id, e.getMessage());
+        } catch (RuntimeException e) {
+            // El reproceso se revirtió: la entrada sigue en la cola con un intento más, ya sin reservar
+            ShardRouting.runOn(shardResolver.shardOfTransaction(id),
+                    () -> transactionTemplate.executeWithoutResult(status -> deferredRepository.requeue(id, token)));
+            requeued.increment();
+            log.debug("Transacción diferida {} sigue en cola: {}", id, e.getMessage());
+        }
+    }
+
+    private void release(List<Long> ids, String token) {
+        ids.stream().collect(Collectors.groupingBy(shardResolver::shardOfTransaction))
+                .forEach((shard, shardIds) -> ShardRouting.runOn(shard, () -> transactionTemplate.executeWithoutResult(
+                        status -> deferredRepository.releaseLeases(shardIds, token))));
+    }
+
+    /**
+     * Con el circuito abierto no se reprocesa nada. La transición a semiabierto solo ocurre al pedir permiso,
+     * y con la creación en modo diferido nadie más lo pide: se solicita uno y se devuelve sin usarlo.
+     */
+    private boolean probe(CircuitBreaker circuitBreaker) {
+        CircuitBreaker.State state = circuitBreaker.getState();
+        if (state == CircuitBreaker.State.FORCED_OPEN) {
+            return false;
+        }
+        if (state == CircuitBreaker.State.OPEN) {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return false;
+            }
+            circuitBreaker.releasePermission();
+        }
+        return true;
+    }
+
+    private void expireOldEntries() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minusMinutes(maxAgeMinutes);
+        List<Long> ids;
+        do {
+            ids = deferredRepository.findExpiredIds(cutoff, now, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                return;
+            }
+            List<Long> batch = ids;
+            Integer removed = transactionTemplate.execute(status -> {
+                int count = 0;
+                for (Long id : batch) {
+                    // Una entrada que otro nodo acaba de reservar para reprocesarla no se expira
+                    if (deferredRepository.deleteUnclaimed(id, now) == 0) {
+                        continue;
+                    }
+                    count++;
+                    // Solo las que siguen pendientes según la propia sentencia: una que otro nodo reprocesó
+                    // o expiró entre la consulta y la actualización no cambia y no se publica
+                    if (transactionRepository.transitionStatus(List.of(id),
+                            List.of(TransactionStatus.PENDING), TransactionStatus.FAILED, EXPIRED_MESSAGE) > 0) {
+                        transactionRepository.findById(id).ifPresent(transaction -> {
+                            rollupService.recordFinalized(transaction);
+                            eventProducer.sendStatusChange(transaction);
+                        });
+                    }
+                }
+                return count;
+            });
+            if (removed != null && removed > 0) {
+                expired.increment(removed);
+                log.warn("{} transferencias diferidas expiradas", removed);
+            }
+        } while (ids.size() == batchSize);
+    }
+
+    private void awaitAll(List<Future<?>> futures) {
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.error("Error reprocesando transferencia diferida: {}", e.getCause().getMessage(), e.getCause());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
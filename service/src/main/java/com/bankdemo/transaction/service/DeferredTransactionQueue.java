@@ -0,0 +1,98 @@
+package com.bankdemo.transaction.service;
+
+import com.bankdemo.transaction.dto.TransactionRequestDTO;
+import com.bankdemo.transaction.model.DeferredTransaction;
+import com.bankdemo.transaction.model.Transaction;
+import com.bankdemo.transaction.model.Transaction.TransactionStatus;
+import com.bankdemo.transaction.repository.DeferredTransactionRepository;
+import com.bankdemo.transaction.repository.TransactionRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Modo degradado de aceptación diferida: con el circuito "accountService" abierto, las transferencias con
+ * forma válida se guardan como PENDING junto con una entrada en {@code deferred_transactions}, en lugar de
+ * rechazarse. {@link DeferredTransactionDrainer} las valida y publica cuando el servicio de cuentas vuelve.
+ *
+ * <p>Desactivado por defecto ({@code transaction.deferred.enabled}).</p>
+ */
+@Component
+@Slf4j
+public class DeferredTransactionQueue {
+
+    private final TransactionRepository transactionRepository;
+    private final DeferredTransactionRepository deferredRepository;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final boolean enabled;
+    private final Counter enqueued;
+
+    public DeferredTransactionQueue(
+            TransactionRepository transactionRepository,
+            DeferredTransactionRepository deferredRepository,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${transaction.deferred.enabled:false}") boolean enabled) {
+        this.transactionRepository = transactionRepository;
+        this.deferredRepository = deferredRepository;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.enabled = enabled;
+
+        this.enqueued = Counter.builder("transaction.deferred.enqueued")
+                .description("Transferencias aceptadas en modo diferido")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean shouldDefer() {
+        return enabled && isAccountServiceUnavailable();
+    }
+
+    public boolean isAccountServiceUnavailable() {
+        CircuitBreaker.State state = accountServiceCircuitBreaker().getState();
+        return state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    CircuitBreaker accountServiceCircuitBreaker() {
+        return circuitBreakerRegistry.circuitBreaker("accountService");
+    }
+
+    /**
+     * Guarda la transferencia como PENDING y la encola; debe llamarse dentro de la transacción de creación
+     * para que ambas filas se confirmen juntas.
+     */
+    public Transaction enqueue(TransactionRequestDTO request) {
+        Transaction transaction = new Transaction();
+        transaction.setFromAccount(request.getFromAccount());
+        transaction.setToAccount(request.getToAccount());
+        transaction.setMonto(request.getMonto());
+        transaction.setFecha(LocalDateTime.now());
+        transaction.setStatus(TransactionStatus.PENDING);
+        Transaction saved = transactionRepository.save(transaction);
+
+        int prioridad = request.getPrioridad() != null ? request.getPrioridad() : 0;
+        deferredRepository.save(new DeferredTransaction(saved.getId(), prioridad, saved.getFecha(), 0, null, null));
+        enqueued.increment();
+
+        log.info("Transacción {} aceptada en modo diferido (prioridad {})", saved.getId(), prioridad);
+        return saved;
+    }
+
+    /**
+     * Saca de la cola la transferencia reservada con {@code token}; se llama al empezar la transacción del
+     * reproceso. Devuelve false si la reserva ya no es de este nodo (caducó y la tomó otro, o expiró).
+     * Si el reproceso se revierte, la entrada vuelve a la cola con la reserva.
+     */
+    public boolean take(Long transactionId, String token) {
+        return deferredRepository.deleteClaimed(transactionId, token) > 0;
+    }
+}
@@ -0,0 +1,136 @@
+package com.bankdemo.transaction.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Rueda de temporización (hashed timing wheel): {@code wheelSize} casillas de {@code tickMillis} cada una.
+ * Un elemento va a la casilla {@code tick % wheelSize} de su vencimiento con las vueltas que le faltan, así
+ * que programar cuesta O(1) sea cual sea el número de pendientes y cada tick solo recorre una casilla.
+ *
+ * <p>Un único hilo avanza la rueda y es el único que toca las casillas; los elementos nuevos entran por
+ * una cola concurrente. Los vencidos en un tick se entregan juntos a {@code onExpired}, en ese mismo hilo,
+ * que debe pasarlos a otro ejecutor si su trabajo es lento. La precisión es de un tick.</p>
+ */
+@Slf4j
+public class HashedTimingWheel<T> {
+
+    private final long tickNanos;
+    private final int mask;
+    private final List<List<Entry<T>>> slots;
+    private final Queue<Entry<T>> additions = new ConcurrentLinkedQueue<>();
+    private final Consumer<List<T>> onExpired;
+    private final AtomicInteger size = new AtomicInteger();
+    private final Thread worker;
+    private final long startNanos;
+
+    private volatile boolean running = true;
+    private long tick;
+
+    public HashedTimingWheel(String name, long tickMillis, int wheelSize, Consumer<List<T>> onExpired) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis y wheelSize deben ser positivos");
+        }
+        // Tamaño potencia de dos: la casilla se obtiene con una máscara
+        int slotCount = wheelSize == 1 ? 1 : Integer.highestOneBit((wheelSize - 1) << 1);
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.mask = slotCount - 1;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new ArrayList<>());
+        }
+        this.onExpired = onExpired;
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, name + "-wheel");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Programa {@code item} para dentro de {@code delayMillis}; con retraso cero o negativo vence en el próximo tick.
+     */
+    public void schedule(T item, long delayMillis) {
+        long deadline = System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis));
+        size.incrementAndGet();
+        additions.add(new Entry<>(item, deadline));
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            long wakeUp = (tick + 1) * tickNanos - (System.nanoTime() - startNanos);
+            if (wakeUp > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wakeUp);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        return;
+                    }
+                }
+            }
+            transferAdditions();
+            List<T> expired = expire(slots.get((int) (tick & mask)));
+            tick++;
+            if (!expired.isEmpty()) {
+                size.addAndGet(-expired.size());
+                try {
+                    onExpired.accept(expired);
+                } catch (RuntimeException e) {
+                    log.error("Error entregando {} elementos vencidos: {}", expired.size(), e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private void transferAdditions() {
+        Entry<T> entry;
+        while ((entry = additions.poll()) != null) {
+            // Los ya vencidos van a la casilla del tick actual
+            long ticks = Math.max(entry.deadline / tickNanos, tick);
+            entry.remainingRounds = (ticks - tick) / slots.size();
+            slots.get((int) (ticks & mask)).add(entry);
+        }
+    }
+
+    private List<T> expire(List<Entry<T>> slot) {
+        List<T> expired = new ArrayList<>();
+        Iterator<Entry<T>> iterator = slot.iterator();
+        while (iterator.hasNext()) {
+            Entry<T> entry = iterator.next();
+            if (entry.remainingRounds <= 0) {
+                iterator.remove();
+                expired.add(entry.item);
+            } else {
+                entry.remainingRounds--;
+            }
+        }
+        return expired;
+    }
+
+    private static final class Entry<T> {
+        private final T item;
+        private final long deadline;
+        private long remainingRounds;
+
+        private Entry(T item, long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+    }
+}
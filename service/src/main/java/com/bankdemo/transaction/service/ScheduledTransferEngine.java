@@ -0,0 +1,260 @@
+package com.bankdemo.transaction.service;
+
+import com.bankdemo.transaction.datasource.ShardResolver;
+import com.bankdemo.transaction.datasource.ShardRouting;
+import com.bankdemo.transaction.exception.AccountServiceUnavailableException;
+import com.bankdemo.transaction.exception.AdmissionRejectedException;
+import com.bankdemo.transaction.exception.TransactionException;
+import com.bankdemo.transaction.model.ScheduledTransfer;
+import com.bankdemo.transaction.repository.ScheduledTransferRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Motor de transferencias programadas. Cada {@code load-interval-ms} carga por lotes las que vencen dentro de
+ * {@code lookahead-ms}, las reserva con un lease y las programa en una {@link HashedTimingWheel}; al vencer,
+ * cada ocurrencia se ejecuta en un pool acotado con el camino normal de creación de transferencias.
+ *
+ * <p>Varios nodos comparten la tabla sin ejecutar dos veces la misma ocurrencia: la reserva es un UPDATE
+ * condicional (solo filas sin lease o con el lease caducado) con un token por ronda de carga, y la ejecución
+ * avanza la ocurrencia con otro UPDATE que exige ese mismo token. Si un nodo se retrasa hasta perder el lease
+ * y otro la reserva, el primero ya no encuentra su token y no hace nada. Con un nodo caído, sus reservas
+ * caducan tras {@code lease-ms} y las recoge otro. Con sharding, cada shard se carga por separado.</p>
+ */
+@Component
+@Slf4j
+public class ScheduledTransferEngine {
+
+    record Due(Long id, String token) {
+    }
+
+    private final ScheduledTransferRepository repository;
+    private final ScheduledTransferService scheduledTransferService;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardResolver shardResolver;
+    private final boolean enabled;
+    private final long lookaheadMillis;
+    private final long leaseMillis;
+    private final int batchSize;
+    private final int maxLoaded;
+    private final String nodeId;
+    private final AtomicLong loadRounds = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final HashedTimingWheel<Due> wheel;
+    private final ExecutorService executor;
+
+    private final Counter executed;
+    private final Counter failed;
+    private final Counter skipped;
+
+    public ScheduledTransferEngine(
+            ScheduledTransferRepository repository,
+            ScheduledTransferService scheduledTransferService,
+            TransactionTemplate transactionTemplate,
+            ShardResolver shardResolver,
+            MeterRegistry meterRegistry,
+            @Value("${transaction.scheduled.enabled:false}") boolean enabled,
+            @Value("${transaction.scheduled.tick-ms:100}") long tickMillis,
+            @Value("${transaction.scheduled.wheel-size:512}") int wheelSize,
+            @Value("${transaction.scheduled.lookahead-ms:60000}") long lookaheadMillis,
+            @Value("${transaction.scheduled.lease-ms:120000}") long leaseMillis,
+            @Value("${transaction.scheduled.batch-size:200}") int batchSize,
+            @Value("${transaction.scheduled.max-loaded:50000}") int maxLoaded,
+            @Value("${transaction.scheduled.concurrency:4}") int concurrency,
+            @Value("${transaction.scheduled.node-id:}") String nodeId) {
+        this.repository = repository;
+        this.scheduledTransferService = scheduledTransferService;
+        this.transactionTemplate = transactionTemplate;
+        this.shardResolver = shardResolver;
+        this.enabled = enabled;
+        this.lookaheadMillis = lookaheadMillis;
+        this.leaseMillis = leaseMillis;
+        this.batchSize = batchSize;
+        this.maxLoaded = maxLoaded;
+        this.nodeId = StringUtils.hasText(nodeId) ? nodeId : defaultNodeId();
+        this.wheel = enabled ? new HashedTimingWheel<>("scheduled-transfers", tickMillis, wheelSize, this::dispatch) : null;
+        this.executor = enabled
+                ? Executors.newFixedThreadPool(Math.max(1, concurrency), runnable -> {
+                    Thread thread = new Thread(runnable, "scheduled-transfers");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+
+        this.executed = Counter.builder("transaction.scheduled.executed")
+                .description("Ocurrencias programadas que crearon una transferencia")
+                .register(meterRegistry);
+        this.failed = Counter.builder("transaction.scheduled.failed")
+                .description("Ocurrencias programadas rechazadas por validación")
+                .register(meterRegistry);
+        this.skipped = Counter.builder("transaction.scheduled.skipped")
+                .description("Ocurrencias descartadas porque otro nodo las tomó o se cancelaron")
+                .register(meterRegistry);
+        Gauge.builder("transaction.scheduled.loaded", inFlight, AtomicInteger::get)
+                .description("Ocurrencias reservadas por este nodo pendientes de ejecutar")
+                .register(meterRegistry);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.scheduled.load-interval-ms:10000}")
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        for (int shard : shardResolver.allShards()) {
+            try {
+                ShardRouting.runOn(shard, this::loadShard);
+            } catch (RuntimeException e) {
+                log.error("Error cargando transferencias programadas del shard {}: {}", shard, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void loadShard() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime horizon = now.plus(Duration.ofMillis(lookaheadMillis));
+        LocalDateTime leaseUntil = horizon.plus(Duration.ofMillis(leaseMillis));
+
+        while (inFlight.get() < maxLoaded) {
+            int capacity = Math.min(batchSize, maxLoaded - inFlight.get());
+            List<Long> ids = transactionTemplate.execute(status ->
+                    repository.findClaimableIds(horizon, now, PageRequest.of(0, capacity)));
+            if (ids == null || ids.isEmpty()) {
+                return;
+            }
+
+            String token = nodeId + "#" + loadRounds.incrementAndGet();
+            List<ScheduledTransfer> claimed = transactionTemplate.execute(status -> {
+                repository.claim(ids, token, leaseUntil, now);
+                return repository.findByIdInAndLeaseOwner(ids, token);
+            });
+            for (ScheduledTransfer scheduled : claimed) {
+                inFlight.incrementAndGet();
+                wheel.schedule(new Due(scheduled.getId(), token),
+                        Duration.between(LocalDateTime.now(), scheduled.getProximaEjecucion()).toMillis());
+            }
+            log.debug("Reservadas {} de {} transferencias programadas (token {})", claimed.size(), ids.size(), token);
+
+            if (ids.size() < capacity) {
+                return;
+            }
+        }
+    }
+
+    // Hilo de la rueda: solo reparte, la ejecución va al pool
+    private void dispatch(List<Due> due) {
+        for (Due occurrence : due) {
+            executor.execute(() -> {
+                try {
+                    execute(occurrence);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    void execute(Due due) {
+        try {
+            Long transactionId = scheduledTransferService.executeOccurrence(due.id(), due.token(), LocalDateTime.now());
+            if (transactionId != null) {
+                executed.increment();
+                log.info("Transferencia programada {} ejecutada: transacción {}", due.id(), transactionId);
+            } else {
+                skipped.increment();
+            }
+        } catch (TransactionException e) {
+            // Rechazo de negocio: la creación se revirtió junto con el avance, se anota el error y se pasa a la
+            // siguiente ocurrencia. Si el rechazo llegó al publicar, tras confirmar, la ocurrencia ya avanzó
+            // con la transferencia FAILED y el lease ya no es de este nodo: no se anota nada más
+            if (scheduledTransferService.recordFailure(due.id(), due.token(), LocalDateTime.now(), e.getMessage())) {
+                failed.increment();
+                log.warn("Transferencia programada {} rechazada: {}", due.id(), e.getMessage());
+            } else {
+                log.warn("Transferencia programada {} ejecutada con error: {}", due.id(), e.getMessage());
+            }
+        } catch (AccountServiceUnavailableException e) {
+            // Fallo transitorio del servicio de cuentas, no un rechazo: la ocurrencia sigue pendiente y se
+            // reintenta en la próxima carga
+            log.info("Transferencia programada {} aplazada, servicio de cuentas no disponible: {}",
+                    due.id(), e.getMessage());
+            releaseLease(due);
+        } catch (AdmissionRejectedException e) {
+            // Límite de velocidad de la cuenta: se reintenta en la próxima carga, cuando la ventana tenga hueco
+            log.info("Transferencia programada {} aplazada: {}", due.id(), e.getMessage());
+            releaseLease(due);
+        } catch (RuntimeException e) {
+            log.error("Error ejecutando transferencia programada {}: {}", due.id(), e.getMessage(), e);
+            releaseLease(due);
+        }
+    }
+
+    private void releaseLease(Due due) {
+        try {
+            scheduledTransferService.releaseLease(due.id(), due.token());
+        } catch (RuntimeException e) {
+            log.warn("No se pudo liberar el lease de {}; caducará solo: {}", due.id(), e.getMessage());
+        }
+    }
+
+    /**
+     * Al parar se sueltan las reservas de este nodo para que otro las recoja sin esperar a que caduquen.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        wheel.stop();
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdownNow();
+        for (int shard : shardResolver.allShards()) {
+            try {
+                ShardRouting.runOn(shard, () -> transactionTemplate.executeWithoutResult(
+                        status -> repository.releaseLeasesByPrefix(nodeId + "#%")));
+            } catch (RuntimeException e) {
+                log.warn("No se pudieron liberar las reservas del shard {}: {}", shard, e.getMessage());
+            }
+        }
+    }
+
+    static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        // Sufijo aleatorio: un reinicio con el mismo nombre no hereda las reservas del proceso anterior
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
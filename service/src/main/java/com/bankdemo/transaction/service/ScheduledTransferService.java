@@ -0,0 +1,160 @@
+package com.bankdemo.transaction.service;
+
+import com.bankdemo.transaction.dto.ScheduledTransferRequestDTO;
+import com.bankdemo.transaction.dto.ScheduledTransferResponseDTO;
+import com.bankdemo.transaction.dto.TransactionRequestDTO;
+import com.bankdemo.transaction.dto.TransactionResponseDTO;
+import com.bankdemo.transaction.exception.TransactionException;
+import com.bankdemo.transaction.model.ScheduledTransfer;
+import com.bankdemo.transaction.model.ScheduledTransfer.ScheduleStatus;
+import com.bankdemo.transaction.repository.ScheduledTransferRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Alta, consulta y cancelación de transferencias programadas, y la ejecución de cada ocurrencia, que la
+ * lanza {@link ScheduledTransferEngine} cuando vence.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduledTransferService {
+
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final ScheduledTransferRepository repository;
+    private final TransactionService transactionService;
+    private final TransactionShardRouter shardRouter;
+
+    @Transactional
+    public ScheduledTransferResponseDTO createScheduledTransfer(ScheduledTransferRequestDTO request) {
+        if (!request.getMonto().isPositive()) {
+            throw new TransactionException("El monto debe ser positivo");
+        }
+        if (request.getHasta() != null && request.getHasta().isBefore(request.getPrimeraEjecucion())) {
+            throw new TransactionException("La fecha 'hasta' no puede ser anterior a la primera ejecución");
+        }
+
+        shardRouter.routeToAccount(request.getFromAccount());
+
+        ScheduledTransfer scheduled = new ScheduledTransfer();
+        scheduled.setFromAccount(request.getFromAccount());
+        scheduled.setToAccount(request.getToAccount());
+        scheduled.setMonto(request.getMonto());
+        scheduled.setFrecuencia(request.getFrecuencia());
+        scheduled.setPrimeraEjecucion(request.getPrimeraEjecucion());
+        scheduled.setHasta(request.getHasta());
+        scheduled.setOcurrencia(0);
+        scheduled.setProximaEjecucion(request.getPrimeraEjecucion());
+        scheduled.setStatus(ScheduleStatus.ACTIVE);
+
+        return ScheduledTransferResponseDTO.from(repository.save(scheduled));
+    }
+
+    @Transactional(readOnly = true)
+    public ScheduledTransferResponseDTO getScheduledTransfer(Long id) {
+        shardRouter.routeToScheduledTransfer(id);
+        return ScheduledTransferResponseDTO.from(find(id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ScheduledTransferResponseDTO> getScheduledTransfersByAccount(Long fromAccount) {
+        shardRouter.routeToAccount(fromAccount);
+        return repository.findByFromAccountOrderByProximaEjecucionAsc(fromAccount).stream()
+                .map(ScheduledTransferResponseDTO::from)
+                .toList();
+    }
+
+    /**
+     * Cancela las ocurrencias pendientes. Una que ya se esté ejecutando en otro nodo termina, pero no
+     * habrá más: la ejecución solo avanza filas que siguen activas.
+     */
+    @Transactional
+    public ScheduledTransferResponseDTO cancelScheduledTransfer(Long id) {
+        shardRouter.routeToScheduledTransfer(id);
+        if (repository.cancel(id) == 0) {
+            ScheduledTransfer scheduled = find(id);
+            throw new TransactionException("La transferencia programada " + id + " ya está " + scheduled.getStatus());
+        }
+        return ScheduledTransferResponseDTO.from(find(id));
+    }
+
+    /**
+     * Ejecuta la ocurrencia vencida si este nodo conserva el lease {@code token}. El avance a la siguiente
+     * ocurrencia y la transferencia creada van en la misma transacción: si la creación falla, la ocurrencia
+     * sigue pendiente y el llamador decide (ver {@link #recordFailure}). El evento de la transferencia se
+     * publica al confirmar esta transacción, así que una reversión posterior a la creación no deja un evento
+     * enviado para una transferencia que no existe, ni lo repite al reintentar la ocurrencia.
+     *
+     * @return id de la transferencia creada, o null si la ocurrencia ya no le corresponde a este nodo
+     */
+    @Transactional
+    public Long executeOccurrence(Long id, String token, LocalDateTime now) {
+        shardRouter.routeToScheduledTransfer(id);
+        ScheduledTransfer scheduled = repository.findById(id).orElse(null);
+        if (scheduled == null || !advance(scheduled, token, now, null)) {
+            return null;
+        }
+
+        TransactionRequestDTO request = new TransactionRequestDTO();
+        request.setFromAccount(scheduled.getFromAccount());
+        request.setToAccount(scheduled.getToAccount());
+        request.setMonto(scheduled.getMonto());
+        TransactionResponseDTO response = transactionService.createTransaction(request);
+
+        repository.recordTransaction(id, response.getTransactionId());
+        return response.getTransactionId();
+    }
+
+    /**
+     * Ocurrencia rechazada por negocio (saldo, cuenta inexistente...): se anota el error y se pasa a la siguiente.
+     */
+    @Transactional
+    public boolean recordFailure(Long id, String token, LocalDateTime now, String errorMessage) {
+        shardRouter.routeToScheduledTransfer(id);
+        ScheduledTransfer scheduled = repository.findById(id).orElse(null);
+        String error = errorMessage != null && errorMessage.length() > MAX_ERROR_LENGTH
+                ? errorMessage.substring(0, MAX_ERROR_LENGTH) : errorMessage;
+        return scheduled != null && advance(scheduled, token, now, error);
+    }
+
+    // Error de infraestructura: se suelta el lease para que la ocurrencia se vuelva a cargar
+    @Transactional
+    public void releaseLease(Long id, String token) {
+        shardRouter.routeToScheduledTransfer(id);
+        repository.releaseLease(id, token);
+    }
+
+    /**
+     * Pasa a la siguiente ocurrencia posterior a {@code now}. Si el servicio estuvo parado más de un periodo,
+     * la vencida se ejecuta una sola vez y las intermedias se saltan en lugar de encadenar pagos atrasados.
+     */
+    private boolean advance(ScheduledTransfer scheduled, String token, LocalDateTime now, String errorMessage) {
+        if (scheduled.getStatus() != ScheduleStatus.ACTIVE || !token.equals(scheduled.getLeaseOwner())) {
+            return false;
+        }
+        int next = scheduled.getOcurrencia() + 1;
+        LocalDateTime fecha = scheduled.occurrence(next);
+        while (fecha != null && !fecha.isAfter(now)) {
+            fecha = scheduled.occurrence(++next);
+        }
+        if (next > scheduled.getOcurrencia() + 1) {
+            log.warn("Transferencia programada {}: {} ocurrencias atrasadas omitidas", scheduled.getId(),
+                    next - scheduled.getOcurrencia() - 1);
+        }
+
+        ScheduleStatus status = fecha != null ? ScheduleStatus.ACTIVE : ScheduleStatus.FINISHED;
+        return repository.advance(scheduled.getId(), token, next,
+                fecha != null ? fecha : scheduled.getProximaEjecucion(), status, errorMessage) > 0;
+    }
+
+    private ScheduledTransfer find(Long id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new TransactionException("Transferencia programada no encontrada con ID: " + id));
+    }
+}
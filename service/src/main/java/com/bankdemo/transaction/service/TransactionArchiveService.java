@@ -0,0 +1,92 @@
+package com.bankdemo.transaction.service;
+
+import com.bankdemo.transaction.datasource.ShardResolver;
+import com.bankdemo.transaction.datasource.ShardRouting;
+import com.bankdemo.transaction.model.Transaction.TransactionStatus;
+import com.bankdemo.transaction.repository.ArchivedTransactionRepository;
+import com.bankdemo.transaction.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionArchiveService {
+
+    private static final List<TransactionStatus> FINAL_STATUSES =
+            List.of(TransactionStatus.COMPLETED, TransactionStatus.FAILED);
+
+    private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionPartitionMaintenance partitionMaintenance;
+    private final ShardResolver shardResolver;
+
+    @Value("${transaction.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${transaction.archive.retention-days:90}")
+    private int retentionDays;
+
+    @Value("${transaction.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${transaction.archive.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(cron = "${transaction.archive.cron:0 0 3 * * *}")
+    public void archiveFinalizedTransactions() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        // Cada shard archiva sus propias filas (el archivo vive junto a la tabla de origen)
+        for (int shard : shardResolver.allShards()) {
+            ShardRouting.runOn(shard, () -> archiveShard(cutoff));
+        }
+    }
+
+    private void archiveShard(LocalDateTime cutoff) {
+        int total = 0;
+
+        // Lotes pequeños en transacciones independientes para no bloquear la tabla durante minutos
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            Integer archived = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            int count = archived != null ? archived : 0;
+            total += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+
+        log.info("Archivado de transacciones finalizado (shard {}): {} filas anteriores a {}",
+                ShardRouting.current(), total, cutoff);
+
+        partitionMaintenance.maintain(cutoff);
+    }
+
+    int archiveBatch(LocalDateTime cutoff) {
+        List<Long> ids = transactionRepository.findIdsByStatusInAndFechaBefore(
+                FINAL_STATUSES, cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        int copied = archivedTransactionRepository.copyFromTransactions(ids);
+        if (copied != ids.size()) {
+            // Algo cambió entre la consulta y la copia: se revierte el lote completo
+            throw new IllegalStateException("Se esperaban " + ids.size() + " filas copiadas al archivo y se copiaron " + copied);
+        }
+        transactionRepository.deleteByIdIn(ids);
+        return ids.size();
+    }
+}
@@ -0,0 +1,100 @@
+package com.bankdemo.transaction.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Mantiene las particiones mensuales de {@code transactions} creadas por la migración V3 (solo MySQL):
+ * crea las de los próximos meses a partir de {@code p_max} y elimina las antiguas que el archivado ya vació.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionPartitionMaintenance {
+
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("p(\\d{4})_(\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${transaction.archive.partition-months-ahead:3}")
+    private int monthsAhead;
+
+    public void maintain(LocalDateTime archiveCutoff) {
+        if (!isMySql()) {
+            return;
+        }
+
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'transactions' AND PARTITION_NAME IS NOT NULL "
+                        + "ORDER BY PARTITION_ORDINAL_POSITION",
+                String.class);
+        if (partitions.isEmpty()) {
+            return;
+        }
+
+        createUpcomingPartitions(partitions);
+        dropEmptyPartitions(partitions, YearMonth.from(archiveCutoff));
+    }
+
+    private void createUpcomingPartitions(List<String> partitions) {
+        YearMonth last = partitions.stream()
+                .map(this::monthOf)
+                .filter(month -> month != null)
+                .max(YearMonth::compareTo)
+                .orElse(YearMonth.now().minusMonths(1));
+        YearMonth target = YearMonth.now().plusMonths(monthsAhead);
+
+        for (YearMonth month = last.plusMonths(1); !month.isAfter(target); month = month.plusMonths(1)) {
+            jdbcTemplate.execute("ALTER TABLE transactions REORGANIZE PARTITION p_max INTO ("
+                    + "PARTITION " + partitionName(month) + " VALUES LESS THAN (UNIX_TIMESTAMP('"
+                    + month.plusMonths(1).atDay(1) + " 00:00:00')), "
+                    + "PARTITION p_max VALUES LESS THAN MAXVALUE)");
+            log.info("Partición {} creada en transactions", partitionName(month));
+        }
+    }
+
+    private void dropEmptyPartitions(List<String> partitions, YearMonth cutoffMonth) {
+        for (String partition : partitions) {
+            YearMonth month = monthOf(partition);
+            // Solo meses completos anteriores al corte; las filas PENDING antiguas impiden el borrado
+            if (month == null || !month.isBefore(cutoffMonth)) {
+                continue;
+            }
+            Long rows = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM transactions PARTITION (" + partition + ")", Long.class);
+            if (rows != null && rows == 0) {
+                jdbcTemplate.execute("ALTER TABLE transactions DROP PARTITION " + partition);
+                log.info("Partición vacía {} eliminada de transactions", partition);
+            }
+        }
+    }
+
+    private boolean isMySql() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "MySQL".equalsIgnoreCase(product);
+    }
+
+    private YearMonth monthOf(String partition) {
+        Matcher matcher = MONTHLY_PARTITION.matcher(partition);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+
+    private String partitionName(YearMonth month) {
+        return String.format("p%d_%02d", month.getYear(), month.getMonthValue());
+    }
+}
@@ -0,0 +1,140 @@
+package com.bankdemo.transaction.service;
+
+import com.bankdemo.transaction.dto.TransactionSearchCriteria;
+import com.bankdemo.transaction.exception.TransactionException;
+import com.bankdemo.transaction.model.Transaction;
+import com.bankdemo.transaction.model.Transaction.TransactionStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+import static com.bankdemo.transaction.repository.TransactionSpecifications.after;
+import static com.bankdemo.transaction.repository.TransactionSpecifications.fechaBefore;
+import static com.bankdemo.transaction.repository.TransactionSpecifications.fechaFrom;
+import static com.bankdemo.transaction.repository.TransactionSpecifications.fromAccount;
+import static com.bankdemo.transaction.repository.TransactionSpecifications.hasStatus;
+import static com.bankdemo.transaction.repository.TransactionSpecifications.montoAtLeast;
+import static com.bankdemo.transaction.repository.TransactionSpecifications.montoAtMost;
+import static com.bankdemo.transaction.repository.TransactionSpecifications.toAccount;
+
+/**
+ * Traduce los filtros de búsqueda a una especificación que siempre pueda resolverse con uno de los índices de
+ * V6: por cuenta (origen, destino o ambas) o por estado dentro de un rango de fechas acotado. Cualquier otra
+ * combinación se rechaza antes de consultar, para que una búsqueda ad hoc no recorra la tabla completa.
+ * El resto de filtros (monto, estado, fechas) se aplican como condiciones adicionales sobre ese índice.
+ */
+@Component
+public class TransactionSearchPlanner {
+
+    private static final String SENT = "SENT";
+    private static final String RECEIVED = "RECEIVED";
+
+    @Value("${transaction.search.max-status-days:31}")
+    private int maxStatusDays;
+
+    @Value("${transaction.search.default-size:50}")
+    private int defaultSize;
+
+    @Value("${transaction.search.max-size:200}")
+    private int maxSize;
+
+    public record Plan(Specification<Transaction> specification, int size) {
+    }
+
+    public Plan plan(TransactionSearchCriteria criteria) {
+        TransactionStatus status = parseStatus(criteria.getStatus());
+        String direccion = criteria.getDireccion() != null ? criteria.getDireccion().toUpperCase() : null;
+
+        if (criteria.getDesde() != null && criteria.getHasta() != null
+                && criteria.getDesde().isAfter(criteria.getHasta())) {
+            throw new TransactionException("La fecha inicial no puede ser posterior a la fecha final");
+        }
+        if (criteria.getMontoMin() != null && criteria.getMontoMax() != null
+                && criteria.getMontoMin().compareTo(criteria.getMontoMax()) > 0) {
+            throw new TransactionException("El monto mínimo no puede ser mayor que el máximo");
+        }
+
+        Specification<Transaction> spec;
+        if (criteria.getCuenta() != null) {
+            spec = accountSpecification(criteria.getCuenta(), direccion);
+            if (status != null) {
+                spec = spec.and(hasStatus(status));
+            }
+        } else if (direccion != null) {
+            throw new TransactionException("La dirección solo puede usarse junto con una cuenta");
+        } else if (status != null && criteria.getDesde() != null && criteria.getHasta() != null) {
+            if (ChronoUnit.DAYS.between(criteria.getDesde(), criteria.getHasta()) >= maxStatusDays) {
+                throw new TransactionException("El rango máximo de búsqueda por estado es de " + maxStatusDays + " días");
+            }
+            spec = hasStatus(status);
+        } else {
+            throw new TransactionException(
+                    "La búsqueda requiere una cuenta, o un estado con rango de fechas (desde y hasta)");
+        }
+
+        if (criteria.getDesde() != null) {
+            spec = spec.and(fechaFrom(criteria.getDesde().atStartOfDay()));
+        }
+        if (criteria.getHasta() != null) {
+            spec = spec.and(fechaBefore(criteria.getHasta().plusDays(1).atStartOfDay()));
+        }
+        if (criteria.getMontoMin() != null) {
+            spec = spec.and(montoAtLeast(criteria.getMontoMin()));
+        }
+        if (criteria.getMontoMax() != null) {
+            spec = spec.and(montoAtMost(criteria.getMontoMax()));
+        }
+        if (criteria.getCursor() != null && !criteria.getCursor().isBlank()) {
+            spec = spec.and(decodeCursor(criteria.getCursor()));
+        }
+
+        int size = criteria.getSize() != null ? criteria.getSize() : defaultSize;
+        if (size < 1 || size > maxSize) {
+            throw new TransactionException("El tamaño de página debe estar entre 1 y " + maxSize);
+        }
+        return new Plan(spec, size);
+    }
+
+    public String encodeCursor(Transaction last) {
+        String raw = last.getFecha() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Specification<Transaction> decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return after(LocalDateTime.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+            throw new TransactionException("Cursor de paginación inválido");
+        }
+    }
+
+    private Specification<Transaction> accountSpecification(Long cuenta, String direccion) {
+        if (direccion == null) {
+            return Specification.where(fromAccount(cuenta)).or(toAccount(cuenta));
+        }
+        return switch (direccion) {
+            case SENT -> fromAccount(cuenta);
+            case RECEIVED -> toAccount(cuenta);
+            default -> throw new TransactionException("Dirección inválida: " + direccion + " (SENT o RECEIVED)");
+        };
+    }
+
+    private TransactionStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return TransactionStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new TransactionException("Estado de transacción inválido: " + status);
+        }
+    }
+}
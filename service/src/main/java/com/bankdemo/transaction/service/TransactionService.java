@@ -2,6 +2,8 @@ package com.bankdemo.transaction.service;
 
 import com.bankdemo.transaction.dto.TransactionRequestDTO;
 import com.bankdemo.transaction.dto.TransactionResponseDTO;
+import com.bankdemo.transaction.dto.TransactionSearchCriteria;
+import com.bankdemo.transaction.dto.TransactionSearchResultDTO;
 import java.util.List;
 
 public interface TransactionService {
@@ -9,4 +11,5 @@ public interface TransactionService {
     TransactionResponseDTO createTransaction(TransactionRequestDTO transactionRequest);
     TransactionResponseDTO getTransaction(Long id);
     List<TransactionResponseDTO> getTransactionsByAccount(Long accountId);
+    TransactionSearchResultDTO searchTransactions(TransactionSearchCriteria criteria);
 }
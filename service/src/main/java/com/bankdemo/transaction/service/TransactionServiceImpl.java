@@ -0,0 +1,339 @@
+package com.bankdemo.transaction.service;
+
+import com.bankdemo.transaction.client.AccountServiceClient;
+import com.bankdemo.transaction.datasource.ReadRouting;
+import com.bankdemo.transaction.datasource.RecentWriteTracker;
+import com.bankdemo.transaction.dto.AccountDTO;
+import com.bankdemo.transaction.dto.TransactionRequestDTO;
+import com.bankdemo.transaction.dto.TransactionResponseDTO;
+import com.bankdemo.transaction.dto.TransactionSearchCriteria;
+import com.bankdemo.transaction.dto.TransactionSearchResultDTO;
+import com.bankdemo.transaction.exception.TransactionException;
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.model.Transaction;
+import com.bankdemo.transaction.model.Transaction.TransactionStatus;
+import com.bankdemo.transaction.repository.ArchivedTransactionRepository;
+import com.bankdemo.transaction.repository.TransactionRepository;
+import com.bankdemo.transaction.producer.TransactionEventProducer;
+import com.bankdemo.transaction.profiling.TransferStageEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionServiceImpl implements TransactionService {
+
+    private static final Money MONTO_MINIMO = Money.ofMinor(100_000L);
+
+    private final TransactionRepository transactionRepository;
+    private final AccountServiceClient accountClient;
+    private final TransactionEventProducer eventProducer;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final AccountHoldLedger holdLedger;
+    private final DeferredTransactionQueue deferredQueue;
+    private final RecentWriteTracker recentWrites;
+    private final TransactionSearchPlanner searchPlanner;
+    private final TransactionShardRouter shardRouter;
+    private final VelocityCheck velocityCheck;
+    private final AccountRollupService rollupService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    @Transactional
+    public TransactionResponseDTO createTransaction(TransactionRequestDTO request) {
+
+        // 1. Primero, verificar que la cuenta de origen existe
+        if (request.getMonto().isLessThan(MONTO_MINIMO)) {
+            throw new TransactionException("El monto mínimo de transferencia es 1000.00");
+        }
+
+        // Límites de velocidad en memoria: un rechazo no llega al servicio de cuentas
+        VelocityCheck.Reservation velocity;
+        try (TransferStageEvent stage = TransferStageEvent.start(TransferStageEvent.VELOCITY, request.getFromAccount())) {
+            velocity = velocityCheck.check(request.getFromAccount(), request.getMonto());
+        }
+
+        TransactionResponseDTO response;
+        try {
+            response = createChecked(request, velocity);
+        } catch (RuntimeException e) {
+            // Rechazada o fallida (validación, persistencia, publicación): no cuenta para los límites de velocidad
+            velocityCheck.release(velocity);
+            throw e;
+        }
+        // Aceptada, pero tampoco cuenta si la transacción se revierte después: al confirmar o porque la revierte
+        // quien llama (p. ej. la ocurrencia programada). Si el evento falla tras confirmar, la descuenta el envío
+        afterRollback(() -> velocityCheck.release(velocity));
+        return response;
+    }
+
+    private TransactionResponseDTO createChecked(TransactionRequestDTO request, VelocityCheck.Reservation velocity) {
+        // Con sharding, todo lo de la transferencia (incluida la cola diferida) va al shard de la cuenta de origen
+        shardRouter.routeNewTransfer(request.getFromAccount(), request.getToAccount());
+
+        // Con el circuito hacia el servicio de cuentas abierto, la transferencia se acepta diferida (si está habilitado)
+        if (deferredQueue.shouldDefer()) {
+            try (TransferStageEvent stage = TransferStageEvent.start(TransferStageEvent.DEFERRAL, request.getFromAccount())) {
+                Transaction deferred = deferredQueue.enqueue(request);
+                recentWrites.recordWrite(deferred);
+                eventProducer.sendStatusChange(deferred);
+                return mapToDTO(deferred);
+            }
+        }
+
+        AccountHoldLedger.Hold hold;
+        try (TransferStageEvent stage = TransferStageEvent.start(TransferStageEvent.VALIDATION, request.getFromAccount())) {
+            hold = validateTransfer(request.getFromAccount(), request.getToAccount(), request.getMonto());
+        }
+
+        // 3. Crear la transacción con estado pendiente
+        Transaction transaction = new Transaction();
+        transaction.setFromAccount(request.getFromAccount());
+        transaction.setToAccount(request.getToAccount());
+        transaction.setMonto(request.getMonto());
+        transaction.setFecha(LocalDateTime.now());
+        transaction.setStatus(TransactionStatus.PENDING);
+
+        // 4. Guardar la transacción en estado pendiente
+        Transaction savedTransaction;
+        try (TransferStageEvent stage = TransferStageEvent.start(TransferStageEvent.PERSISTENCE, request.getFromAccount())) {
+            savedTransaction = transactionRepository.save(transaction);
+        } catch (RuntimeException e) {
+            holdLedger.release(hold);
+            throw e;
+        }
+        holdLedger.bind(savedTransaction.getId(), hold);
+        // Si la transacción se revierte (falla el paso a PROCESSING, el envío del estado o lo revierte quien
+        // llama), la retención se libera ya en lugar de ocupar saldo hasta el barrido por caducidad
+        Long transactionId = savedTransaction.getId();
+        afterRollback(() -> holdLedger.release(transactionId));
+        recentWrites.recordWrite(savedTransaction);
+
+        try (TransferStageEvent stage = TransferStageEvent.start(TransferStageEvent.PUBLICATION, request.getFromAccount())) {
+            return publish(savedTransaction, velocity);
+        }
+    }
+
+    /**
+     * Reprocesa una transferencia aceptada en modo diferido: la valida como {@link #createTransaction}
+     * y, si es válida, publica el evento. Si la validación la rechaza por negocio ({@link TransactionException})
+     * queda FAILED; cualquier otro fallo (servicio de cuentas caído, lento o saturado) se propaga y revierte
+     * el reproceso para que siga en la cola.
+     *
+     * <p>Lo primero es sacar de la cola la entrada reservada con {@code token}: si la reserva ya no es de este
+     * nodo no se hace nada y se devuelve false. El borrado bloquea la fila hasta confirmar, así que nadie más
+     * puede tomarla mientras se valida.</p>
+     *
+     * <p>El evento se publica al confirmar; si entonces falla, la transferencia queda FAILED y la
+     * {@link TransactionException} llega a quien llamó, con la entrada ya fuera de la cola.</p>
+     */
+    @Transactional
+    public boolean replayDeferred(Long transactionId, String token) {
+        shardRouter.routeToTransaction(transactionId);
+        if (!deferredQueue.take(transactionId, token)) {
+            log.debug("Transacción diferida {} ya no está reservada por {}", transactionId, token);
+            return false;
+        }
+        Transaction transaction = transactionRepository.findById(transactionId).orElse(null);
+        if (transaction == null || transaction.getStatus() != TransactionStatus.PENDING) {
+            return true;
+        }
+
+        AccountHoldLedger.Hold hold;
+        try {
+            hold = validateTransfer(transaction.getFromAccount(), transaction.getToAccount(), transaction.getMonto());
+        } catch (TransactionException e) {
+            if (transactionRepository.transitionStatus(List.of(transactionId),
+                    TransactionStatus.FAILED.predecessors(), TransactionStatus.FAILED, e.getMessage()) > 0) {
+                transaction.setStatus(TransactionStatus.FAILED);
+                transaction.setErrorMessage(e.getMessage());
+                rollupService.recordFinalized(transaction);
+                eventProducer.sendStatusChange(transaction);
+            }
+            log.warn("Transacción diferida {} rechazada: {}", transactionId, e.getMessage());
+            return true;
+        }
+        holdLedger.bind(transactionId, hold);
+        afterRollback(() -> holdLedger.release(transactionId));
+
+        publish(transaction, null);
+        return true;
+    }
+
+    private AccountHoldLedger.Hold validateTransfer(Long fromAccount, Long toAccount, Money monto) {
+        AccountDTO sourceAccount = verifiyAccount(fromAccount, "origen");
+        verifiyAccount(toAccount, "destino");
+
+        // 2. Verificar que la cuenta de origen tenga saldo suficiente; si el débito cabe holgadamente
+        // en el saldo descontando lo ya retenido, no hace falta la validación remota
+        AccountHoldLedger.Hold hold = holdLedger.tryReserve(
+                fromAccount, sourceAccount != null ? sourceAccount.getSaldo() : null, monto);
+        if (hold == null) {
+            boolean hasSufficientFunds = accountClient.validateAccount(fromAccount, monto.negate());
+            if (!hasSufficientFunds) {
+                throw new TransactionException("La cuenta de origen no tiene saldo suficiente");
+            }
+            hold = holdLedger.reserve(fromAccount, monto);
+        }
+        return hold;
+    }
+
+    private TransactionResponseDTO publish(Transaction savedTransaction, VelocityCheck.Reservation velocity) {
+        // El evento lleva la fila tal como se creó, antes de pasar a PROCESSING
+        Transaction event = new Transaction(savedTransaction.getId(), savedTransaction.getFromAccount(),
+                savedTransaction.getToAccount(), savedTransaction.getMonto(), savedTransaction.getFecha(),
+                savedTransaction.getStatus(), savedTransaction.getErrorMessage(), savedTransaction.getVersion());
+
+        // 5. Pasar a PROCESSING mientras esperamos confirmación: sentencia condicional, sin releer la fila
+        // ni pisar un resultado que haya llegado antes
+        if (transactionRepository.transitionStatus(savedTransaction.getId(),
+                TransactionStatus.PROCESSING.predecessors(), TransactionStatus.PROCESSING) > 0) {
+            // Se envía al confirmar, antes que el evento; el estado final lo publica después el consumidor
+            // de resultados, y en el topic compactado queda el último
+            savedTransaction.setStatus(TransactionStatus.PROCESSING);
+            eventProducer.sendStatusChange(savedTransaction);
+        }
+
+        // 6. Publicar el evento para que el servicio de cuentas la procese (ya validada) solo cuando confirme
+        // la transacción, incluida la de quien llama (p. ej. la ocurrencia programada): si se revierte, el
+        // servicio de cuentas no llega a ver una transferencia que no existe
+        afterCommit(() -> sendTransactionEvent(event, velocity));
+
+        return mapToDTO(savedTransaction);
+    }
+
+    private void sendTransactionEvent(Transaction transaction, VelocityCheck.Reservation velocity) {
+        try {
+            log.debug("Enviando evento de transacción: {}", transaction.getId());
+            eventProducer.sendTransactionEvent(transaction);
+        } catch (Exception e) {
+            // En caso de error al publicar el evento, marcar la transacción como fallida. La transacción que
+            // la creó ya confirmó: el cambio va en una nueva (en el mismo shard, que sigue fijado)
+            String errorMessage = "Error al procesar la transacción: " + e.getMessage();
+            TransactionTemplate newTransaction = new TransactionTemplate(transactionManager);
+            newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            newTransaction.executeWithoutResult(status -> {
+                if (transactionRepository.transitionStatus(List.of(transaction.getId()),
+                        TransactionStatus.FAILED.predecessors(), TransactionStatus.FAILED, errorMessage) > 0) {
+                    transaction.setStatus(TransactionStatus.FAILED);
+                    transaction.setErrorMessage(errorMessage);
+                    rollupService.recordFinalized(transaction);
+                    eventProducer.sendStatusChange(transaction);
+                }
+            });
+            holdLedger.release(transaction.getId());
+            velocityCheck.release(velocity);
+
+            throw new TransactionException(errorMessage);
+        }
+    }
+
+    // Solo dentro de una transacción: fuera no hay nada que revertir después
+    private static void afterRollback(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        action.run();
+                    }
+                }
+            });
+        }
+    }
+
+    // Dentro de una transacción, al confirmar (las excepciones llegan a quien confirma); fuera, en el acto
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionResponseDTO getTransaction(Long id) {
+        shardRouter.routeToTransaction(id);
+        // Recién escrita en este nodo: puede no haber llegado aún a la réplica
+        if (recentWrites.isRecentTransaction(id)) {
+            ReadRouting.usePrimaryForCurrentTransaction();
+        }
+        // Las transacciones finalizadas antiguas viven en la tabla de archivo
+        return transactionRepository.findResponseById(id)
+                .or(() -> archivedTransactionRepository.findResponseById(id))
+                .orElseThrow(() -> new TransactionException("Transacción no encontrada con ID: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransactionResponseDTO> getTransactionsByAccount(Long accountId) {
+        if (shardRouter.isSharded()) {
+            // Débitos en el shard de la cuenta y abonos repartidos: consulta en paralelo y mezcla por fecha
+            return shardRouter.findResponsesByAccount(accountId);
+        }
+        if (recentWrites.isRecentAccount(accountId)) {
+            ReadRouting.usePrimaryForCurrentTransaction();
+        }
+        return transactionRepository.findResponsesByAccount(accountId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionSearchResultDTO searchTransactions(TransactionSearchCriteria criteria) {
+        TransactionSearchPlanner.Plan plan = searchPlanner.plan(criteria);
+
+        // Se pide una fila de más para saber si hay página siguiente sin contar
+        List<Transaction> rows = shardRouter.isSharded()
+                ? shardRouter.searchNewestFirst(plan.specification(), plan.size() + 1, criteria.getCuenta())
+                : transactionRepository.searchNewestFirst(plan.specification(), plan.size() + 1);
+        boolean hasMore = rows.size() > plan.size();
+        List<Transaction> page = hasMore ? rows.subList(0, plan.size()) : rows;
+
+        String nextCursor = hasMore ? searchPlanner.encodeCursor(page.get(page.size() - 1)) : null;
+        return new TransactionSearchResultDTO(
+                page.stream().map(this::mapToDTO).collect(Collectors.toList()), nextCursor);
+    }
+
+    private TransactionResponseDTO mapToDTO(Transaction transaction) {
+        TransactionResponseDTO dto = new TransactionResponseDTO();
+        dto.setTransactionId(transaction.getId());
+        dto.setStatus(transaction.getStatus().toString());
+        dto.setFecha(transaction.getFecha());
+        dto.setFromAccount(transaction.getFromAccount());
+        dto.setToAccount(transaction.getToAccount());
+        dto.setMonto(transaction.getMonto());
+        dto.setErrorMessage(transaction.getErrorMessage());
+        return dto;
+    }
+
+    private AccountDTO verifiyAccount(Long accountId, String tipo) {
+        try {
+            return accountClient.getAccount(accountId);
+        } catch (HttpClientErrorException ex) {
+            if (ex.getStatusCode().equals(HttpStatus.NOT_FOUND)) {
+                throw new TransactionException("La cuenta de " + tipo + " no existe: " + accountId);
+            }
+            throw new TransactionException("Error al verificar la cuenta de " + tipo + ": " + ex.getMessage());
+        }
+    }
+}
\ No newline at end of file
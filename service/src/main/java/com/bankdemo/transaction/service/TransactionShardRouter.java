@@ -0,0 +1,249 @@
+package com.bankdemo.transaction.service;
+
+import com.bankdemo.transaction.datasource.ShardResolver;
+import com.bankdemo.transaction.datasource.ShardRouting;
+import com.bankdemo.transaction.dto.TransactionResponseDTO;
+import com.bankdemo.transaction.model.Transaction;
+import com.bankdemo.transaction.repository.TransactionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Enruta el trabajo de las transferencias con sharding activo: las escrituras al shard de la cuenta de origen
+ * y las lecturas por cuenta a los shards con sus débitos y abonos, en paralelo y mezclando por fecha.
+ * Sin sharding los métodos de enrutado no hacen nada y el servicio sigue su camino habitual.
+ */
+@Component
+@Slf4j
+public class TransactionShardRouter {
+
+    public static final Comparator<TransactionResponseDTO> RESPONSES_NEWEST_FIRST =
+            Comparator.comparing(TransactionResponseDTO::getFecha)
+                    .thenComparing(TransactionResponseDTO::getTransactionId).reversed();
+
+    public static final Comparator<Transaction> TRANSACTIONS_NEWEST_FIRST =
+            Comparator.comparing(Transaction::getFecha).thenComparing(Transaction::getId).reversed();
+
+    private final ShardResolver shardResolver;
+    private final CreditShardLocator creditLocator;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long fanOutTimeoutMillis;
+    private final ExecutorService fanOutExecutor;
+
+    public TransactionShardRouter(
+            ShardResolver shardResolver,
+            CreditShardLocator creditLocator,
+            TransactionRepository transactionRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${transaction.sharding.fan-out-threads:8}") int fanOutThreads,
+            @Value("${transaction.sharding.fan-out-timeout-ms:5000}") long fanOutTimeoutMillis) {
+        this.shardResolver = shardResolver;
+        this.creditLocator = creditLocator;
+        this.transactionRepository = transactionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fanOutTimeoutMillis = fanOutTimeoutMillis;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.fanOutExecutor = shardResolver.isSharded()
+                ? Executors.newFixedThreadPool(Math.max(1, fanOutThreads), runnable -> {
+                    Thread thread = new Thread(runnable, "shard-fan-out-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    public boolean isSharded() {
+        return shardResolver.isSharded();
+    }
+
+    /**
+     * Asocia la transacción en curso al shard de la cuenta de origen, tras registrar el abono en el shard
+     * de la cuenta de destino.
+     */
+    public void routeNewTransfer(Long fromAccount, Long toAccount) {
+        if (!isSharded()) {
+            return;
+        }
+        int shard = shardResolver.shardForAccount(fromAccount);
+        creditLocator.recordCredit(toAccount, shard);
+        ShardRouting.useForCurrentTransaction(shard);
+    }
+
+    public void routeToTransaction(Long transactionId) {
+        if (isSharded()) {
+            ShardRouting.useForCurrentTransaction(shardResolver.shardOfTransaction(transactionId));
+        }
+    }
+
+    // Las transferencias programadas viven, como las que generan, en el shard de la cuenta de origen
+    public void routeToAccount(Long accountId) {
+        if (isSharded()) {
+            ShardRouting.useForCurrentTransaction(shardResolver.shardForAccount(accountId));
+        }
+    }
+
+    // Sus ids se intercalan igual que los de las transferencias
+    public void routeToScheduledTransfer(Long scheduledTransferId) {
+        routeToTransaction(scheduledTransferId);
+    }
+
+    /**
+     * Shards con transferencias de la cuenta: el propio (débitos y abonos internos) más los que tienen abonos.
+     */
+    public List<Integer> shardsForAccount(Long accountId) {
+        TreeSet<Integer> shards = new TreeSet<>(creditLocator.creditShards(accountId));
+        shards.add(shardResolver.shardForAccount(accountId));
+        return new ArrayList<>(shards);
+    }
+
+    public List<TransactionResponseDTO> findResponsesByAccount(Long accountId) {
+        List<List<TransactionResponseDTO>> perShard = fanOut(shardsForAccount(accountId),
+                shard -> transactionRepository.findResponsesByAccount(accountId));
+        return mergeSorted(perShard, RESPONSES_NEWEST_FIRST, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Búsqueda por keyset repartida: cada shard devuelve sus {@code limit} más recientes y se mezclan.
+     * Sin cuenta (búsqueda por estado) se consultan todos.
+     */
+    public List<Transaction> searchNewestFirst(Specification<Transaction> spec, int limit, Long accountId) {
+        List<Integer> shards = accountId != null ? shardsForAccount(accountId) : shardResolver.allShards();
+        List<List<Transaction>> perShard = fanOut(shards, shard -> transactionRepository.searchNewestFirst(spec, limit));
+        return mergeSorted(perShard, TRANSACTIONS_NEWEST_FIRST, limit);
+    }
+
+    /**
+     * Reparte los ids de transferencia por shard y consulta cada shard solo con los suyos; los resultados
+     * se concatenan sin un orden concreto.
+     */
+    public <T> List<T> findByTransactionIds(Collection<Long> transactionIds, Function<List<Long>, List<T>> query) {
+        Map<Integer, List<Long>> idsByShard = new TreeMap<>();
+        for (Long id : transactionIds) {
+            idsByShard.computeIfAbsent(shardResolver.shardOfTransaction(id), shard -> new ArrayList<>()).add(id);
+        }
+        List<T> results = new ArrayList<>(transactionIds.size());
+        fanOut(idsByShard.keySet(), shard -> query.apply(idsByShard.get(shard))).forEach(results::addAll);
+        return results;
+    }
+
+    /**
+     * Ejecuta la consulta en cada shard, cada una en su transacción de solo lectura; con un único shard
+     * no sale del hilo actual. Los resultados vuelven en el orden de {@code shards}.
+     */
+    public <T> List<T> fanOut(Collection<Integer> shards, IntFunction<T> query) {
+        if (shards.size() == 1 || fanOutExecutor == null) {
+            List<T> results = new ArrayList<>(shards.size());
+            for (int shard : shards) {
+                results.add(queryShard(shard, query));
+            }
+            return results;
+        }
+
+        List<Future<T>> futures = new ArrayList<>(shards.size());
+        for (int shard : shards) {
+            futures.add(fanOutExecutor.submit(() -> queryShard(shard, query)));
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fanOutTimeoutMillis);
+        List<T> results = new ArrayList<>(shards.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta a los shards interrumpida", e);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Los shards no respondieron en " + fanOutTimeoutMillis + " ms", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private <T> T queryShard(int shard, IntFunction<T> query) {
+        return ShardRouting.callOn(shard, () -> readOnlyTransaction.execute(status -> query.apply(shard)));
+    }
+
+    /**
+     * Mezcla k listas ya ordenadas según {@code order}, hasta {@code limit} elementos.
+     */
+    public static <T> List<T> mergeSorted(List<List<T>> sortedLists, Comparator<? super T> order, int limit) {
+        if (sortedLists.size() == 1) {
+            List<T> only = sortedLists.get(0);
+            return only.size() > limit ? new ArrayList<>(only.subList(0, limit)) : only;
+        }
+
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>(Math.max(1, sortedLists.size()),
+                (a, b) -> order.compare(a.value, b.value));
+        int total = 0;
+        for (List<T> list : sortedLists) {
+            total += list.size();
+            Iterator<T> iterator = list.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Head<>(iterator.next(), iterator));
+            }
+        }
+
+        List<T> merged = new ArrayList<>(Math.min(total, limit));
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Head<T> head = heads.poll();
+            merged.add(head.value);
+            if (head.rest.hasNext()) {
+                head.value = head.rest.next();
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (fanOutExecutor != null) {
+            fanOutExecutor.shutdownNow();
+        }
+    }
+
+    private static final class Head<T> {
+        private T value;
+        private final Iterator<T> rest;
+
+        private Head(T value, Iterator<T> rest) {
+            this.value = value;
+            this.rest = rest;
+        }
+    }
+}
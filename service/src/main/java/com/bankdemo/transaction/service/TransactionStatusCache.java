@@ -0,0 +1,37 @@
+package com.bankdemo.transaction.service;
+
+import com.bankdemo.transaction.admission.StripedLruMap;
+import com.bankdemo.transaction.dto.TransactionStatusDTO;
+
+/**
+ * Estados finales (COMPLETED o FAILED) ya consultados. Una transferencia finalizada no cambia más (ni al
+ * archivarse), así que se pueden servir sin caducidad y sin invalidar; los estados intermedios nunca se guardan.
+ * Las entradas se guardan en un {@link StripedLruMap} acotado.
+ */
+public class TransactionStatusCache {
+
+    private final StripedLruMap<TransactionStatusDTO> entries;
+
+    public TransactionStatusCache(int stripes, int maxEntries) {
+        this.entries = new StripedLruMap<>(stripes, maxEntries);
+    }
+
+    public TransactionStatusDTO get(Long transactionId) {
+        return entries.get(transactionId);
+    }
+
+    /**
+     * Guarda el estado solo si es final; devuelve si se guardó.
+     */
+    public boolean putIfFinal(TransactionStatusDTO status) {
+        if (status.getStatus() == null || !status.getStatus().isFinal()) {
+            return false;
+        }
+        entries.put(status.getTransactionId(), status);
+        return true;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
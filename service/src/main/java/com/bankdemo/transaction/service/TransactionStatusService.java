@@ -0,0 +1,127 @@
+package com.bankdemo.transaction.service;
+
+import com.bankdemo.transaction.datasource.ReadRouting;
+import com.bankdemo.transaction.datasource.RecentWriteTracker;
+import com.bankdemo.transaction.dto.TransactionStatusDTO;
+import com.bankdemo.transaction.exception.TransactionException;
+import com.bankdemo.transaction.repository.ArchivedTransactionRepository;
+import com.bankdemo.transaction.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Consulta masiva de estados para los procesos de liquidación: los finales salen de {@link TransactionStatusCache}
+ * y el resto se resuelve con una consulta {@code IN} (por shard, si hay sharding) sobre la tabla de transferencias
+ * y, para los que falten, sobre la de archivo. Los ids inexistentes no aparecen en la respuesta.
+ */
+@Service
+public class TransactionStatusService {
+
+    private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final TransactionShardRouter shardRouter;
+    private final RecentWriteTracker recentWrites;
+    private final TransactionStatusCache cache;
+    private final int maxIds;
+
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public TransactionStatusService(
+            TransactionRepository transactionRepository,
+            ArchivedTransactionRepository archivedTransactionRepository,
+            TransactionShardRouter shardRouter,
+            RecentWriteTracker recentWrites,
+            MeterRegistry meterRegistry,
+            @Value("${transaction.status-lookup.max-ids:1000}") int maxIds,
+            @Value("${transaction.status-lookup.cache-size:100000}") int cacheSize) {
+        this.transactionRepository = transactionRepository;
+        this.archivedTransactionRepository = archivedTransactionRepository;
+        this.shardRouter = shardRouter;
+        this.recentWrites = recentWrites;
+        this.cache = new TransactionStatusCache(16, cacheSize);
+        this.maxIds = maxIds;
+
+        this.cacheHits = Counter.builder("transaction.status_lookup.cache")
+                .tag("result", "hit")
+                .description("Estados de la consulta masiva servidos desde la caché de estados finales")
+                .register(meterRegistry);
+        this.cacheMisses = Counter.builder("transaction.status_lookup.cache")
+                .tag("result", "miss")
+                .description("Estados de la consulta masiva resueltos en la base de datos")
+                .register(meterRegistry);
+        Gauge.builder("transaction.status_lookup.cache.size", cache, TransactionStatusCache::size)
+                .description("Estados finales en caché")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Estados de las transferencias pedidas, en el orden de la petición y sin repetidos.
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionStatusDTO> getStatuses(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new TransactionException("La lista de ids no puede estar vacía");
+        }
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        if (distinct.size() > maxIds) {
+            throw new TransactionException("Se admiten como máximo " + maxIds + " ids por consulta");
+        }
+
+        Map<Long, TransactionStatusDTO> found = new HashMap<>(distinct.size() * 2);
+        List<Long> missing = new ArrayList<>();
+        for (Long id : distinct) {
+            TransactionStatusDTO cached = cache.get(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        cacheHits.increment(found.size());
+        cacheMisses.increment(missing.size());
+
+        if (!missing.isEmpty()) {
+            List<TransactionStatusDTO> loaded;
+            if (shardRouter.isSharded()) {
+                loaded = shardRouter.findByTransactionIds(missing, this::findStatuses);
+            } else {
+                // Alguna recién escrita en este nodo: puede no haber llegado aún a la réplica
+                if (missing.stream().anyMatch(recentWrites::isRecentTransaction)) {
+                    ReadRouting.usePrimaryForCurrentTransaction();
+                }
+                loaded = findStatuses(missing);
+            }
+            for (TransactionStatusDTO status : loaded) {
+                found.put(status.getTransactionId(), status);
+                cache.putIfFinal(status);
+            }
+        }
+
+        return distinct.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    // Las finalizadas antiguas viven en la tabla de archivo: solo se busca allí lo que no esté en la principal
+    private List<TransactionStatusDTO> findStatuses(List<Long> ids) {
+        List<TransactionStatusDTO> statuses = new ArrayList<>(transactionRepository.findStatusesByIdIn(ids));
+        if (statuses.size() < ids.size()) {
+            Set<Long> remaining = new LinkedHashSet<>(ids);
+            statuses.forEach(status -> remaining.remove(status.getTransactionId()));
+            statuses.addAll(archivedTransactionRepository.findStatusesByIdIn(remaining));
+        }
+        return statuses;
+    }
+}
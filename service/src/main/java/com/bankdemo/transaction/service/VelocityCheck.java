@@ -0,0 +1,126 @@
+package com.bankdemo.transaction.service;
+
+import com.bankdemo.transaction.admission.StripedSlidingWindowLimiter;
+import com.bankdemo.transaction.config.VelocityProperties;
+import com.bankdemo.transaction.exception.AdmissionRejectedException;
+import com.bankdemo.transaction.model.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Límites de velocidad por cuenta de origen (número de transferencias e importe por ventana) evaluados en
+ * memoria al inicio de {@code createTransaction}, antes de cualquier llamada al servicio de cuentas: un rechazo
+ * no cuesta nada aguas abajo. Las transferencias que no siguen adelante (rechazadas por validación, fallidas al
+ * guardar o publicar, o revertidas) se descuentan.
+ *
+ * <p>Los contadores son por instancia, como las retenciones de {@link AccountHoldLedger}: con varias instancias
+ * detrás de un balanceador sin afinidad por cuenta, el límite efectivo es el configurado por el número de
+ * instancias.</p>
+ */
+@Component
+@EnableConfigurationProperties(VelocityProperties.class)
+@Slf4j
+public class VelocityCheck {
+
+    /**
+     * Operación anotada en las ventanas, para deshacerla si la transferencia no sigue adelante. Se deshace una
+     * sola vez aunque la liberen varios caminos de error (el fallo en el método y la reversión posterior).
+     */
+    public static final class Reservation {
+
+        private final long accountId;
+        private final long amountMinor;
+        private final long recordedAtNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        public Reservation(long accountId, long amountMinor, long recordedAtNanos) {
+            this.accountId = accountId;
+            this.amountMinor = amountMinor;
+            this.recordedAtNanos = recordedAtNanos;
+        }
+    }
+
+    private static final long SECOND_NANOS = 1_000_000_000L;
+
+    private final StripedSlidingWindowLimiter limiter;
+    private final Map<String, Counter> rejectedByRule = new HashMap<>();
+
+    public VelocityCheck(VelocityProperties properties, MeterRegistry meterRegistry) {
+        List<StripedSlidingWindowLimiter.Rule> rules = properties.getRules().stream()
+                .map(VelocityCheck::toRule)
+                .toList();
+        this.limiter = properties.isEnabled() && !rules.isEmpty()
+                ? new StripedSlidingWindowLimiter(properties.getStripes(), properties.getMaxAccounts(),
+                        properties.getBuckets(), rules)
+                : null;
+
+        for (StripedSlidingWindowLimiter.Rule rule : rules) {
+            rejectedByRule.put(rule.name(), Counter.builder("transaction.velocity.rejected")
+                    .tag("rule", rule.name())
+                    .description("Transferencias rechazadas por límite de velocidad")
+                    .register(meterRegistry));
+        }
+        if (limiter != null) {
+            Gauge.builder("transaction.velocity.accounts", limiter, StripedSlidingWindowLimiter::trackedKeys)
+                    .description("Cuentas con ventanas de velocidad en memoria")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Anota la transferencia en las ventanas de la cuenta o la rechaza con 429 si supera alguna regla.
+     *
+     * @return la anotación, o {@code null} si los límites están desactivados
+     */
+    public Reservation check(Long accountId, Money monto) {
+        if (limiter == null || accountId == null) {
+            return null;
+        }
+        StripedSlidingWindowLimiter.Decision decision = limiter.tryRecord(accountId, monto.getMinorUnits());
+        if (!decision.allowed()) {
+            String rule = decision.violated().name();
+            rejectedByRule.get(rule).increment();
+            log.warn("Transferencia de la cuenta {} rechazada por límite de velocidad '{}'", accountId, rule);
+            throw new AdmissionRejectedException(
+                    "La cuenta " + accountId + " superó el límite de transferencias '" + rule + "', intente más tarde",
+                    Math.max(1L, (decision.retryAfterNanos() + SECOND_NANOS - 1) / SECOND_NANOS));
+        }
+        return new Reservation(accountId, monto.getMinorUnits(), decision.recordedAtNanos());
+    }
+
+    public void release(Reservation reservation) {
+        if (limiter != null && reservation != null && reservation.released.compareAndSet(false, true)) {
+            limiter.undo(reservation.accountId, reservation.amountMinor, reservation.recordedAtNanos);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.velocity.evict-interval-ms:60000}")
+    public void evictIdleAccounts() {
+        if (limiter != null) {
+            int evicted = limiter.evictIdle();
+            if (evicted > 0) {
+                log.debug("{} cuentas sin actividad eliminadas de los límites de velocidad", evicted);
+            }
+        }
+    }
+
+    private static StripedSlidingWindowLimiter.Rule toRule(VelocityProperties.Rule rule) {
+        if (rule.getWindow() == null || rule.getWindow().isNegative() || rule.getWindow().isZero()) {
+            throw new IllegalStateException("transaction.velocity.rules: cada regla necesita una ventana positiva");
+        }
+        String name = StringUtils.hasText(rule.getName()) ? rule.getName() : rule.getWindow().toString();
+        long maxAmount = rule.getMaxAmount() != null ? Money.of(rule.getMaxAmount()).getMinorUnits() : 0L;
+        return new StripedSlidingWindowLimiter.Rule(name, rule.getWindow().toNanos(), rule.getMaxCount(), maxAmount);
+    }
+}
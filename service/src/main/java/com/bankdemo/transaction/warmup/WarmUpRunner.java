@@ -0,0 +1,137 @@
+package com.bankdemo.transaction.warmup;
+
+import com.bankdemo.transaction.consumer.TransactionResultConsumer;
+import com.bankdemo.transaction.dto.TransactionResponseDTO;
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.model.Transaction;
+import com.bankdemo.transaction.model.Transaction.TransactionStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Fase de calentamiento tras el arranque: ejecuta los caminos calientes (controlador y {@code TransactionServiceImpl}
+ * por HTTP local, serialización de eventos y estados, consumidor de resultados) con datos sintéticos para que el JIT
+ * los compile antes de recibir tráfico real.
+ *
+ * <p>Se ejecuta como {@link ApplicationRunner}: Spring Boot no pasa el estado de readiness a
+ * {@code ACCEPTING_TRAFFIC} hasta que terminan los runners, así que {@code /actuator/health/readiness} responde
+ * OUT_OF_SERVICE mientras dura. Termina al completar {@code iterations} o al agotar {@code max-duration-ms}.</p>
+ *
+ * <p>Se usan los beans reales, no copias con dependencias simuladas, para que los perfiles de tipos que recoge
+ * el JIT sean los de producción. Las entradas paran antes de cualquier efecto: importes por debajo del mínimo,
+ * cuentas e ids negativos que no existen y resultados para transacciones inexistentes (la actualización
+ * condicional no encuentra fila). No se llama al servicio de cuentas ni se publica nada en Kafka.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "transaction.warm-up.enabled", havingValue = "true")
+@Slf4j
+public class WarmUpRunner implements ApplicationRunner {
+
+    private final ObjectMapper objectMapper;
+    private final TransactionResultConsumer resultConsumer;
+    private final Environment environment;
+    private final int iterations;
+    private final long maxDurationMillis;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    public WarmUpRunner(
+            ObjectMapper objectMapper,
+            TransactionResultConsumer resultConsumer,
+            Environment environment,
+            @Value("${transaction.warm-up.iterations:2000}") int iterations,
+            @Value("${transaction.warm-up.max-duration-ms:20000}") long maxDurationMillis) {
+        this.objectMapper = objectMapper;
+        this.resultConsumer = resultConsumer;
+        this.environment = environment;
+        this.iterations = iterations;
+        this.maxDurationMillis = maxDurationMillis;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Sin servidor web (p. ej. pruebas con entorno simulado) se calienta solo lo que no pasa por HTTP
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        String baseUrl = port != null ? "http://localhost:" + port + "/transactions" : null;
+
+        long start = System.nanoTime();
+        long deadline = start + Duration.ofMillis(maxDurationMillis).toNanos();
+        int completed = 0;
+        try {
+            while (completed < iterations && System.nanoTime() - deadline < 0) {
+                runIteration(completed, baseUrl);
+                completed++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Una dependencia caída no debe dejar la instancia sin readiness: se deja de calentar y se sigue
+            log.warn("Calentamiento interrumpido en la iteración {}: {}", completed, e.getMessage());
+        }
+
+        log.info("Calentamiento completado: {} de {} iteraciones en {} ms", completed, iterations,
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private void runIteration(int iteration, String baseUrl) throws IOException, InterruptedException {
+        // Cuenta distinta en cada iteración para no agotar el límite de tasa por cuenta
+        long account = -1L - iteration;
+
+        Transaction transaction = syntheticTransaction(account);
+        objectMapper.writeValueAsString(transaction);
+        objectMapper.writeValueAsString(new TransactionResponseDTO(transaction.getId(), transaction.getStatus(),
+                transaction.getFecha(), transaction.getFromAccount(), transaction.getToAccount(),
+                transaction.getMonto(), transaction.getErrorMessage()));
+
+        resultConsumer.processTransactionResult(
+                "{\"id\": " + account + ", \"status\": \"" + (iteration % 2 == 0 ? "COMPLETED" : "FAILED")
+                        + "\", \"errorMessage\": \"calentamiento\"}");
+
+        if (baseUrl != null) {
+            // Por debajo del monto mínimo: recorre validación, admisión y servicio y se rechaza con 400
+            send(HttpRequest.newBuilder(URI.create(baseUrl))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"fromAccount\": " + account
+                            + ", \"toAccount\": " + (account - 1) + ", \"monto\": 1.00}"))
+                    .build());
+            send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + account)).build());
+            send(HttpRequest.newBuilder(URI.create(baseUrl + "/account/" + account)).build());
+        }
+    }
+
+    private void send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 500) {
+            throw new IllegalStateException(request.uri().getPath() + " respondió " + response.statusCode());
+        }
+    }
+
+    private static Transaction syntheticTransaction(long account) {
+        Transaction transaction = new Transaction();
+        transaction.setId(account);
+        transaction.setFromAccount(account);
+        transaction.setToAccount(account - 1);
+        transaction.setMonto(Money.ofMinor(100_000L));
+        transaction.setFecha(LocalDateTime.now());
+        transaction.setStatus(TransactionStatus.PROCESSING);
+        transaction.setVersion(0L);
+        return transaction;
+    }
+}
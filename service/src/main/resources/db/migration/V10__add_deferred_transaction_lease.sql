@@ -0,0 +1,4 @@
+-- Reserva de entradas de la cola diferida: el nodo que la reprocesa la marca con su token hasta lease_until,
+-- así dos nodos que leen el mismo lote no validan ni publican dos veces la misma transferencia
+ALTER TABLE deferred_transactions ADD COLUMN lease_owner VARCHAR(100) NULL;
+ALTER TABLE deferred_transactions ADD COLUMN lease_until TIMESTAMP NULL;
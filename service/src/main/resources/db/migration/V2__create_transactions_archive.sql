@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS transactions_archive (
+                                                    id BIGINT PRIMARY KEY,
+                                                    from_account BIGINT NOT NULL,
+                                                    to_account BIGINT NOT NULL,
+                                                    monto DECIMAL(19, 2) NOT NULL,
+    fecha TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    error_message VARCHAR(255),
+    archivado_en TIMESTAMP NOT NULL
+    );
+
+CREATE INDEX idx_transactions_archive_fecha ON transactions_archive (fecha);
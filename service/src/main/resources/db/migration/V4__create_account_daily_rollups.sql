@@ -0,0 +1,32 @@
+CREATE TABLE IF NOT EXISTS account_daily_rollups (
+                                                     account_id BIGINT NOT NULL,
+                                                     dia DATE NOT NULL,
+                                                     direccion VARCHAR(10) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    cantidad BIGINT NOT NULL,
+    total DECIMAL(19, 2) NOT NULL,
+    PRIMARY KEY (account_id, dia, direccion, status)
+    );
+
+-- Carga inicial con el histórico ya finalizado (tabla principal y archivo)
+INSERT INTO account_daily_rollups (account_id, dia, direccion, status, cantidad, total)
+SELECT account_id, dia, direccion, status, SUM(cantidad), SUM(total)
+FROM (
+         SELECT from_account AS account_id, CAST(fecha AS DATE) AS dia, 'SENT' AS direccion, status,
+                COUNT(*) AS cantidad, SUM(monto) AS total
+         FROM transactions WHERE status IN ('COMPLETED', 'FAILED')
+         GROUP BY from_account, CAST(fecha AS DATE), status
+         UNION ALL
+         SELECT to_account, CAST(fecha AS DATE), 'RECEIVED', status, COUNT(*), SUM(monto)
+         FROM transactions WHERE status IN ('COMPLETED', 'FAILED')
+         GROUP BY to_account, CAST(fecha AS DATE), status
+         UNION ALL
+         SELECT from_account, CAST(fecha AS DATE), 'SENT', status, COUNT(*), SUM(monto)
+         FROM transactions_archive
+         GROUP BY from_account, CAST(fecha AS DATE), status
+         UNION ALL
+         SELECT to_account, CAST(fecha AS DATE), 'RECEIVED', status, COUNT(*), SUM(monto)
+         FROM transactions_archive
+         GROUP BY to_account, CAST(fecha AS DATE), status
+     ) historico
+GROUP BY account_id, dia, direccion, status;
@@ -0,0 +1,9 @@
+-- Transferencias aceptadas con el circuito hacia account-service abierto, pendientes de validar
+CREATE TABLE IF NOT EXISTS deferred_transactions (
+                                                     transaction_id BIGINT PRIMARY KEY,
+                                                     prioridad INT NOT NULL DEFAULT 0,
+                                                     encolada_en TIMESTAMP NOT NULL,
+                                                     intentos INT NOT NULL DEFAULT 0
+    );
+
+CREATE INDEX idx_deferred_transactions_orden ON deferred_transactions (prioridad, encolada_en);
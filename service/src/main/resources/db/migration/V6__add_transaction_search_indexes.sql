@@ -0,0 +1,8 @@
+-- Índices para la búsqueda de operaciones: cada combinación admitida por TransactionSearchPlanner
+-- arranca por la columna de igualdad y recorre fecha en orden; status y monto van al final para
+-- filtrarse dentro del índice sin leer la fila
+CREATE INDEX idx_transactions_from_fecha ON transactions (from_account, fecha, status, monto);
+
+CREATE INDEX idx_transactions_to_fecha ON transactions (to_account, fecha, status, monto);
+
+CREATE INDEX idx_transactions_status_fecha ON transactions (status, fecha, monto);
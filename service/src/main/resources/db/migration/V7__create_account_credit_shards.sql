@@ -0,0 +1,7 @@
+-- Localizador de abonos con sharding: en el shard de cada cuenta, los otros shards que guardan transferencias
+-- recibidas por ella (las transferencias viven en el shard de la cuenta de origen). Sin sharding queda vacía.
+CREATE TABLE account_credit_shards (
+                                       account_id BIGINT NOT NULL,
+                                       shard INT NOT NULL,
+                                       PRIMARY KEY (account_id, shard)
+);
@@ -0,0 +1,3 @@
+-- Versión para el bloqueo optimista de transactions: los cambios de estado la incrementan en la misma sentencia
+-- condicional (UPDATE ... WHERE id = ? AND status IN (...)); las filas existentes empiezan en 0
+ALTER TABLE transactions ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
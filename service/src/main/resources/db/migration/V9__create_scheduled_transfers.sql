@@ -0,0 +1,24 @@
+-- Transferencias programadas (única o periódica). proxima_ejecucion es la ocurrencia número 'ocurrencia'
+-- contada desde primera_ejecucion; lease_owner/lease_until indican qué nodo la tiene cargada para ejecutarla.
+-- DATETIME y no TIMESTAMP: las órdenes periódicas pueden llegar más allá de 2038
+CREATE TABLE IF NOT EXISTS scheduled_transfers (
+                                                   id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                                   from_account BIGINT NOT NULL,
+                                                   to_account BIGINT NOT NULL,
+                                                   monto DECIMAL(19, 2) NOT NULL,
+    frecuencia VARCHAR(10) NOT NULL,
+    primera_ejecucion DATETIME NOT NULL,
+    hasta DATETIME NULL,
+    ocurrencia INT NOT NULL DEFAULT 0,
+    proxima_ejecucion DATETIME NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    lease_owner VARCHAR(100) NULL,
+    lease_until DATETIME NULL,
+    last_transaction_id BIGINT NULL,
+    error_message VARCHAR(255) NULL,
+    version BIGINT NOT NULL DEFAULT 0
+    );
+
+-- Carga de las próximas a vencer: WHERE status = 'ACTIVE' AND proxima_ejecucion < ?
+CREATE INDEX idx_scheduled_transfers_due ON scheduled_transfers (status, proxima_ejecucion);
+CREATE INDEX idx_scheduled_transfers_from ON scheduled_transfers (from_account);
@@ -0,0 +1,184 @@
+package com.bankdemo.transaction.integration;
+
+import com.bankdemo.transaction.client.AccountServiceClient;
+import com.bankdemo.transaction.datasource.ShardResolver;
+import com.bankdemo.transaction.dto.AccountDTO;
+import com.bankdemo.transaction.dto.TransactionRequestDTO;
+import com.bankdemo.transaction.exception.AccountServiceUnavailableException;
+import com.bankdemo.transaction.exception.TransactionException;
+import com.bankdemo.transaction.model.DeferredTransaction;
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.model.Transaction;
+import com.bankdemo.transaction.model.Transaction.TransactionStatus;
+import com.bankdemo.transaction.producer.TransactionEventProducer;
+import com.bankdemo.transaction.repository.DeferredTransactionRepository;
+import com.bankdemo.transaction.repository.TransactionRepository;
+import com.bankdemo.transaction.service.AccountRollupService;
+import com.bankdemo.transaction.service.DeferredTransactionDrainer;
+import com.bankdemo.transaction.service.DeferredTransactionQueue;
+import com.bankdemo.transaction.service.TransactionServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reproceso de la cola diferida con el circuito cerrado. El drenado programado no llega a ejecutarse durante
+ * las pruebas: cada una llama a {@link DeferredTransactionDrainer#drain()} directamente.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:deferreddb;MODE=MySQL",
+        "transaction.deferred.enabled=true",
+        "transaction.deferred.drain-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1, topics = {"transaction-events", "transaction-results"})
+@DirtiesContext
+public class DeferredTransactionIntegrationTest {
+
+    @Autowired
+    private DeferredTransactionDrainer drainer;
+
+    @Autowired
+    private DeferredTransactionQueue deferredQueue;
+
+    @Autowired
+    private DeferredTransactionRepository deferredRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionServiceImpl transactionService;
+
+    @Autowired
+    private AccountRollupService rollupService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private AccountServiceClient accountServiceClient;
+
+    @MockBean
+    private TransactionEventProducer eventProducer;
+
+    private AccountDTO account;
+
+    @BeforeEach
+    void setUp() {
+        deferredRepository.deleteAll();
+        transactionRepository.deleteAll();
+
+        account = new AccountDTO();
+        account.setSaldo(Money.valueOf("1000000.00"));
+        when(accountServiceClient.validateAccount(anyLong(), any())).thenReturn(true);
+    }
+
+    @Test
+    void drain_ConcurrentNodesReplayEntryOnce() throws Exception {
+        // La consulta tarda lo bastante para que ambos nodos lean el mismo lote antes de que nadie confirme
+        when(accountServiceClient.getAccount(anyLong())).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return account;
+        });
+        Long id = enqueue(1001L);
+
+        // Segundo nodo: otro drenador sobre la misma base
+        DeferredTransactionDrainer otherNode = new DeferredTransactionDrainer(deferredQueue, deferredRepository,
+                transactionRepository, transactionService, eventProducer, rollupService, transactionTemplate,
+                shardResolver, meterRegistry, 100, 4, 60, 60_000);
+        ExecutorService nodes = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            Future<?> first = nodes.submit(() -> {
+                start.await();
+                drainer.drain();
+                return null;
+            });
+            Future<?> second = nodes.submit(() -> {
+                start.await();
+                otherNode.drain();
+                return null;
+            });
+            start.countDown();
+            first.get(30, TimeUnit.SECONDS);
+            second.get(30, TimeUnit.SECONDS);
+        } finally {
+            nodes.shutdownNow();
+            otherNode.shutdown();
+        }
+
+        verify(eventProducer, times(1)).sendTransactionEvent(any(Transaction.class));
+        assertEquals(TransactionStatus.PROCESSING, transactionRepository.findById(id).orElseThrow().getStatus());
+        assertEquals(0, deferredRepository.count());
+    }
+
+    @Test
+    void drain_TransientFailureKeepsEntryQueued() {
+        // El servicio de cuentas sigue sin responder aunque el circuito no esté abierto (p. ej. timeouts)
+        when(accountServiceClient.getAccount(anyLong())).thenThrow(
+                new AccountServiceUnavailableException("Error en servicio externo al verificar cuenta: timeout", 5L));
+        Long id = enqueue(1001L);
+
+        drainer.drain();
+
+        // Sigue pendiente y en cola, con un intento más y libre para la próxima ronda
+        assertEquals(TransactionStatus.PENDING, transactionRepository.findById(id).orElseThrow().getStatus());
+        DeferredTransaction entry = deferredRepository.findById(id).orElseThrow();
+        assertEquals(1, entry.getIntentos());
+        assertNull(entry.getLeaseOwner());
+        verify(eventProducer, never()).sendTransactionEvent(any(Transaction.class));
+    }
+
+    @Test
+    void drain_BusinessRejectionFailsTransfer() {
+        // El servicio responde: la cuenta de origen no existe
+        when(accountServiceClient.getAccount(anyLong()))
+                .thenThrow(new TransactionException("Cuenta no encontrada con ID: 1001"));
+        Long id = enqueue(1001L);
+
+        drainer.drain();
+
+        Transaction transaction = transactionRepository.findById(id).orElseThrow();
+        assertEquals(TransactionStatus.FAILED, transaction.getStatus());
+        assertEquals("Cuenta no encontrada con ID: 1001", transaction.getErrorMessage());
+        assertEquals(0, deferredRepository.count());
+        verify(eventProducer, never()).sendTransactionEvent(any(Transaction.class));
+    }
+
+    private Long enqueue(Long fromAccount) {
+        TransactionRequestDTO request = new TransactionRequestDTO();
+        request.setFromAccount(fromAccount);
+        request.setToAccount(2001L);
+        request.setMonto(Money.valueOf("1500.00"));
+        return transactionTemplate.execute(status -> deferredQueue.enqueue(request)).getId();
+    }
+}
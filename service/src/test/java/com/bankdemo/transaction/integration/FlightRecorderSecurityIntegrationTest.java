@@ -0,0 +1,60 @@
+package com.bankdemo.transaction.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * /actuator/jfr expuesto a propósito: sin las credenciales de {@code transaction.jfr.*} no responde.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jfrsecuritydb;MODE=MySQL",
+        "management.endpoints.web.exposure.include=health,jfr",
+        "transaction.jfr.username=ops",
+        "transaction.jfr.password=secreto"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1, topics = {"transaction-events", "transaction-results"})
+@DirtiesContext
+public class FlightRecorderSecurityIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void jfr_RequiresCredentials() throws Exception {
+        mockMvc.perform(get("/actuator/jfr"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/actuator/jfr"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/jfr").header(HttpHeaders.AUTHORIZATION, basic("ops", "otra")))
+                .andExpect(status().isUnauthorized());
+        // El usuario genérico no tiene el rol
+        mockMvc.perform(get("/actuator/jfr").header(HttpHeaders.AUTHORIZATION, basic("dummy", "dummy")))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/actuator/jfr").header(HttpHeaders.AUTHORIZATION, basic("ops", "secreto")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("NONE"));
+    }
+
+    private static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString(
+                (username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+}
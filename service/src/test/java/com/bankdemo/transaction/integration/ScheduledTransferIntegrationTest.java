@@ -0,0 +1,252 @@
+package com.bankdemo.transaction.integration;
+
+import com.bankdemo.transaction.client.AccountServiceClient;
+import com.bankdemo.transaction.dto.AccountDTO;
+import com.bankdemo.transaction.exception.AccountServiceUnavailableException;
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.model.ScheduledTransfer;
+import com.bankdemo.transaction.model.ScheduledTransfer.Frecuencia;
+import com.bankdemo.transaction.model.ScheduledTransfer.ScheduleStatus;
+import com.bankdemo.transaction.model.Transaction;
+import com.bankdemo.transaction.producer.TransactionEventProducer;
+import com.bankdemo.transaction.repository.ScheduledTransferRepository;
+import com.bankdemo.transaction.repository.TransactionRepository;
+import com.bankdemo.transaction.service.ScheduledTransferService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Motor de transferencias programadas con cargas frecuentes: cada prueba espera a que el motor ejecute
+ * (o no) las ocurrencias, sin llamarlo directamente.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:scheduleddb;MODE=MySQL",
+        "transaction.scheduled.enabled=true",
+        "transaction.scheduled.load-interval-ms=200",
+        "transaction.scheduled.tick-ms=20",
+        "transaction.scheduled.lookahead-ms=5000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1, topics = {"transaction-events", "transaction-results"})
+@DirtiesContext
+public class ScheduledTransferIntegrationTest {
+
+    private static final long TIMEOUT_MILLIS = 15_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ScheduledTransferRepository scheduledRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ScheduledTransferService scheduledTransferService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private AccountServiceClient accountServiceClient;
+
+    @MockBean
+    private TransactionEventProducer eventProducer;
+
+    @BeforeEach
+    void setUp() {
+        scheduledRepository.deleteAll();
+        transactionRepository.deleteAll();
+
+        AccountDTO account = new AccountDTO();
+        account.setSaldo(Money.valueOf("1000000.00"));
+        when(accountServiceClient.getAccount(anyLong())).thenReturn(account);
+        when(accountServiceClient.validateAccount(anyLong(), any())).thenReturn(true);
+        // La cuenta 3001 no tiene saldo
+        when(accountServiceClient.validateAccount(eq(3001L), any())).thenReturn(false);
+        doNothing().when(eventProducer).sendTransactionEvent(any(Transaction.class));
+    }
+
+    @Test
+    void engine_ExecutesDueOccurrencesOnce() throws Exception {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Long unica = create(1001L, Frecuencia.UNICA, now.plusSeconds(1));
+        // Debió ejecutarse ayer y hoy: se ejecuta una vez y pasa a mañana
+        LocalDateTime primeraDiaria = now.minusDays(1).minusMinutes(1);
+        Long diaria = create(1002L, Frecuencia.DIARIA, primeraDiaria);
+
+        await(() -> executed(unica) && executed(diaria));
+        // Varias cargas más: ninguna debe volver a ejecutarlas
+        Thread.sleep(1_000);
+
+        assertEquals(2, transactionRepository.count());
+        ScheduledTransfer unicaRow = scheduledRepository.findById(unica).orElseThrow();
+        assertEquals(ScheduleStatus.FINISHED, unicaRow.getStatus());
+        ScheduledTransfer diariaRow = scheduledRepository.findById(diaria).orElseThrow();
+        assertEquals(ScheduleStatus.ACTIVE, diariaRow.getStatus());
+        assertEquals(2, diariaRow.getOcurrencia());
+        assertEquals(primeraDiaria.plusDays(2), diariaRow.getProximaEjecucion());
+        assertNull(diariaRow.getLeaseOwner());
+
+        Transaction transaction = transactionRepository.findById(diariaRow.getLastTransactionId()).orElseThrow();
+        assertEquals(1002L, transaction.getFromAccount());
+        assertEquals(Money.valueOf("1500.00"), transaction.getMonto());
+    }
+
+    @Test
+    void engine_RecordsRejectedOccurrenceAndMovesOn() throws Exception {
+        Long id = create(3001L, Frecuencia.UNICA, LocalDateTime.now());
+
+        await(() -> scheduledRepository.findById(id).orElseThrow().getStatus() == ScheduleStatus.FINISHED);
+
+        ScheduledTransfer row = scheduledRepository.findById(id).orElseThrow();
+        assertEquals("La cuenta de origen no tiene saldo suficiente", row.getErrorMessage());
+        assertNull(row.getLastTransactionId());
+        assertEquals(0, transactionRepository.count());
+    }
+
+    @Test
+    void engine_DoesNotTakeOccurrenceLeasedByAnotherNode() throws Exception {
+        Long id = create(1001L, Frecuencia.UNICA, LocalDateTime.now().plusSeconds(30));
+        LocalDateTime now = LocalDateTime.now();
+        // Otro nodo la tiene reservada y vence ya
+        ScheduledTransfer leased = scheduledRepository.findById(id).orElseThrow();
+        leased.setProximaEjecucion(now.minusSeconds(1));
+        leased.setLeaseOwner("otro-nodo#1");
+        leased.setLeaseUntil(now.plusHours(1));
+        scheduledRepository.save(leased);
+
+        // Ya vencida, pero con lease ajeno vigente
+        assertEquals(0, (int) transactionTemplate.execute(status ->
+                scheduledRepository.claim(List.of(id), "intruso#1", now.plusHours(1), now)));
+        assertNull(scheduledTransferService.executeOccurrence(id, "intruso#1", LocalDateTime.now()));
+
+        Thread.sleep(1_000);
+
+        ScheduledTransfer row = scheduledRepository.findById(id).orElseThrow();
+        assertEquals("otro-nodo#1", row.getLeaseOwner());
+        assertEquals(ScheduleStatus.ACTIVE, row.getStatus());
+        assertEquals(0, transactionRepository.count());
+    }
+
+    @Test
+    void engine_RetriesOccurrenceWhileAccountServiceUnavailable() throws Exception {
+        // Dos cargas seguidas sin respuesta del servicio de cuentas; a la tercera responde
+        AccountDTO account = new AccountDTO();
+        account.setSaldo(Money.valueOf("1000000.00"));
+        AccountServiceUnavailableException unavailable =
+                new AccountServiceUnavailableException("Error en servicio externo al verificar cuenta: timeout", 5L);
+        when(accountServiceClient.getAccount(4001L)).thenThrow(unavailable, unavailable).thenReturn(account);
+        Long id = create(4001L, Frecuencia.UNICA, LocalDateTime.now());
+
+        await(() -> executed(id));
+
+        ScheduledTransfer row = scheduledRepository.findById(id).orElseThrow();
+        assertEquals(ScheduleStatus.FINISHED, row.getStatus());
+        assertNull(row.getErrorMessage());
+        assertEquals(1, transactionRepository.count());
+        verify(accountServiceClient, times(3)).getAccount(4001L);
+    }
+
+    @Test
+    void executeOccurrence_RollbackSendsNoEvent() throws Exception {
+        // Lejos del horizonte de carga: solo la ejecuta la prueba
+        Long id = create(1001L, Frecuencia.UNICA, LocalDateTime.now().plusHours(1));
+        LocalDateTime now = LocalDateTime.now();
+        assertEquals(1, (int) transactionTemplate.execute(status ->
+                scheduledRepository.claim(List.of(id), "prueba#1", now.plusHours(2), now)));
+
+        // La transacción de la ocurrencia se revierte después de crear la transferencia
+        transactionTemplate.executeWithoutResult(status -> {
+            assertNotNull(scheduledTransferService.executeOccurrence(id, "prueba#1", now.plusHours(1)));
+            status.setRollbackOnly();
+        });
+
+        verify(eventProducer, never()).sendTransactionEvent(any(Transaction.class));
+        assertEquals(0, transactionRepository.count());
+        ScheduledTransfer row = scheduledRepository.findById(id).orElseThrow();
+        assertEquals(0, row.getOcurrencia());
+        assertEquals("prueba#1", row.getLeaseOwner());
+
+        // Al reintentarla y confirmar, el evento sale una sola vez
+        Long transactionId = scheduledTransferService.executeOccurrence(id, "prueba#1", now.plusHours(1));
+        verify(eventProducer, times(1)).sendTransactionEvent(argThat(t -> t.getId().equals(transactionId)));
+        assertEquals(1, transactionRepository.count());
+    }
+
+    @Test
+    void cancel_StopsPendingOccurrences() throws Exception {
+        Long id = create(1001L, Frecuencia.SEMANAL, LocalDateTime.now().plusHours(1));
+
+        mockMvc.perform(delete("/scheduled-transfers/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLED"));
+        mockMvc.perform(delete("/scheduled-transfers/" + id))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Long create(Long fromAccount, Frecuencia frecuencia, LocalDateTime primeraEjecucion) throws Exception {
+        String body = "{\"fromAccount\": " + fromAccount + ", \"toAccount\": 2001, \"monto\": 1500.00, "
+                + "\"frecuencia\": \"" + frecuencia + "\", \"primeraEjecucion\": \"" + primeraEjecucion + "\"}";
+        String response = mockMvc.perform(post("/scheduled-transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("ACTIVE"))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(response);
+        return json.get("scheduledTransferId").asLong();
+    }
+
+    private boolean executed(Long id) {
+        return scheduledRepository.findById(id).orElseThrow().getLastTransactionId() != null;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condición no alcanzada a tiempo");
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.bankdemo.transaction.integration;
+
+import com.bankdemo.transaction.client.AccountServiceClient;
+import com.bankdemo.transaction.consumer.TransactionResultConsumer;
+import com.bankdemo.transaction.datasource.ShardResolver;
+import com.bankdemo.transaction.datasource.ShardRoutingDataSource;
+import com.bankdemo.transaction.dto.AccountDTO;
+import com.bankdemo.transaction.dto.TransactionResponseDTO;
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.model.Transaction;
+import com.bankdemo.transaction.producer.TransactionEventProducer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sharding por cuenta de origen sobre tres bases H2 en memoria: cada transferencia se guarda solo en el shard
+ * de su cuenta de origen y las lecturas por cuenta reúnen los abonos que viven en otros shards.
+ * Los datos no se limpian entre pruebas (cada una crea sus transacciones en otras bases), así que cada prueba
+ * usa sus propias cuentas.
+ */
+@SpringBootTest(properties = {
+        "transaction.sharding.enabled=true",
+        "transaction.sharding.shards[0].url=jdbc:h2:mem:shard0;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "transaction.sharding.shards[0].username=sa",
+        "transaction.sharding.shards[1].url=jdbc:h2:mem:shard1;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "transaction.sharding.shards[1].username=sa",
+        "transaction.sharding.shards[2].url=jdbc:h2:mem:shard2;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "transaction.sharding.shards[2].username=sa"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1, topics = {"transaction-events", "transaction-results"})
+@DirtiesContext
+public class ShardedTransactionIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Autowired
+    private ShardRoutingDataSource shardRoutingDataSource;
+
+    @Autowired
+    private TransactionResultConsumer resultConsumer;
+
+    @MockBean
+    private AccountServiceClient accountServiceClient;
+
+    @MockBean
+    private TransactionEventProducer eventProducer;
+
+    @BeforeEach
+    void setUp() {
+        AccountDTO account = new AccountDTO();
+        account.setId(1L);
+        account.setSaldo(Money.valueOf("1000000.00"));
+        when(accountServiceClient.getAccount(anyLong())).thenReturn(account);
+        when(accountServiceClient.validateAccount(anyLong(), any())).thenReturn(true);
+        doNothing().when(eventProducer).sendTransactionEvent(any(Transaction.class));
+    }
+
+    @Test
+    void transfersLiveOnSourceShard_AndAccountHistoryMergesCredits() throws Exception {
+        long[] accounts = accountsOnDistinctShards(10_001L);
+        long owner = accounts[0];
+
+        // Dos abonos desde cuentas de otros shards y un débito propio
+        long creditFromB = createTransfer(accounts[1], owner);
+        long creditFromC = createTransfer(accounts[2], owner);
+        long debit = createTransfer(owner, accounts[1]);
+
+        assertStoredOnlyOn(creditFromB, shardResolver.shardForAccount(accounts[1]));
+        assertStoredOnlyOn(creditFromC, shardResolver.shardForAccount(accounts[2]));
+        assertStoredOnlyOn(debit, shardResolver.shardForAccount(owner));
+
+        // Fechas separadas para que el orden de la mezcla sea comprobable
+        LocalDateTime base = LocalDateTime.now().withNano(0);
+        setFecha(creditFromB, base.minusMinutes(3));
+        setFecha(debit, base.minusMinutes(2));
+        setFecha(creditFromC, base.minusMinutes(1));
+
+        mockMvc.perform(get("/transactions/" + creditFromC))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fromAccount", is((int) accounts[2])));
+
+        mockMvc.perform(get("/transactions/account/" + owner))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].transactionId", is((int) creditFromC)))
+                .andExpect(jsonPath("$[1].transactionId", is((int) debit)))
+                .andExpect(jsonPath("$[2].transactionId", is((int) creditFromB)));
+
+        // Estados de transferencias repartidas en tres shards, en el orden pedido
+        mockMvc.perform(post("/transactions/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [" + debit + ", " + creditFromB + ", " + creditFromC + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].transactionId", is((int) debit)))
+                .andExpect(jsonPath("$[1].transactionId", is((int) creditFromB)))
+                .andExpect(jsonPath("$[2].transactionId", is((int) creditFromC)))
+                .andExpect(jsonPath("$[2].status", is("PROCESSING")));
+
+        // La búsqueda pagina sobre la mezcla de shards
+        MvcResult firstPage = mockMvc.perform(get("/transactions/search")
+                        .param("cuenta", String.valueOf(owner))
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].transactionId", is((int) creditFromC)))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andReturn();
+        String cursor = objectMapper.readTree(firstPage.getResponse().getContentAsString()).path("nextCursor").asText();
+
+        mockMvc.perform(get("/transactions/search")
+                        .param("cuenta", String.valueOf(owner))
+                        .param("size", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].transactionId", is((int) creditFromB)));
+    }
+
+    @Test
+    void transactionResult_UpdatesTransactionOnItsShard() throws Exception {
+        long[] accounts = accountsOnDistinctShards(20_001L);
+        // Origen fuera del shard 0, el que se usa cuando no se fija ninguno
+        long from = shardResolver.shardForAccount(accounts[0]) != 0 ? accounts[0] : accounts[1];
+        long id = createTransfer(from, accounts[2]);
+
+        resultConsumer.processTransactionResult("{\"id\": " + id + ", \"status\": \"COMPLETED\"}");
+
+        String status = shard(shardResolver.shardForAccount(from))
+                .queryForObject("SELECT status FROM transactions WHERE id = ?", String.class, id);
+        assertEquals("COMPLETED", status);
+
+        mockMvc.perform(get("/transactions/account/" + from + "/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    private long createTransfer(long from, long to) throws Exception {
+        MvcResult result = mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromAccount\": " + from + ", \"toAccount\": " + to + ", \"monto\": 1000.00}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        TransactionResponseDTO response = objectMapper.readValue(
+                result.getResponse().getContentAsString(), TransactionResponseDTO.class);
+        return response.getTransactionId();
+    }
+
+    private void assertStoredOnlyOn(long transactionId, int expectedShard) {
+        assertEquals(expectedShard, shardResolver.shardOfTransaction(transactionId));
+        for (int shard : shardResolver.allShards()) {
+            Integer count = shard(shard).queryForObject(
+                    "SELECT COUNT(*) FROM transactions WHERE id = ?", Integer.class, transactionId);
+            assertEquals(shard == expectedShard ? 1 : 0, count, "shard " + shard);
+        }
+    }
+
+    private void setFecha(long transactionId, LocalDateTime fecha) {
+        shard(shardResolver.shardOfTransaction(transactionId))
+                .update("UPDATE transactions SET fecha = ? WHERE id = ?", Timestamp.valueOf(fecha), transactionId);
+    }
+
+    private JdbcTemplate shard(int shard) {
+        return new JdbcTemplate(shardRoutingDataSource.getShards().get(shard));
+    }
+
+    // Una cuenta por shard, empezando a buscar en 'from'
+    private long[] accountsOnDistinctShards(long from) {
+        List<Long> accounts = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+        for (long account = from; accounts.size() < shardResolver.shardCount(); account++) {
+            if (seen.add(shardResolver.shardForAccount(account))) {
+                accounts.add(account);
+            }
+        }
+        return accounts.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,627 @@
+package com.bankdemo.transaction.integration;
+
+import com.bankdemo.transaction.client.AccountServiceClient;
+import com.bankdemo.transaction.consumer.TransactionResultConsumer;
+import com.bankdemo.transaction.dto.AccountDTO;
+import com.bankdemo.transaction.dto.TransactionRequestDTO;
+import com.bankdemo.transaction.dto.TransactionResponseDTO;
+import com.bankdemo.transaction.exception.AccountServiceUnavailableException;
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.model.Transaction;
+import com.bankdemo.transaction.model.Transaction.TransactionStatus;
+import com.bankdemo.transaction.producer.TransactionEventProducer;
+import com.bankdemo.transaction.repository.AccountDailyRollupRepository;
+import com.bankdemo.transaction.repository.TransactionRepository;
+import com.bankdemo.transaction.service.AccountRollupService;
+import com.bankdemo.transaction.service.TransactionArchiveService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+// Usar import estáticos específicos para evitar ambigüedad
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1, topics = {"transaction-events", "transaction-results"})
+@DirtiesContext
+@Transactional
+public class TransactionIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountDailyRollupRepository rollupRepository;
+
+    @MockBean
+    private AccountServiceClient accountServiceClient;
+
+    @MockBean
+    private TransactionEventProducer eventProducer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionArchiveService archiveService;
+
+    @Autowired
+    private TransactionResultConsumer resultConsumer;
+
+    @SpyBean
+    private AccountRollupService rollupService;
+
+    private AccountDTO sourceAccount;
+    private AccountDTO destAccount;
+
+    @BeforeEach
+    void setUp() {
+        // Limpiar repositorio
+        transactionRepository.deleteAll();
+
+        // Preparar datos de prueba con saldos suficientes para el monto mínimo
+        sourceAccount = new AccountDTO();
+        sourceAccount.setId(1001L);
+        sourceAccount.setNombre("Cuenta Origen");
+        sourceAccount.setSaldo(Money.valueOf("5000.00"));
+
+        destAccount = new AccountDTO();
+        destAccount.setId(2001L);
+        destAccount.setNombre("Cuenta Destino");
+        destAccount.setSaldo(Money.valueOf("2000.00"));
+
+        // Configuración por defecto de los mocks
+        when(accountServiceClient.getAccount(1001L)).thenReturn(sourceAccount);
+        when(accountServiceClient.getAccount(2001L)).thenReturn(destAccount);
+        when(accountServiceClient.validateAccount(eq(1001L), any())).thenReturn(true);
+
+        // Configurar el comportamiento predeterminado para el eventProducer (corregido)
+        doNothing().when(eventProducer).sendTransactionEvent(any(Transaction.class));
+
+        // Configurar ObjectMapper para manejar LocalDateTime
+        objectMapper.findAndRegisterModules();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Limpiar después de cada prueba; las que no corren en la transacción de la prueba confirman sus filas
+        transactionRepository.deleteAll();
+        rollupRepository.deleteAll();
+        reset(accountServiceClient, eventProducer, rollupService);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // el evento se publica al confirmar
+    void createAndRetrieveTransaction() throws Exception {
+        // Crear transacción a través de la API con monto mínimo válido
+        TransactionRequestDTO request = new TransactionRequestDTO();
+        request.setFromAccount(1001L);
+        request.setToAccount(2001L);
+        request.setMonto(Money.valueOf("1000.00"));
+
+        MvcResult result = mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status", is("PROCESSING")))
+                .andExpect(jsonPath("$.monto", is(1000.00)))
+                .andReturn();
+
+        // Extraer ID de la transacción de la respuesta
+        TransactionResponseDTO response = objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                TransactionResponseDTO.class
+        );
+        Long transactionId = response.getTransactionId();
+
+        // Verificar que la transacción se guardó en la base de datos
+        Transaction savedTransaction = transactionRepository.findById(transactionId).orElse(null);
+        assertNotNull(savedTransaction);
+        assertEquals(TransactionStatus.PROCESSING, savedTransaction.getStatus());
+        assertEquals(Money.valueOf("1000.00"), savedTransaction.getMonto());
+
+        // Verificar que se puede recuperar la transacción a través de la API
+        mockMvc.perform(get("/transactions/" + transactionId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactionId", is(transactionId.intValue())))
+                .andExpect(jsonPath("$.status", is("PROCESSING")))
+                .andExpect(jsonPath("$.fromAccount", is(1001)))
+                .andExpect(jsonPath("$.toAccount", is(2001)))
+                .andExpect(jsonPath("$.monto", is(1000.0)));
+
+        // Verificar interacciones con los mocks
+        verify(accountServiceClient).getAccount(1001L);
+        verify(accountServiceClient).getAccount(2001L);
+        verify(accountServiceClient).validateAccount(eq(1001L), any());
+        verify(eventProducer).sendTransactionEvent(any(Transaction.class));
+    }
+
+    @Test
+    void createTransaction_AmountBelowMinimum() throws Exception {
+        // Intentar crear una transacción por debajo del monto mínimo
+        TransactionRequestDTO request = new TransactionRequestDTO();
+        request.setFromAccount(1001L);
+        request.setToAccount(2001L);
+        request.setMonto(Money.valueOf("999.99"));
+
+        mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("monto mínimo")));
+
+        // Verificar que no se llamaron los métodos del servicio de cuentas
+        verify(accountServiceClient, never()).getAccount(anyLong());
+        verify(accountServiceClient, never()).validateAccount(anyLong(), any());
+        verify(eventProducer, never()).sendTransactionEvent(any(Transaction.class));
+
+        // Verificar que no se guardó ninguna transacción
+        assertEquals(0, transactionRepository.count());
+    }
+
+    @Test
+    void createTransaction_AmountWithTooManyDecimals() throws Exception {
+        // Los importes se manejan en centavos: más de dos decimales no se redondea, se rechaza
+        mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromAccount\": 1001, \"toAccount\": 2001, \"monto\": 1000.001}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("decimales")));
+
+        verify(accountServiceClient, never()).getAccount(anyLong());
+    }
+
+    @Test
+    void createTransaction_AccountServiceShedsLoad() throws Exception {
+        // El limitador descarta la llamada: se responde 503 con Retry-After, no como rechazo de negocio
+        when(accountServiceClient.getAccount(1001L))
+                .thenThrow(new AccountServiceUnavailableException("Servicio de cuentas saturado", 1L));
+
+        TransactionRequestDTO request = new TransactionRequestDTO();
+        request.setFromAccount(1001L);
+        request.setToAccount(2001L);
+        request.setMonto(Money.valueOf("1000.00"));
+
+        mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+
+        assertEquals(0, transactionRepository.count());
+    }
+
+    @Test
+    void createTransaction_SourceAccountNotFound() throws Exception {
+        // Configurar mock para simular cuenta origen no encontrada
+        when(accountServiceClient.getAccount(1001L))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        // Intentar crear una transacción
+        TransactionRequestDTO request = new TransactionRequestDTO();
+        request.setFromAccount(1001L);
+        request.setToAccount(2001L);
+        request.setMonto(Money.valueOf("1000.00"));
+
+        mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("cuenta de origen")));
+
+        // Verificar que no se guardó ninguna transacción
+        assertEquals(0, transactionRepository.count());
+    }
+
+    @Test
+    void createTransaction_DestinationAccountNotFound() throws Exception {
+        // Configurar mock para simular cuenta destino no encontrada
+        when(accountServiceClient.getAccount(2001L))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        // Intentar crear una transacción
+        TransactionRequestDTO request = new TransactionRequestDTO();
+        request.setFromAccount(1001L);
+        request.setToAccount(2001L);
+        request.setMonto(Money.valueOf("1000.00"));
+
+        mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("cuenta de destino")));
+
+        // Verificar que se llamó solo al getAccount de la cuenta origen
+        verify(accountServiceClient).getAccount(1001L);
+        verify(accountServiceClient).getAccount(2001L);
+
+        // Verificar que no se guardó ninguna transacción
+        assertEquals(0, transactionRepository.count());
+    }
+
+    @Test
+    void createTransaction_InsufficientFunds() throws Exception {
+        // Configurar mock para simular fondos insuficientes
+        when(accountServiceClient.validateAccount(eq(1001L), any())).thenReturn(false);
+
+        // Intentar crear una transacción
+        TransactionRequestDTO request = new TransactionRequestDTO();
+        request.setFromAccount(1001L);
+        request.setToAccount(2001L);
+        request.setMonto(Money.valueOf("1000.00"));
+
+        mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("saldo suficiente")));
+
+        // Verificar que no se guardó ninguna transacción
+        assertEquals(0, transactionRepository.count());
+    }
+
+    @Test
+    void getTransactionsByAccount() throws Exception {
+        // Crear varias transacciones directamente en la base de datos
+        Transaction transaction1 = new Transaction();
+        transaction1.setFromAccount(1001L);
+        transaction1.setToAccount(2001L);
+        transaction1.setMonto(Money.valueOf("1000.00"));
+        transaction1.setFecha(LocalDateTime.now());
+        transaction1.setStatus(TransactionStatus.COMPLETED);
+        transactionRepository.save(transaction1);
+
+        Transaction transaction2 = new Transaction();
+        transaction2.setFromAccount(2001L);
+        transaction2.setToAccount(1001L);
+        transaction2.setMonto(Money.valueOf("1500.00"));
+        transaction2.setFecha(LocalDateTime.now().minusDays(1));
+        transaction2.setStatus(TransactionStatus.COMPLETED);
+        transactionRepository.save(transaction2);
+
+        // Consultar transacciones por cuenta a través de la API
+        mockMvc.perform(get("/transactions/account/1001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].fromAccount", is(1001)))
+                .andExpect(jsonPath("$[0].toAccount", is(2001)))
+                .andExpect(jsonPath("$[0].monto", is(1000.00)))
+                .andExpect(jsonPath("$[1].fromAccount", is(2001)))
+                .andExpect(jsonPath("$[1].toAccount", is(1001)))
+                .andExpect(jsonPath("$[1].monto", is(1500.00)));
+    }
+
+    @Test
+    void getTransactionsByAccount_NoTransactions() throws Exception {
+        // Consultar transacciones para una cuenta sin transacciones
+        mockMvc.perform(get("/transactions/account/9999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void getTransaction_NotFound() throws Exception {
+        // Intentar obtener una transacción que no existe
+        mockMvc.perform(get("/transactions/9999"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("no encontrada")));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // el evento se publica al confirmar
+    void createTransaction_EventProducerFails() throws Exception {
+        // Configurar mock para simular fallo al enviar evento
+        // Primero resetear y luego configurar el comportamiento específico
+        reset(eventProducer);
+        doThrow(new RuntimeException("Error al enviar evento"))
+                .when(eventProducer).sendTransactionEvent(any(Transaction.class));
+
+        // Intentar crear una transacción
+        TransactionRequestDTO request = new TransactionRequestDTO();
+        request.setFromAccount(1001L);
+        request.setToAccount(2001L);
+        request.setMonto(Money.valueOf("1000.00"));
+
+        mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("Error al procesar")));
+
+        // Verificar que se guardó una transacción con estado FAILED
+        List<Transaction> transactions = transactionRepository.findAll();
+        assertEquals(1, transactions.size());
+        assertEquals(TransactionStatus.FAILED, transactions.get(0).getStatus());
+        assertNotNull(transactions.get(0).getErrorMessage());
+    }
+
+    @Test
+    void getTransaction_AfterArchival() throws Exception {
+        // Transacción finalizada anterior a la ventana de retención
+        Transaction oldTransaction = new Transaction();
+        oldTransaction.setFromAccount(1001L);
+        oldTransaction.setToAccount(2001L);
+        oldTransaction.setMonto(Money.valueOf("1200.00"));
+        oldTransaction.setFecha(LocalDateTime.now().minusDays(365));
+        oldTransaction.setStatus(TransactionStatus.COMPLETED);
+        Long oldId = transactionRepository.save(oldTransaction).getId();
+
+        // Transacción reciente que debe permanecer en la tabla principal
+        Transaction recentTransaction = new Transaction();
+        recentTransaction.setFromAccount(1001L);
+        recentTransaction.setToAccount(2001L);
+        recentTransaction.setMonto(Money.valueOf("1000.00"));
+        recentTransaction.setFecha(LocalDateTime.now());
+        recentTransaction.setStatus(TransactionStatus.COMPLETED);
+        transactionRepository.save(recentTransaction);
+
+        archiveService.archiveFinalizedTransactions();
+
+        // Solo la antigua salió de la tabla principal
+        assertEquals(1, transactionRepository.count());
+
+        // Y sigue siendo consultable a través de la API
+        mockMvc.perform(get("/transactions/" + oldId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactionId", is(oldId.intValue())))
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.monto", is(1200.0)));
+    }
+
+    @Test
+    void getTransactionStatuses_BulkLookup() throws Exception {
+        Transaction archived = new Transaction();
+        archived.setFromAccount(1001L);
+        archived.setToAccount(2001L);
+        archived.setMonto(Money.valueOf("1200.00"));
+        archived.setFecha(LocalDateTime.now().minusDays(365));
+        archived.setStatus(TransactionStatus.FAILED);
+        archived.setErrorMessage("Saldo insuficiente");
+        Long archivedId = transactionRepository.save(archived).getId();
+        archiveService.archiveFinalizedTransactions();
+
+        Transaction completed = new Transaction();
+        completed.setFromAccount(1001L);
+        completed.setToAccount(2001L);
+        completed.setMonto(Money.valueOf("1000.00"));
+        completed.setFecha(LocalDateTime.now());
+        completed.setStatus(TransactionStatus.COMPLETED);
+        Long completedId = transactionRepository.save(completed).getId();
+
+        Transaction processing = new Transaction();
+        processing.setFromAccount(1001L);
+        processing.setToAccount(2001L);
+        processing.setMonto(Money.valueOf("1000.00"));
+        processing.setFecha(LocalDateTime.now());
+        processing.setStatus(TransactionStatus.PROCESSING);
+        Long processingId = transactionRepository.save(processing).getId();
+
+        // Orden de la petición, sin repetidos y sin el id inexistente; la archivada sale de la tabla de archivo
+        String body = "{\"ids\": [" + processingId + ", 999999, " + archivedId + ", " + completedId + ", " + processingId + "]}";
+        mockMvc.perform(post("/transactions/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].transactionId", is(processingId.intValue())))
+                .andExpect(jsonPath("$[0].status", is("PROCESSING")))
+                .andExpect(jsonPath("$[1].transactionId", is(archivedId.intValue())))
+                .andExpect(jsonPath("$[1].status", is("FAILED")))
+                .andExpect(jsonPath("$[1].errorMessage", is("Saldo insuficiente")))
+                .andExpect(jsonPath("$[2].status", is("COMPLETED")));
+
+        // Los estados finales quedan en caché; los intermedios se vuelven a leer
+        transactionRepository.deleteAll();
+        mockMvc.perform(post("/transactions/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [" + processingId + ", " + completedId + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].transactionId", is(completedId.intValue())));
+
+        mockMvc.perform(post("/transactions/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAccountDailySummary_AfterResults() throws Exception {
+        // Transacción en curso a la espera del resultado del servicio de cuentas
+        Transaction transaction = new Transaction();
+        transaction.setFromAccount(1001L);
+        transaction.setToAccount(2001L);
+        transaction.setMonto(Money.valueOf("1500.00"));
+        transaction.setFecha(LocalDateTime.now());
+        transaction.setStatus(TransactionStatus.PROCESSING);
+        Long id = transactionRepository.save(transaction).getId();
+
+        // El resultado llega dos veces (reentrega de Kafka): solo debe contarse una
+        String result = "{\"id\": " + id + ", \"status\": \"COMPLETED\"}";
+        resultConsumer.processTransactionResult(result);
+        resultConsumer.processTransactionResult(result);
+
+        mockMvc.perform(get("/transactions/account/1001/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].direccion", is("SENT")))
+                .andExpect(jsonPath("$[0].status", is("COMPLETED")))
+                .andExpect(jsonPath("$[0].cantidad", is(1)))
+                .andExpect(jsonPath("$[0].total", is(1500.0)));
+
+        mockMvc.perform(get("/transactions/account/2001/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].direccion", is("RECEIVED")))
+                .andExpect(jsonPath("$[0].cantidad", is(1)));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // el listener confirma o revierte su propia transacción
+    void transactionResult_RollupFailureRollsBackAndPropagates() {
+        Transaction transaction = new Transaction();
+        transaction.setFromAccount(1001L);
+        transaction.setToAccount(2001L);
+        transaction.setMonto(Money.valueOf("1500.00"));
+        transaction.setFecha(LocalDateTime.now());
+        transaction.setStatus(TransactionStatus.PROCESSING);
+        Long id = transactionRepository.save(transaction).getId();
+        String result = "{\"id\": " + id + ", \"status\": \"COMPLETED\"}";
+
+        // El fallo al sumar los acumulados llega al contenedor, que reintentará el registro
+        doThrow(new IllegalStateException("base no disponible")).when(rollupService).recordFinalized(any());
+        assertThrows(IllegalStateException.class, () -> resultConsumer.processTransactionResult(result));
+        assertEquals(TransactionStatus.PROCESSING, transactionRepository.findById(id).orElseThrow().getStatus());
+        assertEquals(0, rollupRepository.count());
+
+        // El reintento aplica el cambio de estado y los acumulados juntos
+        reset(rollupService);
+        resultConsumer.processTransactionResult(result);
+        assertEquals(TransactionStatus.COMPLETED, transactionRepository.findById(id).orElseThrow().getStatus());
+        assertEquals(2, rollupRepository.count());
+    }
+
+    @Test
+    void transactionResult_OutOfOrderResultIsIgnored() {
+        Transaction transaction = new Transaction();
+        transaction.setFromAccount(1001L);
+        transaction.setToAccount(2001L);
+        transaction.setMonto(Money.valueOf("1500.00"));
+        transaction.setFecha(LocalDateTime.now());
+        transaction.setStatus(TransactionStatus.PROCESSING);
+        Long id = transactionRepository.save(transaction).getId();
+
+        // Un resultado tardío no debe pisar el estado final ya registrado
+        resultConsumer.processTransactionResult("{\"id\": " + id + ", \"status\": \"FAILED\", \"errorMessage\": \"Saldo insuficiente\"}");
+        resultConsumer.processTransactionResult("{\"id\": " + id + ", \"status\": \"COMPLETED\"}");
+
+        Transaction stored = transactionRepository.findById(id).orElseThrow();
+        assertEquals(TransactionStatus.FAILED, stored.getStatus());
+        assertEquals("Saldo insuficiente", stored.getErrorMessage());
+        assertEquals(1L, stored.getVersion());
+
+        // Solo el cambio de estado aplicado se publica en el topic de estados
+        verify(eventProducer).sendStatusChange(argThat(t -> t.getId().equals(id)
+                && t.getStatus() == TransactionStatus.FAILED));
+    }
+
+    @Test
+    void searchTransactions_KeysetPaging() throws Exception {
+        // Tres transacciones enviadas por la cuenta 1001 en días distintos y una de otra cuenta. Sin fracciones
+        // de segundo: las entidades siguen en el contexto de persistencia con más precisión que la columna
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 3; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setFromAccount(1001L);
+            transaction.setToAccount(2001L);
+            transaction.setMonto(Money.valueOf("1000.00").plus(Money.ofMinor(i * 100L)));
+            transaction.setFecha(now.minusDays(i));
+            transaction.setStatus(TransactionStatus.COMPLETED);
+            transactionRepository.save(transaction);
+        }
+        Transaction other = new Transaction();
+        other.setFromAccount(3001L);
+        other.setToAccount(4001L);
+        other.setMonto(Money.valueOf("5000.00"));
+        other.setFecha(now);
+        other.setStatus(TransactionStatus.COMPLETED);
+        transactionRepository.save(other);
+
+        MvcResult firstPage = mockMvc.perform(get("/transactions/search")
+                        .param("cuenta", "1001")
+                        .param("direccion", "SENT")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].monto", is(1000.0)))
+                .andExpect(jsonPath("$.items[1].monto", is(1001.0)))
+                .andReturn();
+
+        String cursor = objectMapper.readTree(firstPage.getResponse().getContentAsString())
+                .path("nextCursor").asText();
+
+        mockMvc.perform(get("/transactions/search")
+                        .param("cuenta", "1001")
+                        .param("direccion", "SENT")
+                        .param("size", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].monto", is(1002.0)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        // Estado con rango de fechas y filtro de monto
+        mockMvc.perform(get("/transactions/search")
+                        .param("status", "COMPLETED")
+                        .param("desde", now.toLocalDate().toString())
+                        .param("hasta", now.toLocalDate().toString())
+                        .param("montoMin", "2000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].fromAccount", is(3001)));
+    }
+
+    @Test
+    void searchTransactions_RejectsUnindexedFilters() throws Exception {
+        // Solo rango de monto: obligaría a recorrer la tabla completa
+        mockMvc.perform(get("/transactions/search").param("montoMin", "1000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("requiere una cuenta")));
+
+        // Estado sin rango de fechas
+        mockMvc.perform(get("/transactions/search").param("status", "FAILED"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void jfrEndpoint_NotExposedByDefault() throws Exception {
+        mockMvc.perform(get("/actuator/jfr"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,71 @@
+package com.bankdemo.transaction.unit;
+
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.service.AccountHoldLedger;
+import com.bankdemo.transaction.service.AccountHoldLedger.Hold;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AccountHoldLedgerTest {
+
+    private final AccountHoldLedger ledger = new AccountHoldLedger(new SimpleMeterRegistry(), true, 0.5, 1, 30);
+
+    @Test
+    void tryReserve_ApprovesUntilHeadroomIsUsed() {
+        Money saldo = Money.valueOf("5000.00");
+
+        // Con utilización máxima del 50 %, caben 2500.00 retenidos
+        assertNotNull(ledger.tryReserve(1001L, saldo, Money.valueOf("1000.00")));
+        assertNotNull(ledger.tryReserve(1001L, saldo, Money.valueOf("1500.00")));
+        assertNull(ledger.tryReserve(1001L, saldo, Money.valueOf("0.01")));
+
+        // Otra cuenta no se ve afectada
+        assertNotNull(ledger.tryReserve(2001L, saldo, Money.valueOf("1000.00")));
+    }
+
+    @Test
+    void tryReserve_SplitsHeadroomAcrossInstances() {
+        // Tres réplicas con el 50 %: cada una aprueba en local como mucho un sexto del saldo
+        AccountHoldLedger node = new AccountHoldLedger(new SimpleMeterRegistry(), true, 0.5, 3, 30);
+        Money saldo = Money.valueOf("6000.00");
+
+        assertNotNull(node.tryReserve(1001L, saldo, Money.valueOf("1000.00")));
+        assertNull(node.tryReserve(1001L, saldo, Money.valueOf("0.01")));
+    }
+
+    @Test
+    void constructor_RejectsZeroInstances() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AccountHoldLedger(new SimpleMeterRegistry(), true, 0.5, 0, 30));
+    }
+
+    @Test
+    void release_FreesHeadroomOnlyOnce() {
+        Money saldo = Money.valueOf("4000.00");
+        Hold hold = ledger.tryReserve(1001L, saldo, Money.valueOf("2000.00"));
+        ledger.bind(10L, hold);
+        Hold other = ledger.reserve(1001L, Money.valueOf("1000.00"));
+        ledger.bind(11L, other);
+
+        assertNull(ledger.tryReserve(1001L, saldo, Money.valueOf("1000.00")));
+
+        // El resultado repetido de la transacción 10 no libera dos veces
+        ledger.release(10L);
+        ledger.release(10L);
+
+        assertNotNull(ledger.tryReserve(1001L, saldo, Money.valueOf("1000.00")));
+        assertNull(ledger.tryReserve(1001L, saldo, Money.valueOf("1000.00")));
+    }
+
+    @Test
+    void tryReserve_DisabledAlwaysGoesRemote() {
+        AccountHoldLedger disabled = new AccountHoldLedger(new SimpleMeterRegistry(), false, 0.5, 1, 30);
+
+        assertNull(disabled.tryReserve(1001L, Money.valueOf("5000.00"), Money.valueOf("1.00")));
+        assertNull(disabled.reserve(1001L, Money.valueOf("1.00")));
+    }
+}
@@ -0,0 +1,169 @@
+package com.bankdemo.transaction.unit;
+
+import com.bankdemo.transaction.client.AccountServiceClient;
+import com.bankdemo.transaction.client.AdaptiveConcurrencyLimiter;
+import com.bankdemo.transaction.client.HedgingPolicy;
+import com.bankdemo.transaction.dto.AccountDTO;
+import com.bankdemo.transaction.exception.AccountServiceUnavailableException;
+import com.bankdemo.transaction.exception.TransactionException;
+import com.bankdemo.transaction.model.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Pruebas del cliente contra un stub local del servicio de cuentas (MockRestServiceServer).
+ */
+public class AccountServiceClientTest {
+
+    private static final String URL = "http://account-service";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private HedgingPolicy hedgingPolicy;
+    private AccountServiceClient client;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        client.shutdown();
+        hedgingPolicy.shutdown();
+    }
+
+    private AccountServiceClient newClient(boolean batchEnabled) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 1, 100, 0.9, 2.0, 1000, 60_000);
+        hedgingPolicy = new HedgingPolicy("test", false, 95, 20, 500, 0.05, 10, 2, meterRegistry);
+        return new AccountServiceClient(restTemplate, limiter, hedgingPolicy, meterRegistry,
+                URL, "admin", "password", batchEnabled, "/accounts/batch", 200, 50);
+    }
+
+    private void expectToken() {
+        server.expect(once(), requestTo(URL + "/auth/token"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("{\"token\": \"jwt\"}", MediaType.APPLICATION_JSON));
+    }
+
+    private List<Future<AccountDTO>> lookupConcurrently(List<Long> ids) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<AccountDTO>> results = new ArrayList<>();
+        for (Long id : ids) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return client.getAccount(id);
+            }));
+        }
+        start.countDown();
+        return results;
+    }
+
+    @Test
+    void getAccount_ConcurrentLookupsOfSameIdShareOneCall() throws Exception {
+        client = newClient(false);
+        expectToken();
+        // Respuesta lenta para que el resto de consultas lleguen mientras está en curso
+        server.expect(once(), requestTo(URL + "/accounts/1001"))
+                .andRespond(request -> {
+                    try {
+                        Thread.sleep(300);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return withSuccess("{\"id\": 1001, \"nombre\": \"Cuenta Origen\", \"saldo\": 5000.00}",
+                            MediaType.APPLICATION_JSON).createResponse(request);
+                });
+
+        List<Future<AccountDTO>> results = lookupConcurrently(List.of(1001L, 1001L, 1001L, 1001L, 1001L));
+
+        for (Future<AccountDTO> result : results) {
+            assertEquals(1001L, result.get().getId());
+        }
+        server.verify();
+    }
+
+    @Test
+    void getAccount_BatchesDistinctIdsIntoOneBulkCall() throws Exception {
+        client = newClient(true);
+        expectToken();
+        server.expect(once(), requestTo(startsWith(URL + "/accounts/batch?ids=")))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("[{\"id\": 1, \"saldo\": 10}, {\"id\": 2, \"saldo\": 20}, {\"id\": 3, \"saldo\": 30}]",
+                        MediaType.APPLICATION_JSON));
+
+        List<Future<AccountDTO>> results = lookupConcurrently(List.of(1L, 2L, 3L));
+
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i + 1L, results.get(i).get().getId());
+        }
+        server.verify();
+    }
+
+    @Test
+    void getAccount_BatchMissingIdKeepsNotFoundSemantics() {
+        client = newClient(true);
+        expectToken();
+        server.expect(once(), requestTo(URL + "/accounts/batch?ids=9999"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        HttpClientErrorException exception = assertThrows(HttpClientErrorException.class,
+                () -> client.getAccount(9999L));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+        server.verify();
+    }
+
+    @Test
+    void fallbacks_LimiterRejectionIsUnavailableNotInsufficientFunds() {
+        client = newClient(false);
+        AdaptiveConcurrencyLimiter.LimitExceededException shed = new AdaptiveConcurrencyLimiter.LimitExceededException(4);
+
+        // Descartada por el limitador: ni "sin saldo" (false) ni error de negocio
+        AccountServiceUnavailableException validation = assertThrows(AccountServiceUnavailableException.class,
+                () -> client.validateAccountFallback(1001L, Money.valueOf("1000.00"), shed));
+        assertEquals(1L, validation.getRetryAfterSeconds());
+        assertThrows(AccountServiceUnavailableException.class, () -> client.getAccountFallback(1001L, shed));
+
+        // Un error de cliente del servicio mantiene la denegación
+        assertFalse(client.validateAccountFallback(1001L, Money.valueOf("1000.00"),
+                new HttpClientErrorException(HttpStatus.BAD_REQUEST)));
+    }
+
+    @Test
+    void fallbacks_ServiceFailureIsUnavailableNotRejection() {
+        client = newClient(false);
+        ResourceAccessException timeout = new ResourceAccessException("Read timed out");
+
+        // Timeout o servicio caído: la transferencia no se ha evaluado, no es un rechazo de negocio
+        assertThrows(AccountServiceUnavailableException.class,
+                () -> client.validateAccountFallback(1001L, Money.valueOf("1000.00"), timeout));
+        assertThrows(AccountServiceUnavailableException.class, () -> client.getAccountFallback(1001L, timeout));
+
+        // Un 404 sigue siendo un rechazo
+        assertThrows(TransactionException.class,
+                () -> client.getAccountFallback(1001L, new HttpClientErrorException(HttpStatus.NOT_FOUND)));
+    }
+}
@@ -0,0 +1,87 @@
+package com.bankdemo.transaction.unit;
+
+import com.bankdemo.transaction.client.AdaptiveConcurrencyLimiter;
+import com.bankdemo.transaction.client.AdaptiveConcurrencyLimiter.LimitExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private AdaptiveConcurrencyLimiter newLimiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, 1, 100, 0.5, 2.0, 0, 60_000, clock::get);
+    }
+
+    private void callTaking(AdaptiveConcurrencyLimiter limiter, long millis) {
+        limiter.execute(() -> clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis)));
+    }
+
+    @Test
+    void execute_ShrinksLimitWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(10);
+
+        // Latencia base de 10 ms
+        callTaking(limiter, 10);
+        assertEquals(10, limiter.getLimit());
+
+        // Una llamada 5 veces más lenta que el mínimo reduce el límite a la mitad
+        callTaking(limiter, 50);
+        assertEquals(5, limiter.getLimit());
+
+        // Y nunca baja del mínimo configurado
+        for (int i = 0; i < 10; i++) {
+            callTaking(limiter, 50);
+        }
+        assertEquals(1, limiter.getLimit());
+    }
+
+    @Test
+    void execute_GrowsLimitWhileLatencyStaysLow() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(1);
+
+        for (int i = 0; i < 20; i++) {
+            callTaking(limiter, 10);
+        }
+
+        assertTrue(limiter.getLimit() > 1);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void execute_ShedsCallsOverTheLimit() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // Ocupar el único permiso con una llamada en curso
+            executor.submit(() -> limiter.execute(() -> {
+                started.countDown();
+                try {
+                    finish.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }));
+            started.await();
+
+            // Sin espera en cola, la segunda llamada se descarta de inmediato
+            assertThrows(LimitExceededException.class, () -> callTaking(limiter, 10));
+        } finally {
+            finish.countDown();
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.bankdemo.transaction.unit;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import com.bankdemo.transaction.logging.CategorySamplingTurboFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CategorySamplingTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final CategorySamplingTurboFilter filter = new CategorySamplingTurboFilter();
+
+    @BeforeEach
+    void setUp() {
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.DEBUG);
+        filter.setContext(context);
+        filter.setRates("com.bankdemo.consumer=2, com.bankdemo.consumer.silenciado=0");
+        filter.start();
+    }
+
+    @Test
+    void decide_DropsInfoAboveRateButNeverWarnings() {
+        Logger logger = context.getLogger("com.bankdemo.consumer.ResultConsumer");
+
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO));
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.DEBUG));
+        assertEquals(FilterReply.DENY, decide(logger, Level.INFO));
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.WARN));
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.ERROR));
+
+        // Las consultas isInfoEnabled() no gastan cupo
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.INFO, null, null, null));
+        assertEquals(1, filter.getCategories().stream().mapToLong(CategorySamplingTurboFilter.Category::getDropped).sum());
+    }
+
+    @Test
+    void decide_UsesLongestPrefixAndIgnoresOtherLoggers() {
+        Logger silenced = context.getLogger("com.bankdemo.consumer.silenciado.Detalle");
+        Logger other = context.getLogger("com.bankdemo.service.Otro");
+
+        assertEquals(FilterReply.DENY, decide(silenced, Level.INFO));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(other, Level.INFO));
+        }
+    }
+
+    private FilterReply decide(Logger logger, Level level) {
+        return filter.decide(null, logger, level, "mensaje {}", new Object[]{1}, null);
+    }
+}
@@ -0,0 +1,104 @@
+package com.bankdemo.transaction.unit;
+
+import com.bankdemo.transaction.profiling.AccountCallEvent;
+import com.bankdemo.transaction.profiling.FlightRecorderEndpoint;
+import com.bankdemo.transaction.profiling.TransferStageEvent;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FlightRecorderEndpointTest {
+
+    private final FlightRecorderEndpoint endpoint = new FlightRecorderEndpoint(60, 64);
+
+    @AfterEach
+    void tearDown() {
+        endpoint.shutdown();
+    }
+
+    @Test
+    void stop_ReturnsRecordingWithCustomEvents() throws IOException {
+        assertEquals(200, endpoint.start(null, 30L).getStatus());
+        assertEquals("RUNNING", endpoint.status().get("state"));
+
+        try (TransferStageEvent stage = TransferStageEvent.start(TransferStageEvent.VALIDATION, 42L)) {
+            // Etapa vacía: basta con que quede registrada
+        }
+        try (AccountCallEvent call = AccountCallEvent.start(AccountCallEvent.GET_ACCOUNT, 42L, 1)) {
+            call.setStatusCode(200);
+        }
+
+        WebEndpointResponse<Resource> response = endpoint.stop();
+        assertEquals(200, response.getStatus());
+        assertEquals("NONE", endpoint.status().get("state"));
+
+        Path copy = Files.createTempFile("jfr-test-", ".jfr");
+        try {
+            try (InputStream in = response.getBody().getInputStream()) {
+                Files.copy(in, copy, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+            }
+            // El volcado temporal se borra al terminar de leerlo
+            assertFalse(response.getBody().exists());
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(copy);
+            RecordedEvent stage = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("com.bankdemo.transaction.TransferStage"))
+                    .findFirst().orElseThrow();
+            assertEquals(TransferStageEvent.VALIDATION, stage.getString("stage"));
+            assertEquals(42L, stage.getLong("fromAccount"));
+            assertTrue(events.stream().anyMatch(event ->
+                    event.getEventType().getName().equals("com.bankdemo.transaction.AccountCall")
+                            && event.getInt("statusCode") == 200));
+        } finally {
+            Files.deleteIfExists(copy);
+        }
+    }
+
+    @Test
+    void stop_RecordingOmitsEnvironmentAndCommandLines() throws IOException {
+        assertEquals(200, endpoint.start("profile", 30L).getStatus());
+
+        Path copy = Files.createTempFile("jfr-test-", ".jfr");
+        try {
+            try (InputStream in = endpoint.stop().getBody().getInputStream()) {
+                Files.copy(in, copy, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+            }
+            List<String> types = RecordingFile.readAllEvents(copy).stream()
+                    .map(event -> event.getEventType().getName())
+                    .distinct()
+                    .toList();
+            assertFalse(types.isEmpty());
+            assertFalse(types.contains("jdk.InitialEnvironmentVariable"));
+            assertFalse(types.contains("jdk.InitialSystemProperty"));
+            assertFalse(types.contains("jdk.JVMInformation"));
+            assertFalse(types.contains("jdk.SystemProcess"));
+        } finally {
+            Files.deleteIfExists(copy);
+        }
+    }
+
+    @Test
+    void start_RejectsSecondRecordingAndUnknownSettings() throws IOException {
+        assertEquals(404, endpoint.stop().getStatus());
+        assertEquals(400, endpoint.start("inexistente", null).getStatus());
+
+        assertEquals(200, endpoint.start("profile", null).getStatus());
+        WebEndpointResponse<Map<String, Object>> second = endpoint.start(null, null);
+        assertEquals(409, second.getStatus());
+        assertEquals("profile", second.getBody().get("settings"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.bankdemo.transaction.unit;
+
+import com.bankdemo.transaction.service.HashedTimingWheel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HashedTimingWheelTest {
+
+    private final BlockingQueue<long[]> fired = new LinkedBlockingQueue<>();
+    private HashedTimingWheel<Long> wheel;
+
+    @AfterEach
+    void tearDown() {
+        if (wheel != null) {
+            wheel.stop();
+        }
+    }
+
+    @Test
+    void schedule_FiresInDeadlineOrderAndNeverEarly() throws InterruptedException {
+        // 8 casillas de 10 ms: 250 ms obliga a dar varias vueltas
+        wheel = new HashedTimingWheel<>("test", 10, 8, items -> {
+            long now = System.nanoTime();
+            items.forEach(delay -> fired.add(new long[]{delay, now}));
+        });
+
+        long start = System.nanoTime();
+        wheel.schedule(250L, 250);
+        wheel.schedule(30L, 30);
+        wheel.schedule(0L, 0);
+        wheel.schedule(120L, 120);
+        assertEquals(4, wheel.size());
+
+        List<Long> order = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            long[] entry = fired.poll(2, TimeUnit.SECONDS);
+            assertNotNull(entry, "Elemento no vencido a tiempo");
+            order.add(entry[0]);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(entry[1] - start);
+            assertTrue(elapsedMillis >= entry[0], "Vencido antes de tiempo: " + entry[0] + " a los " + elapsedMillis);
+        }
+        assertEquals(List.of(0L, 30L, 120L, 250L), order);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_DeliversSameTickItemsTogether() throws InterruptedException {
+        BlockingQueue<List<Long>> batches = new LinkedBlockingQueue<>();
+        wheel = new HashedTimingWheel<>("test", 50, 4, batches::add);
+
+        wheel.schedule(1L, 100);
+        wheel.schedule(2L, 100);
+        wheel.schedule(3L, 100);
+
+        List<Long> batch = batches.poll(2, TimeUnit.SECONDS);
+        assertEquals(List.of(1L, 2L, 3L), batch);
+    }
+}
@@ -0,0 +1,118 @@
+package com.bankdemo.transaction.unit;
+
+import com.bankdemo.transaction.client.HedgingPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HedgingPolicyTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HedgingPolicy policy;
+
+    @AfterEach
+    void tearDown() {
+        policy.shutdown();
+    }
+
+    private HedgingPolicy newPolicy(boolean enabled, int maxBurst) {
+        // Espera fija de 20 ms y sin crédito por petición: solo la ráfaga inicial permite hedges
+        return new HedgingPolicy("test", enabled, 95, 20, 20, 0, maxBurst, 4, meterRegistry);
+    }
+
+    private String slowThenFast(AtomicInteger calls) {
+        if (calls.incrementAndGet() == 1) {
+            sleep(500);
+            return "lenta";
+        }
+        return "rapida";
+    }
+
+    @Test
+    void execute_HedgeWinsWhenPrimaryIsSlow() {
+        policy = newPolicy(true, 1);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = policy.execute(() -> slowThenFast(calls));
+
+        assertEquals("rapida", result);
+        assertEquals(2, calls.get());
+        assertEquals(1.0, meterRegistry.counter("account.client.hedge.sent", "call", "test").count());
+        assertEquals(1.0, meterRegistry.counter("account.client.hedge.wins", "call", "test").count());
+    }
+
+    @Test
+    void execute_HedgeWinInterruptsLosingCall() throws Exception {
+        policy = newPolicy(true, 1);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        String result = policy.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return "lenta";
+            }
+            return "rapida";
+        });
+
+        // La primaria perdedora se interrumpe en lugar de seguir ocupando su hilo
+        assertEquals("rapida", result);
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_NoHedgeWhenBudgetIsExhausted() {
+        policy = newPolicy(true, 0);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = policy.execute(() -> slowThenFast(calls));
+
+        // Sin presupuesto se espera a la primaria
+        assertEquals("lenta", result);
+        assertEquals(1, calls.get());
+        assertEquals(1.0, meterRegistry.counter("account.client.hedge.budget.exhausted", "call", "test").count());
+    }
+
+    @Test
+    void execute_PropagatesOriginalException() {
+        policy = newPolicy(true, 1);
+
+        HttpClientErrorException exception = assertThrows(HttpClientErrorException.class,
+                () -> policy.execute(() -> {
+                    throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+                }));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+
+    @Test
+    void execute_DisabledCallsDirectly() {
+        policy = newPolicy(false, 1);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals("lenta", policy.execute(() -> slowThenFast(calls)));
+        assertEquals(1, calls.get());
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.bankdemo.transaction.unit;
+
+import com.bankdemo.transaction.consumer.ListenerConcurrencyPolicy;
+import com.bankdemo.transaction.consumer.ListenerConcurrencyPolicy.Action;
+import com.bankdemo.transaction.consumer.ListenerConcurrencyPolicy.Decision;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ListenerConcurrencyPolicyTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    // 1..∞ consumidores, subir con 500 pendientes, bajar con 50, 30 s entre cambios, pausa al 90 %, reanuda al 70 %
+    private final ListenerConcurrencyPolicy policy = new ListenerConcurrencyPolicy(
+            1, 0, 500, 50, TimeUnit.SECONDS.toNanos(30), 0.9, 0.7, clock::get);
+
+    @Test
+    void decide_ScalesWithLagUpToPartitionsAndRespectsCooldown() {
+        // 1200 pendientes piden 3 consumidores; hay 3 particiones
+        assertEquals(new Decision(Action.SCALE, 3), policy.decide(1, false, 3, 1_200, 0.2, 0));
+
+        // Dentro del enfriamiento no se cambia aunque el lag haya bajado
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(Action.NONE, policy.decide(3, false, 3, 10, 0.2, 0).action());
+
+        // Pasado el enfriamiento se baja de uno en uno
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertEquals(new Decision(Action.SCALE, 2), policy.decide(3, false, 3, 10, 0.2, 0));
+
+        // Sin poder medir el lag no se escala
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertEquals(Action.NONE, policy.decide(2, false, 3, -1, 0.2, 0).action());
+    }
+
+    @Test
+    void decide_DoesNotScaleUpWithoutPoolHeadroom() {
+        assertEquals(Action.NONE, policy.decide(1, false, 3, 5_000, 0.75, 0).action());
+    }
+
+    @Test
+    void decide_PausesOnSaturationAndResumesBelowThreshold() {
+        // Hilos esperando conexión: pausa aunque haya backlog
+        assertEquals(Action.PAUSE, policy.decide(2, false, 3, 5_000, 0.5, 3).action());
+
+        // En pausa: no se reanuda hasta bajar del umbral de reanudación
+        assertEquals(Action.NONE, policy.decide(2, true, 3, 5_000, 0.8, 0).action());
+        assertEquals(Action.RESUME, policy.decide(2, true, 3, 5_000, 0.6, 0).action());
+    }
+}
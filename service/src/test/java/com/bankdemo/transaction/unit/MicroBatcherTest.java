@@ -0,0 +1,70 @@
+package com.bankdemo.transaction.unit;
+
+import com.bankdemo.transaction.client.MicroBatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MicroBatcherTest {
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+    private MicroBatcher<Long, String> batcher;
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        batcher.shutdown();
+    }
+
+    @Test
+    void get_SlowBatchDoesNotHoldBackNextWindow() throws Exception {
+        // El primer lote queda bloqueado en la llamada remota hasta que termine el segundo
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        batcher = new MicroBatcher<>("test", ids -> {
+            if (ids.contains(1L)) {
+                await(releaseFirst);
+            }
+            return ids.stream().collect(Collectors.toMap(Function.identity(), id -> "cuenta-" + id));
+        }, id -> new IllegalStateException("sin cuenta " + id), 5, 50);
+
+        Future<String> first = callers.submit(() -> batcher.get(1L));
+        Thread.sleep(50);
+        Future<String> second = callers.submit(() -> batcher.get(2L));
+
+        assertEquals("cuenta-2", second.get(5, TimeUnit.SECONDS));
+        assertFalse(first.isDone());
+
+        releaseFirst.countDown();
+        assertEquals("cuenta-1", first.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void get_MissingKeyUsesMissingException() {
+        batcher = new MicroBatcher<>("test", ids -> Map.of(), id -> new IllegalStateException("sin cuenta " + id), 1, 50);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> batcher.get(9L));
+        assertTrue(exception.getMessage().contains("9"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.bankdemo.transaction.unit;
+
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.model.MoneyConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void valueOf_ParsesDecimalTextInMinorUnits() {
+        assertEquals(100_000L, Money.valueOf("1000").getMinorUnits());
+        assertEquals(100_050L, Money.valueOf("1000.5").getMinorUnits());
+        assertEquals(-5L, Money.valueOf("-0.05").getMinorUnits());
+        assertEquals(1_234L, Money.valueOf("12.340").getMinorUnits());
+
+        assertThrows(IllegalArgumentException.class, () -> Money.valueOf("1.001"));
+        assertThrows(IllegalArgumentException.class, () -> Money.valueOf("1e3"));
+        assertThrows(IllegalArgumentException.class, () -> Money.valueOf("-"));
+        assertThrows(IllegalArgumentException.class, () -> Money.valueOf("99999999999999999999"));
+    }
+
+    @Test
+    void toString_IsPlainDecimalWithScale() {
+        assertEquals("1000.00", Money.ofMinor(100_000L).toString());
+        assertEquals("-1000.05", Money.ofMinor(-100_005L).toString());
+        assertEquals("0.07", Money.ofMinor(7L).toString());
+        assertTrue(Money.valueOf("999.99").isLessThan(Money.valueOf("1000")));
+    }
+
+    @Test
+    void json_RoundTripsAsNumber() throws Exception {
+        assertEquals("1000.50", objectMapper.writeValueAsString(Money.valueOf("1000.5")));
+        assertEquals(Money.ofMinor(100_000L), objectMapper.readValue("1000", Money.class));
+        assertEquals(Money.ofMinor(100_050L), objectMapper.readValue("1000.50", Money.class));
+        assertEquals(Money.ofMinor(100_050L), objectMapper.readValue("\"1000.50\"", Money.class));
+
+        assertThrows(InvalidFormatException.class, () -> objectMapper.readValue("1000.505", Money.class));
+    }
+
+    @Test
+    void converter_MapsToDecimalColumn() {
+        MoneyConverter converter = new MoneyConverter();
+
+        assertEquals(new BigDecimal("1000.50"), converter.convertToDatabaseColumn(Money.valueOf("1000.5")));
+        assertEquals(Money.valueOf("1000.5"), converter.convertToEntityAttribute(new BigDecimal("1000.50")));
+        assertEquals(Money.valueOf("7"), converter.convertToEntityAttribute(new BigDecimal("7")));
+    }
+}
@@ -0,0 +1,115 @@
+package com.bankdemo.transaction.unit;
+
+import com.bankdemo.transaction.datasource.ReadRouting;
+import com.bankdemo.transaction.datasource.ReplicaLagMonitor;
+import com.bankdemo.transaction.datasource.ReplicaRoutingDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Dos bases H2 en memoria: cada una guarda su propio nombre para saber a cuál fue la consulta
+public class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate replicaJdbc;
+    private final AtomicLong clock = new AtomicLong();
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2("primary");
+        DataSource replica = h2("replica");
+        replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("CREATE TABLE lag_simulado (segundos BIGINT)");
+        replicaJdbc.update("INSERT INTO lag_simulado VALUES (0)");
+
+        lagMonitor = new ReplicaLagMonitor(replica, "SELECT segundos FROM lag_simulado", "segundos", 5, 5000, clock::get);
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, lagMonitor));
+
+        jdbc = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+        assertEquals("primary", readWrite.execute(status -> currentDatabase()));
+        assertEquals("primary", currentDatabase());
+    }
+
+    @Test
+    void forcedPrimaryAppliesOnlyToCurrentTransaction() {
+        String forced = readOnly.execute(status -> {
+            ReadRouting.usePrimaryForCurrentTransaction();
+            return currentDatabase();
+        });
+
+        assertEquals("primary", forced);
+        assertFalse(ReadRouting.isPrimaryForced());
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        replicaJdbc.update("UPDATE lag_simulado SET segundos = 30");
+        lagMonitor.check();
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals("primary", readOnly.execute(status -> currentDatabase()));
+
+        // Replicación parada: el retraso es nulo
+        replicaJdbc.update("UPDATE lag_simulado SET segundos = NULL");
+        lagMonitor.check();
+        assertFalse(lagMonitor.isReplicaUsable());
+
+        replicaJdbc.update("UPDATE lag_simulado SET segundos = 1");
+        lagMonitor.check();
+        assertTrue(lagMonitor.isReplicaUsable());
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void staleLagCheckFallsBackToPrimary() {
+        lagMonitor.check();
+        assertTrue(lagMonitor.isReplicaUsable());
+
+        // El planificador no vuelve a ejecutar la comprobación a tiempo: el último resultado ya no vale
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals("primary", readOnly.execute(status -> currentDatabase()));
+
+        lagMonitor.check();
+        assertTrue(lagMonitor.isReplicaUsable());
+    }
+
+    private String currentDatabase() {
+        return jdbc.queryForObject("SELECT nombre FROM base", String.class);
+    }
+
+    private static DataSource h2(String nombre) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + nombre + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE base (nombre VARCHAR(20))");
+        jdbc.update("INSERT INTO base VALUES (?)", nombre);
+        return dataSource;
+    }
+}
@@ -0,0 +1,56 @@
+package com.bankdemo.transaction.unit;
+
+import com.bankdemo.transaction.admission.StripedLruMap;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class StripedLruMapTest {
+
+    @Test
+    void put_EvictsLeastRecentlyUsedKey() {
+        // Una sola franja de dos entradas
+        StripedLruMap<String> map = new StripedLruMap<>(1, 2);
+        map.put(1L, "uno");
+        map.put(2L, "dos");
+
+        // Leer la 1 la convierte en la más reciente: sale la 2
+        assertEquals("uno", map.get(1L));
+        map.put(3L, "tres");
+
+        assertNull(map.get(2L));
+        assertEquals("uno", map.get(1L));
+        assertEquals("tres", map.get(3L));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void withStripe_ComposesReadAndWrite() {
+        StripedLruMap<Integer> map = new StripedLruMap<>(4, 100);
+
+        for (int i = 0; i < 3; i++) {
+            map.withStripe(7L, stripe -> stripe.merge(7L, 1, Integer::sum));
+        }
+
+        assertEquals(3, map.get(7L));
+    }
+
+    @Test
+    void removeIf_RemovesAcrossStripes() {
+        StripedLruMap<Integer> map = new StripedLruMap<>(4, 100);
+        for (long key = 0; key < 20; key++) {
+            map.put(key, (int) key);
+        }
+
+        assertEquals(10, map.removeIf(value -> value % 2 == 0));
+        assertEquals(10, map.size());
+        assertNull(map.get(4L));
+    }
+
+    @Test
+    void constructor_RejectsStripesNotPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedLruMap<>(3, 100));
+    }
+}
@@ -0,0 +1,82 @@
+package com.bankdemo.transaction.unit;
+
+import com.bankdemo.transaction.admission.StripedSlidingWindowLimiter;
+import com.bankdemo.transaction.admission.StripedSlidingWindowLimiter.Decision;
+import com.bankdemo.transaction.admission.StripedSlidingWindowLimiter.Rule;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StripedSlidingWindowLimiterTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void tryRecord_CountLimitSlidesWithWindow() {
+        // 3 operaciones por minuto, ventana en 6 tramos de 10 s
+        StripedSlidingWindowLimiter limiter = new StripedSlidingWindowLimiter(4, 100, 6,
+                List.of(new Rule("por-minuto", MINUTE, 3, 0)), clock::get);
+
+        assertTrue(limiter.tryRecord(1001L, 100).allowed());
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(20));
+        assertTrue(limiter.tryRecord(1001L, 100).allowed());
+        assertTrue(limiter.tryRecord(1001L, 100).allowed());
+
+        Decision rejected = limiter.tryRecord(1001L, 100);
+        assertFalse(rejected.allowed());
+        assertEquals("por-minuto", rejected.violated().name());
+        // La primera sale de la ventana a los 60 s de su tramo: faltan 40 s
+        assertEquals(TimeUnit.SECONDS.toNanos(40), rejected.retryAfterNanos());
+
+        // Otra cuenta no se ve afectada
+        assertTrue(limiter.tryRecord(2001L, 100).allowed());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(40));
+        assertTrue(limiter.tryRecord(1001L, 100).allowed());
+        assertFalse(limiter.tryRecord(1001L, 100).allowed());
+    }
+
+    @Test
+    void tryRecord_AmountLimitAcrossRulesAndUndo() {
+        StripedSlidingWindowLimiter limiter = new StripedSlidingWindowLimiter(4, 100, 10, List.of(
+                new Rule("por-minuto", MINUTE, 0, 1_000),
+                new Rule("por-hora", TimeUnit.HOURS.toNanos(1), 0, 1_500)), clock::get);
+
+        Decision first = limiter.tryRecord(1001L, 800);
+        assertTrue(first.allowed());
+        assertEquals("por-minuto", limiter.tryRecord(1001L, 300).violated().name());
+
+        // Un rechazo no anota nada; deshacer libera el importe
+        limiter.undo(1001L, 800, first.recordedAtNanos());
+        assertTrue(limiter.tryRecord(1001L, 1_000).allowed());
+
+        // Pasado el minuto manda la regla por hora
+        clock.addAndGet(2 * MINUTE);
+        assertTrue(limiter.tryRecord(1001L, 500).allowed());
+        assertEquals("por-hora", limiter.tryRecord(1001L, 100).violated().name());
+    }
+
+    @Test
+    void evictIdle_RemovesOnlyAccountsOutsideLongestWindow() {
+        StripedSlidingWindowLimiter limiter = new StripedSlidingWindowLimiter(4, 100, 6,
+                List.of(new Rule("por-minuto", MINUTE, 1, 0)), clock::get);
+
+        limiter.tryRecord(1001L, 100);
+        clock.addAndGet(MINUTE);
+        limiter.tryRecord(2001L, 100);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(20));
+
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(1, limiter.trackedKeys());
+        // La que sigue en memoria mantiene su límite
+        assertFalse(limiter.tryRecord(2001L, 100).allowed());
+    }
+}
@@ -0,0 +1,123 @@
+package com.bankdemo.transaction.unit;
+
+import com.bankdemo.transaction.admission.StripedTokenBucketLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StripedTokenBucketLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void tryAcquire_BurstThenRejects() {
+        StripedTokenBucketLimiter limiter = new StripedTokenBucketLimiter(4, 100, 1, 3, clock::get);
+
+        // Se permite la ráfaga completa y luego se rechaza
+        assertTrue(limiter.tryAcquire(1001L));
+        assertTrue(limiter.tryAcquire(1001L));
+        assertTrue(limiter.tryAcquire(1001L));
+        assertFalse(limiter.tryAcquire(1001L));
+
+        // Otra cuenta tiene su propio bucket
+        assertTrue(limiter.tryAcquire(2001L));
+    }
+
+    @Test
+    void tryAcquire_RefillsOverTime() {
+        StripedTokenBucketLimiter limiter = new StripedTokenBucketLimiter(4, 100, 2, 1, clock::get);
+
+        assertTrue(limiter.tryAcquire(1001L));
+        assertFalse(limiter.tryAcquire(1001L));
+
+        // A 2 permisos por segundo, medio segundo repone un permiso
+        clock.addAndGet(500_000_000L);
+        assertTrue(limiter.tryAcquire(1001L));
+        assertFalse(limiter.tryAcquire(1001L));
+    }
+
+    @Test
+    void tryAcquire_IgnoresOutOfOrderTimestamps() {
+        StripedTokenBucketLimiter limiter = new StripedTokenBucketLimiter(4, 100, 1000, 2, clock::get);
+
+        clock.set(1_000_000_000L);
+        assertTrue(limiter.tryAcquire(1001L));
+
+        // Una hora anterior a la última reposición no debe restar permisos
+        clock.set(900_000_000L);
+        assertTrue(limiter.tryAcquire(1001L));
+        assertFalse(limiter.tryAcquire(1001L));
+
+        // La reposición sigue contando desde la última hora válida: 1 ms a 1000 permisos por segundo
+        clock.set(1_001_000_000L);
+        assertTrue(limiter.tryAcquire(1001L));
+        assertFalse(limiter.tryAcquire(1001L));
+    }
+
+    @Test
+    void tryAcquire_ConcurrentCallersSeeMonotonicRefills() throws Exception {
+        // Un permiso por nanosegundo y la hora avanza en cada lectura: toda llamada repone el que consume.
+        // Con la hora leída fuera del lock, un hilo adelantado por otro reponía con una hora vieja y se rechazaba
+        StripedTokenBucketLimiter limiter = new StripedTokenBucketLimiter(1, 100, 1_000_000_000d, 1, clock::incrementAndGet);
+        int threads = 8;
+        int attemptsPerThread = 50_000;
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < attemptsPerThread; j++) {
+                        if (limiter.tryAcquire(1001L)) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * attemptsPerThread, granted.get());
+    }
+
+    @Test
+    void tryAcquire_EvictsLeastRecentlyUsedAccounts() {
+        // Una sola franja con capacidad para dos cuentas
+        StripedTokenBucketLimiter limiter = new StripedTokenBucketLimiter(1, 2, 1, 1, clock::get);
+
+        limiter.tryAcquire(1L);
+        limiter.tryAcquire(2L);
+        limiter.tryAcquire(3L);
+
+        assertEquals(2, limiter.trackedKeys());
+        // La cuenta expulsada vuelve con el bucket lleno
+        assertTrue(limiter.tryAcquire(1L));
+    }
+
+    @Test
+    void constructor_RejectsNonPowerOfTwoStripes() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new StripedTokenBucketLimiter(3, 100, 1, 1, clock::get));
+    }
+}
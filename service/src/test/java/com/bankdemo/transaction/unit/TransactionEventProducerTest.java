@@ -0,0 +1,107 @@
+package com.bankdemo.transaction.unit;
+
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.model.Transaction;
+import com.bankdemo.transaction.model.Transaction.TransactionStatus;
+import com.bankdemo.transaction.producer.TransactionEventProducer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Los cambios de estado se publican solo si la transacción que los produjo confirma.
+ */
+@ExtendWith(MockitoExtension.class)
+public class TransactionEventProducerTest {
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    private TransactionEventProducer producer;
+    private Transaction transaction;
+
+    @BeforeEach
+    void setUp() {
+        producer = new TransactionEventProducer(kafkaTemplate, new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(producer, "statusTopic", "transaction-status");
+
+        transaction = new Transaction();
+        transaction.setId(7L);
+        transaction.setFromAccount(1001L);
+        transaction.setToAccount(2001L);
+        transaction.setMonto(Money.valueOf("1500.00"));
+        transaction.setFecha(LocalDateTime.now());
+        transaction.setStatus(TransactionStatus.FAILED);
+        transaction.setErrorMessage("Saldo insuficiente");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void sendStatusChange_RolledBackTransactionPublishesNothing() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        producer.sendStatusChange(transaction);
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), anyString());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationUtils.invokeAfterCompletion(
+                synchronizations, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void sendStatusChange_CommittedTransactionPublishesSnapshot() {
+        when(kafkaTemplate.send(eq("transaction-status"), eq("7"), anyString()))
+                .thenReturn(new CompletableFuture<SendResult<String, String>>());
+        TransactionSynchronizationManager.initSynchronization();
+
+        producer.sendStatusChange(transaction);
+        // Lo que cambie la entidad después de la llamada no altera lo publicado
+        transaction.setStatus(TransactionStatus.COMPLETED);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        TransactionSynchronizationUtils.invokeAfterCompletion(
+                synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(kafkaTemplate).send(eq("transaction-status"), eq("7"), contains("\"FAILED\""));
+    }
+
+    @Test
+    void sendStatusChange_WithoutTransactionPublishesImmediately() {
+        when(kafkaTemplate.send(eq("transaction-status"), eq("7"), anyString()))
+                .thenReturn(new CompletableFuture<SendResult<String, String>>());
+
+        producer.sendStatusChange(transaction);
+
+        verify(kafkaTemplate).send(eq("transaction-status"), eq("7"), contains("Saldo insuficiente"));
+    }
+}
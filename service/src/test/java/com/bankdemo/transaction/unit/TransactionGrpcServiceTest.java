@@ -0,0 +1,188 @@
+package com.bankdemo.transaction.unit;
+
+import com.bankdemo.transaction.admission.TransactionAdmissionControl;
+import com.bankdemo.transaction.dto.TransactionRequestDTO;
+import com.bankdemo.transaction.dto.TransactionResponseDTO;
+import com.bankdemo.transaction.dto.TransactionSearchCriteria;
+import com.bankdemo.transaction.dto.TransactionSearchResultDTO;
+import com.bankdemo.transaction.exception.TransactionException;
+import com.bankdemo.transaction.grpc.TransactionGrpcService;
+import com.bankdemo.transaction.grpc.v1.AccountHistoryRequest;
+import com.bankdemo.transaction.grpc.v1.BulkCreateReply;
+import com.bankdemo.transaction.grpc.v1.CreateTransactionRequest;
+import com.bankdemo.transaction.grpc.v1.TransactionReply;
+import com.bankdemo.transaction.grpc.v1.TransactionsGrpc;
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.model.Transaction.TransactionStatus;
+import com.bankdemo.transaction.service.TransactionService;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TransactionGrpcServiceTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private TransactionAdmissionControl admissionControl;
+
+    private Server server;
+    private ManagedChannel channel;
+    private TransactionsGrpc.TransactionsBlockingStub blockingStub;
+    private TransactionsGrpc.TransactionsStub asyncStub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // El control de admisión deja pasar todo en estas pruebas
+        lenient().when(admissionControl.admit(anyLong(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).directExecutor()
+                .addService(new TransactionGrpcService(transactionService, admissionControl))
+                .build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        blockingStub = TransactionsGrpc.newBlockingStub(channel);
+        asyncStub = TransactionsGrpc.newStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        channel.shutdownNow();
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void createTransaction_ConvertsMinorUnits() {
+        when(transactionService.createTransaction(any())).thenReturn(response(1L, "1500.50"));
+
+        TransactionReply reply = blockingStub.createTransaction(request(1001L, 150050L));
+
+        ArgumentCaptor<TransactionRequestDTO> captor = ArgumentCaptor.forClass(TransactionRequestDTO.class);
+        verify(transactionService).createTransaction(captor.capture());
+        assertEquals(Money.valueOf("1500.50"), captor.getValue().getMonto());
+        assertEquals(150050L, reply.getMontoCentavos());
+        assertEquals("PROCESSING", reply.getStatus());
+    }
+
+    @Test
+    void createTransaction_BusinessErrorIsInvalidArgument() {
+        when(transactionService.createTransaction(any()))
+                .thenThrow(new TransactionException("La cuenta de origen no tiene saldo suficiente"));
+
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.createTransaction(request(1001L, 150000L)));
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+    }
+
+    @Test
+    void bulkCreate_ReportsEachItem() throws Exception {
+        when(transactionService.createTransaction(any()))
+                .thenReturn(response(1L, "1000.00"))
+                .thenThrow(new TransactionException("La cuenta de destino no existe: 2001"));
+
+        CompletableFuture<BulkCreateReply> result = new CompletableFuture<>();
+        StreamObserver<CreateTransactionRequest> requests = asyncStub.bulkCreateTransactions(observer(result));
+        requests.onNext(request(1001L, 100000L));
+        requests.onNext(request(1001L, 100000L));
+        // Monto inválido: se rechaza sin llegar al servicio
+        requests.onNext(request(1001L, 0L));
+        requests.onCompleted();
+
+        BulkCreateReply reply = result.get(5, TimeUnit.SECONDS);
+        assertEquals(1, reply.getAccepted());
+        assertEquals(2, reply.getRejected());
+        assertEquals(1L, reply.getResults(0).getTransaction().getTransactionId());
+        assertEquals(2, reply.getResults(2).getIndex());
+    }
+
+    @Test
+    void streamAccountHistory_PagesThroughWholeHistory() {
+        // 450 transacciones: dos páginas completas y una parcial, enlazadas por el cursor
+        when(transactionService.searchTransactions(any(TransactionSearchCriteria.class))).thenAnswer(invocation -> {
+            TransactionSearchCriteria criteria = invocation.getArgument(0);
+            long first = criteria.getCursor() == null ? 1 : Long.parseLong(criteria.getCursor()) + 1;
+            long last = Math.min(first + criteria.getSize() - 1, 450);
+            List<TransactionResponseDTO> page = new ArrayList<>();
+            for (long id = first; id <= last; id++) {
+                page.add(response(id, "1000.00"));
+            }
+            return new TransactionSearchResultDTO(page, last < 450 ? String.valueOf(last) : null);
+        });
+
+        Iterator<TransactionReply> replies = blockingStub.streamAccountHistory(
+                AccountHistoryRequest.newBuilder().setAccountId(1001L).build());
+
+        int count = 0;
+        while (replies.hasNext()) {
+            assertEquals(++count, replies.next().getTransactionId());
+        }
+        assertEquals(450, count);
+        verify(transactionService, times(3)).searchTransactions(argThat(criteria -> criteria.getCuenta() == 1001L));
+        verify(transactionService, never()).getTransactionsByAccount(anyLong());
+    }
+
+    private static CreateTransactionRequest request(long fromAccount, long montoCentavos) {
+        return CreateTransactionRequest.newBuilder()
+                .setFromAccount(fromAccount)
+                .setToAccount(2001L)
+                .setMontoCentavos(montoCentavos)
+                .build();
+    }
+
+    private static TransactionResponseDTO response(long id, String monto) {
+        return new TransactionResponseDTO(id, TransactionStatus.PROCESSING, LocalDateTime.now(),
+                1001L, 2001L, Money.valueOf(monto), null);
+    }
+
+    private static <T> StreamObserver<T> observer(CompletableFuture<T> result) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(T value) {
+                result.complete(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                result.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        };
+    }
+}
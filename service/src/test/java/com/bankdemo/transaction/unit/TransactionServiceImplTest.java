@@ -0,0 +1,550 @@
+package com.bankdemo.transaction.unit;
+
+import com.bankdemo.transaction.client.AccountServiceClient;
+import com.bankdemo.transaction.datasource.RecentWriteTracker;
+import com.bankdemo.transaction.dto.AccountDTO;
+import com.bankdemo.transaction.dto.TransactionRequestDTO;
+import com.bankdemo.transaction.dto.TransactionResponseDTO;
+import com.bankdemo.transaction.exception.AccountServiceUnavailableException;
+import com.bankdemo.transaction.exception.AdmissionRejectedException;
+import com.bankdemo.transaction.exception.TransactionException;
+import com.bankdemo.transaction.model.Money;
+import com.bankdemo.transaction.model.Transaction;
+import com.bankdemo.transaction.model.Transaction.TransactionStatus;
+import com.bankdemo.transaction.producer.TransactionEventProducer;
+import com.bankdemo.transaction.repository.ArchivedTransactionRepository;
+import com.bankdemo.transaction.repository.TransactionRepository;
+import com.bankdemo.transaction.service.AccountHoldLedger;
+import com.bankdemo.transaction.service.AccountRollupService;
+import com.bankdemo.transaction.service.DeferredTransactionQueue;
+import com.bankdemo.transaction.service.TransactionSearchPlanner;
+import com.bankdemo.transaction.service.TransactionServiceImpl;
+import com.bankdemo.transaction.service.TransactionShardRouter;
+import com.bankdemo.transaction.service.VelocityCheck;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TransactionServiceImplTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountServiceClient accountClient;
+
+    @Mock
+    private TransactionEventProducer eventProducer;
+
+    @Mock
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    @Mock
+    private AccountHoldLedger holdLedger;
+
+    @Mock
+    private DeferredTransactionQueue deferredQueue;
+
+    @Mock
+    private RecentWriteTracker recentWrites;
+
+    @Mock
+    private TransactionSearchPlanner searchPlanner;
+
+    @Mock
+    private TransactionShardRouter shardRouter;
+
+    @Mock
+    private VelocityCheck velocityCheck;
+
+    @Mock
+    private AccountRollupService rollupService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private TransactionServiceImpl transactionService;
+
+    private TransactionRequestDTO validRequest;
+    private Transaction savedTransaction;
+    private AccountDTO sourceAccount;
+    private AccountDTO destAccount;
+
+    @BeforeEach
+    void setUp() {
+        // Configurar datos de prueba con monto mínimo de 1000.00
+        validRequest = new TransactionRequestDTO();
+        validRequest.setFromAccount(1001L);
+        validRequest.setToAccount(2001L);
+        validRequest.setMonto(Money.valueOf("1000.00")); // Monto mínimo
+
+        savedTransaction = new Transaction();
+        savedTransaction.setId(1L);
+        savedTransaction.setFromAccount(1001L);
+        savedTransaction.setToAccount(2001L);
+        savedTransaction.setMonto(Money.valueOf("1000.00")); // Monto mínimo
+        savedTransaction.setFecha(LocalDateTime.now());
+        savedTransaction.setStatus(TransactionStatus.PENDING);
+
+        sourceAccount = new AccountDTO();
+        sourceAccount.setId(1001L);
+        sourceAccount.setNombre("Cuenta Origen");
+        sourceAccount.setSaldo(Money.valueOf("5000.00")); // Saldo suficiente para la transferencia
+
+        destAccount = new AccountDTO();
+        destAccount.setId(2001L);
+        destAccount.setNombre("Cuenta Destino");
+        destAccount.setSaldo(Money.valueOf("500.00"));
+    }
+
+    @Test
+    void createTransaction_Success() {
+        // Configurar mocks
+        when(accountClient.getAccount(1001L)).thenReturn(sourceAccount);
+        when(accountClient.getAccount(2001L)).thenReturn(destAccount);
+        when(accountClient.validateAccount(eq(1001L), any())).thenReturn(true);
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+        doNothing().when(eventProducer).sendTransactionEvent(any(Transaction.class));
+        when(transactionRepository.transitionStatus(1L, List.of(TransactionStatus.PENDING), TransactionStatus.PROCESSING))
+                .thenReturn(1);
+
+        // Ejecutar el método a probar
+        TransactionResponseDTO response = transactionService.createTransaction(validRequest);
+
+        // Verificaciones
+        assertNotNull(response);
+        assertEquals(1L, response.getTransactionId());
+        assertEquals(TransactionStatus.PROCESSING.toString(), response.getStatus());
+        assertEquals(validRequest.getMonto(), response.getMonto());
+
+        // Verificar que se llamaron los métodos esperados: un insert y el paso a PROCESSING condicional
+        verify(transactionRepository).save(any(Transaction.class));
+        verify(transactionRepository).transitionStatus(1L, List.of(TransactionStatus.PENDING), TransactionStatus.PROCESSING);
+        verify(eventProducer).sendTransactionEvent(any(Transaction.class));
+        verify(eventProducer).sendStatusChange(savedTransaction);
+    }
+
+    @Test
+    void createTransaction_WithinLocalHeadroomSkipsRemoteValidation() {
+        // Configurar mocks: el libro local aprueba el débito
+        AccountHoldLedger.Hold hold = new AccountHoldLedger.Hold(1001L, 100000L, System.nanoTime());
+        when(accountClient.getAccount(1001L)).thenReturn(sourceAccount);
+        when(accountClient.getAccount(2001L)).thenReturn(destAccount);
+        when(holdLedger.tryReserve(1001L, sourceAccount.getSaldo(), validRequest.getMonto())).thenReturn(hold);
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+        when(transactionRepository.transitionStatus(1L, List.of(TransactionStatus.PENDING), TransactionStatus.PROCESSING))
+                .thenReturn(1);
+
+        // Ejecutar el método a probar
+        TransactionResponseDTO response = transactionService.createTransaction(validRequest);
+
+        // Verificaciones
+        assertEquals(TransactionStatus.PROCESSING.toString(), response.getStatus());
+        verify(accountClient, never()).validateAccount(anyLong(), any());
+        verify(holdLedger).bind(1L, hold);
+    }
+
+    @Test
+    void createTransaction_DeferredWhileAccountServiceUnavailable() {
+        // Configurar mocks: circuito abierto con el modo diferido habilitado
+        when(deferredQueue.shouldDefer()).thenReturn(true);
+        when(deferredQueue.enqueue(validRequest)).thenReturn(savedTransaction);
+
+        // Ejecutar el método a probar
+        TransactionResponseDTO response = transactionService.createTransaction(validRequest);
+
+        // Verificaciones: queda pendiente sin consultar cuentas ni publicar
+        assertEquals(TransactionStatus.PENDING.toString(), response.getStatus());
+        verify(accountClient, never()).getAccount(anyLong());
+        verify(eventProducer, never()).sendTransactionEvent(any(Transaction.class));
+    }
+
+    @Test
+    void replayDeferred_RequeuesWhileAccountServiceUnavailable() {
+        // Configurar mocks: la validación de saldo no llega a responder (timeout o circuito de nuevo abierto)
+        when(deferredQueue.take(1L, "nodo#1")).thenReturn(true);
+        when(transactionRepository.findById(1L)).thenReturn(Optional.of(savedTransaction));
+        when(accountClient.getAccount(1001L)).thenReturn(sourceAccount);
+        when(accountClient.getAccount(2001L)).thenReturn(destAccount);
+        when(accountClient.validateAccount(eq(1001L), any()))
+                .thenThrow(new AccountServiceUnavailableException("Error en servicio externo al validar saldo", 5L));
+
+        // Ejecutar y verificar: la excepción revierte el reproceso y la entrada sigue en cola
+        assertThrows(AccountServiceUnavailableException.class, () -> transactionService.replayDeferred(1L, "nodo#1"));
+        assertEquals(TransactionStatus.PENDING, savedTransaction.getStatus());
+        verify(transactionRepository, never()).transitionStatus(any(), any(), any(), any());
+    }
+
+    @Test
+    void replayDeferred_RejectedTransferIsRolledUp() {
+        // Configurar mocks: el servicio de cuentas responde y la cuenta de origen no existe
+        when(deferredQueue.take(1L, "nodo#1")).thenReturn(true);
+        when(transactionRepository.findById(1L)).thenReturn(Optional.of(savedTransaction));
+        when(accountClient.getAccount(1001L)).thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        when(transactionRepository.transitionStatus(eq(List.of(1L)), any(), eq(TransactionStatus.FAILED), any()))
+                .thenReturn(1);
+
+        // Ejecutar el método a probar
+        assertTrue(transactionService.replayDeferred(1L, "nodo#1"));
+
+        // Verificaciones: queda FAILED y cuenta en los acumulados como las demás finalizadas
+        assertEquals(TransactionStatus.FAILED, savedTransaction.getStatus());
+        verify(rollupService).recordFinalized(savedTransaction);
+        verify(eventProducer).sendStatusChange(savedTransaction);
+    }
+
+    @Test
+    void replayDeferred_SkipsEntryNoLongerClaimed() {
+        // Otro nodo tomó la entrada tras caducar la reserva de este
+        when(deferredQueue.take(1L, "nodo#1")).thenReturn(false);
+
+        assertFalse(transactionService.replayDeferred(1L, "nodo#1"));
+
+        verify(accountClient, never()).getAccount(anyLong());
+        verify(eventProducer, never()).sendTransactionEvent(any(Transaction.class));
+    }
+
+    @Test
+    void createTransaction_AmountBelowMinimum() {
+        // Crear una solicitud con monto por debajo del mínimo
+        TransactionRequestDTO lowAmountRequest = new TransactionRequestDTO();
+        lowAmountRequest.setFromAccount(1001L);
+        lowAmountRequest.setToAccount(2001L);
+        lowAmountRequest.setMonto(Money.valueOf("999.99"));  // Por debajo de 1000.00
+
+        // Verificar que se lanza la excepción esperada
+        TransactionException exception = assertThrows(TransactionException.class, () -> {
+            transactionService.createTransaction(lowAmountRequest);
+        });
+
+        // Verificar mensaje de error
+        assertTrue(exception.getMessage().contains("monto mínimo"));
+        assertEquals("El monto mínimo de transferencia es 1000.00", exception.getMessage());
+
+        // Verificar que no se realizaron otras llamadas
+        verify(accountClient, never()).getAccount(anyLong());
+        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(eventProducer, never()).sendTransactionEvent(any(Transaction.class));
+    }
+
+    @Test
+    void createTransaction_ExactMinimumAmount() {
+        // La prueba utiliza el validRequest que ya está configurado con el monto mínimo exacto
+
+        // Configurar mocks
+        when(accountClient.getAccount(1001L)).thenReturn(sourceAccount);
+        when(accountClient.getAccount(2001L)).thenReturn(destAccount);
+        when(accountClient.validateAccount(eq(1001L), any())).thenReturn(true);
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+        doNothing().when(eventProducer).sendTransactionEvent(any(Transaction.class));
+        when(transactionRepository.transitionStatus(1L, List.of(TransactionStatus.PENDING), TransactionStatus.PROCESSING))
+                .thenReturn(1);
+
+        // Ejecutar el método con el monto mínimo exacto
+        TransactionResponseDTO response = transactionService.createTransaction(validRequest);
+
+        // Verificaciones
+        assertNotNull(response);
+        assertEquals(1L, response.getTransactionId());
+        assertEquals(Money.valueOf("1000.00"), response.getMonto());
+
+        // Verificar que se llamaron los métodos esperados
+        verify(accountClient).getAccount(1001L);
+        verify(accountClient).getAccount(2001L);
+        verify(accountClient).validateAccount(eq(1001L), any());
+        verify(transactionRepository).save(any(Transaction.class));
+        verify(eventProducer).sendTransactionEvent(any(Transaction.class));
+    }
+
+    @Test
+    void createTransaction_SourceAccountNotFound() {
+        // Configurar mock para simular cuenta origen no encontrada
+        when(accountClient.getAccount(1001L)).thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        // Verificar que se lanza la excepción esperada
+        TransactionException exception = assertThrows(TransactionException.class, () -> {
+            transactionService.createTransaction(validRequest);
+        });
+
+        // Verificar mensaje de error
+        assertTrue(exception.getMessage().contains("cuenta de origen no existe"));
+
+        // Verificar que no se realizaron otras llamadas
+        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(eventProducer, never()).sendTransactionEvent(any(Transaction.class));
+    }
+
+    @Test
+    void createTransaction_DestinationAccountNotFound() {
+        // Configurar mocks
+        when(accountClient.getAccount(1001L)).thenReturn(sourceAccount);
+        when(accountClient.getAccount(2001L)).thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        // Verificar que se lanza la excepción esperada
+        TransactionException exception = assertThrows(TransactionException.class, () -> {
+            transactionService.createTransaction(validRequest);
+        });
+
+        // Verificar mensaje de error
+        assertTrue(exception.getMessage().contains("cuenta de destino no existe"));
+
+        // Verificar que no se realizaron otras llamadas
+        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(eventProducer, never()).sendTransactionEvent(any(Transaction.class));
+    }
+
+    @Test
+    void createTransaction_InsufficientFunds() {
+        // Configurar mocks
+        when(accountClient.getAccount(1001L)).thenReturn(sourceAccount);
+        when(accountClient.getAccount(2001L)).thenReturn(destAccount);
+        when(accountClient.validateAccount(eq(1001L), any())).thenReturn(false);
+
+        // Verificar que se lanza la excepción esperada
+        TransactionException exception = assertThrows(TransactionException.class, () -> {
+            transactionService.createTransaction(validRequest);
+        });
+
+        // Verificar mensaje de error
+        assertTrue(exception.getMessage().contains("saldo suficiente"));
+
+        // Verificar que no se realizaron otras llamadas
+        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(eventProducer, never()).sendTransactionEvent(any(Transaction.class));
+        // La rechazada no consume los límites de velocidad
+        verify(velocityCheck).release(any());
+    }
+
+    @Test
+    void createTransaction_VelocityLimitRejectsBeforeAccountService() {
+        // Configurar mock: la cuenta superó su límite de velocidad
+        when(velocityCheck.check(1001L, validRequest.getMonto()))
+                .thenThrow(new AdmissionRejectedException("límite", 30));
+
+        assertThrows(AdmissionRejectedException.class, () -> transactionService.createTransaction(validRequest));
+
+        // Ninguna llamada al servicio de cuentas ni a la base de datos
+        verify(accountClient, never()).getAccount(anyLong());
+        verify(accountClient, never()).validateAccount(anyLong(), any());
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    void createTransaction_EventProducerFails() {
+        // Configurar mocks
+        when(accountClient.getAccount(1001L)).thenReturn(sourceAccount);
+        when(accountClient.getAccount(2001L)).thenReturn(destAccount);
+        when(accountClient.validateAccount(eq(1001L), any())).thenReturn(true);
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+        when(transactionRepository.transitionStatus(1L, List.of(TransactionStatus.PENDING), TransactionStatus.PROCESSING))
+                .thenReturn(1);
+        doThrow(new RuntimeException("Error al enviar evento")).when(eventProducer).sendTransactionEvent(any(Transaction.class));
+        when(transactionRepository.transitionStatus(eq(List.of(1L)), any(), eq(TransactionStatus.FAILED), any()))
+                .thenReturn(1);
+
+        // Verificar que se lanza la excepción esperada
+        TransactionException exception = assertThrows(TransactionException.class, () -> {
+            transactionService.createTransaction(validRequest);
+        });
+
+        // Verificar mensaje de error
+        assertTrue(exception.getMessage().contains("Error al procesar la transacción"));
+
+        // Verificar que se marcó la transacción como FAILED
+        verify(transactionRepository).save(any(Transaction.class));
+        verify(transactionRepository).transitionStatus(eq(List.of(1L)),
+                eq(List.of(TransactionStatus.PENDING, TransactionStatus.PROCESSING)),
+                eq(TransactionStatus.FAILED), contains("Error al enviar evento"));
+        verify(rollupService).recordFinalized(argThat(t -> t.getId().equals(1L) && t.getStatus() == TransactionStatus.FAILED));
+    }
+
+    @Test
+    void createTransaction_RollbackDiscardsEvent() {
+        // Configurar mocks
+        when(accountClient.getAccount(1001L)).thenReturn(sourceAccount);
+        when(accountClient.getAccount(2001L)).thenReturn(destAccount);
+        when(accountClient.validateAccount(eq(1001L), any())).thenReturn(true);
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            transactionService.createTransaction(validRequest);
+            verify(eventProducer, never()).sendTransactionEvent(any(Transaction.class));
+
+            // La transacción (o la de quien llama, p. ej. una ocurrencia programada) se revierte: no sale el evento
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+            verify(eventProducer, never()).sendTransactionEvent(any(Transaction.class));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void createTransaction_CommitSendsEventAsCreated() {
+        // Configurar mocks
+        when(accountClient.getAccount(1001L)).thenReturn(sourceAccount);
+        when(accountClient.getAccount(2001L)).thenReturn(destAccount);
+        when(accountClient.validateAccount(eq(1001L), any())).thenReturn(true);
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+        when(transactionRepository.transitionStatus(1L, List.of(TransactionStatus.PENDING), TransactionStatus.PROCESSING))
+                .thenReturn(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            TransactionResponseDTO response = transactionService.createTransaction(validRequest);
+            assertEquals(TransactionStatus.PROCESSING.toString(), response.getStatus());
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // El evento lleva la transferencia tal como se creó
+        verify(eventProducer).sendTransactionEvent(argThat(t -> t.getId().equals(1L)
+                && t.getStatus() == TransactionStatus.PENDING));
+    }
+
+    @Test
+    void createTransaction_PersistenceFailureReleasesVelocity() {
+        // Configurar mocks: la transferencia pasa los límites y la validación, pero no se puede guardar
+        VelocityCheck.Reservation velocity = new VelocityCheck.Reservation(1001L, 100000L, System.nanoTime());
+        when(velocityCheck.check(1001L, validRequest.getMonto())).thenReturn(velocity);
+        when(accountClient.getAccount(1001L)).thenReturn(sourceAccount);
+        when(accountClient.getAccount(2001L)).thenReturn(destAccount);
+        when(accountClient.validateAccount(eq(1001L), any())).thenReturn(true);
+        when(transactionRepository.save(any(Transaction.class))).thenThrow(new IllegalStateException("sin conexión"));
+
+        assertThrows(IllegalStateException.class, () -> transactionService.createTransaction(validRequest));
+
+        verify(velocityCheck).release(velocity);
+    }
+
+    @Test
+    void createTransaction_RollbackReleasesVelocityAndHold() {
+        // Configurar mocks
+        VelocityCheck.Reservation velocity = new VelocityCheck.Reservation(1001L, 100000L, System.nanoTime());
+        when(velocityCheck.check(1001L, validRequest.getMonto())).thenReturn(velocity);
+        when(accountClient.getAccount(1001L)).thenReturn(sourceAccount);
+        when(accountClient.getAccount(2001L)).thenReturn(destAccount);
+        when(accountClient.validateAccount(eq(1001L), any())).thenReturn(true);
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            transactionService.createTransaction(validRequest);
+            verify(velocityCheck, never()).release(any());
+            verify(holdLedger, never()).release(1L);
+
+            // Falla al confirmar, o quien llama revierte su transacción
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(velocityCheck).release(velocity);
+        verify(holdLedger).release(1L);
+    }
+
+    @Test
+    void getTransaction_Success() {
+        // Configurar mock
+        when(transactionRepository.findResponseById(1L)).thenReturn(Optional.of(new TransactionResponseDTO(
+                1L, savedTransaction.getStatus(), savedTransaction.getFecha(), 1001L, 2001L,
+                savedTransaction.getMonto(), null)));
+
+        // Ejecutar el método a probar
+        TransactionResponseDTO response = transactionService.getTransaction(1L);
+
+        // Verificaciones
+        assertNotNull(response);
+        assertEquals(1L, response.getTransactionId());
+        assertEquals(savedTransaction.getStatus().toString(), response.getStatus());
+    }
+
+    @Test
+    void getTransaction_FromArchive() {
+        // Configurar mocks: la transacción ya no está en la tabla principal
+        TransactionResponseDTO archived = new TransactionResponseDTO(1L, TransactionStatus.COMPLETED,
+                LocalDateTime.now().minusDays(120), 1001L, 2001L, Money.valueOf("1000.00"), null);
+        when(transactionRepository.findResponseById(1L)).thenReturn(Optional.empty());
+        when(archivedTransactionRepository.findResponseById(1L)).thenReturn(Optional.of(archived));
+
+        // Ejecutar el método a probar
+        TransactionResponseDTO response = transactionService.getTransaction(1L);
+
+        // Verificaciones
+        assertEquals(1L, response.getTransactionId());
+        assertEquals(TransactionStatus.COMPLETED.toString(), response.getStatus());
+        assertEquals(Money.valueOf("1000.00"), response.getMonto());
+    }
+
+    @Test
+    void getTransaction_NotFound() {
+        // Configurar mock
+        when(transactionRepository.findResponseById(1L)).thenReturn(Optional.empty());
+        when(archivedTransactionRepository.findResponseById(1L)).thenReturn(Optional.empty());
+
+        // Verificar que se lanza la excepción esperada
+        TransactionException exception = assertThrows(TransactionException.class, () -> {
+            transactionService.getTransaction(1L);
+        });
+
+        // Verificar mensaje de error
+        assertTrue(exception.getMessage().contains("no encontrada"));
+    }
+
+    @Test
+    void getTransactionsByAccount_Success() {
+        // Configurar mock
+        TransactionResponseDTO transaction1 = new TransactionResponseDTO(1L, TransactionStatus.COMPLETED,
+                LocalDateTime.now(), 1001L, 2001L, Money.valueOf("1000.00"), null);
+        TransactionResponseDTO transaction2 = new TransactionResponseDTO(2L, TransactionStatus.COMPLETED,
+                LocalDateTime.now().minusDays(1), 2001L, 1001L, Money.valueOf("1500.00"), null);
+
+        when(transactionRepository.findResponsesByAccount(1001L))
+                .thenReturn(Arrays.asList(transaction1, transaction2));
+
+        // Ejecutar el método a probar
+        List<TransactionResponseDTO> responses = transactionService.getTransactionsByAccount(1001L);
+
+        // Verificaciones
+        assertNotNull(responses);
+        assertEquals(2, responses.size());
+        assertEquals(1L, responses.get(0).getTransactionId());
+        assertEquals(2L, responses.get(1).getTransactionId());
+    }
+}
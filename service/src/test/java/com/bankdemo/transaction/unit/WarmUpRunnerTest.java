@@ -0,0 +1,50 @@
+package com.bankdemo.transaction.unit;
+
+import com.bankdemo.transaction.consumer.TransactionResultConsumer;
+import com.bankdemo.transaction.warmup.WarmUpRunner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class WarmUpRunnerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final TransactionResultConsumer resultConsumer = mock(TransactionResultConsumer.class);
+
+    @Test
+    void run_CompletesConfiguredIterations() {
+        // Sin puerto local (sin servidor web) solo se calientan Jackson y el consumidor
+        WarmUpRunner runner = new WarmUpRunner(objectMapper, resultConsumer, new MockEnvironment(), 25, 10_000);
+
+        runner.run(new DefaultApplicationArguments());
+
+        verify(resultConsumer, times(25)).processTransactionResult(anyString());
+    }
+
+    @Test
+    void run_StopsAtTimeBudget() {
+        doAnswer(invocation -> {
+            Thread.sleep(10);
+            return null;
+        }).when(resultConsumer).processTransactionResult(anyString());
+        WarmUpRunner runner = new WarmUpRunner(objectMapper, resultConsumer, new MockEnvironment(),
+                Integer.MAX_VALUE, 100);
+
+        long start = System.nanoTime();
+        runner.run(new DefaultApplicationArguments());
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        int calls = mockingDetails(resultConsumer).getInvocations().size();
+        assertTrue(calls > 0 && calls < 50, "iteraciones: " + calls);
+        assertTrue(elapsedMillis < 2_000, "duración: " + elapsedMillis + " ms");
+    }
+}